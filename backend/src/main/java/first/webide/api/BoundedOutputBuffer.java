@@ -0,0 +1,78 @@
+package first.webide.api;
+
+import java.io.Writer;
+
+/**
+ * 바이트(UTF-8 기준) 상한이 있는 출력 버퍼.
+ * 상한을 넘는 내용은 버리고, toString() 끝에 잘렸다는 표시를 붙인다.
+ * 무한 루프로 출력하는 프로그램이 서버 힙을 채우지 못하게 하기 위함.
+ */
+public class BoundedOutputBuffer extends Writer {
+
+    private final long maxBytes;
+    private final StringBuilder content = new StringBuilder();
+    private long bytes;
+    private boolean truncated;
+
+    public BoundedOutputBuffer(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        if (truncated) {
+            return;
+        }
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            char c = chars[i];
+            // 서로게이트 쌍은 나누지 않고 함께 넣거나 함께 버림
+            int charCount = Character.isHighSurrogate(c) && i + 1 < end ? 2 : 1;
+            int size = utf8Length(c, charCount);
+            if (bytes + size > maxBytes) {
+                truncated = true;
+                break;
+            }
+            bytes += size;
+            i += charCount;
+        }
+        content.append(chars, offset, i - offset);
+    }
+
+    // 잘림 표시 없이 담긴 내용만
+    public String getContent() {
+        return content.toString();
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public String toString() {
+        return truncated ? content + truncationMarker(maxBytes) : content.toString();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public static String truncationMarker(long maxBytes) {
+        return "\n... (출력이 " + maxBytes + " 바이트를 넘어 이후 내용은 생략되었습니다)";
+    }
+
+    private static int utf8Length(char c, int charCount) {
+        if (charCount == 2) {
+            return 4;
+        }
+        if (c < 0x80) {
+            return 1;
+        }
+        return c < 0x800 ? 2 : 3;
+    }
+}
@@ -1,20 +1,194 @@
 package first.webide.api;
 
+import first.webide.config.ExecutionProperties;
+import first.webide.config.PistonProperties;
 import first.webide.dto.request.PistonRequest;
 import first.webide.dto.response.PistonResponse;
+import first.webide.dto.response.RuntimeResponse;
+import first.webide.api.PistonEndpointPool.Endpoint;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Component
 @RequiredArgsConstructor
 public class PistonApiClient {
 
     private final RestTemplate restTemplate;
-    private static final String API_URL = "https://emkc.org/api/v2/piston/execute";
+    private final PistonProperties pistonProperties;
+    private final ExecutionProperties executionProperties;
+    private final PistonEndpointPool endpointPool;
+
+    // 헤징 시 두 요청을 동시에 기다리기 위한 스레드 (헤징을 켰을 때만 사용)
+    private final ExecutorService hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "piston-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public PistonResponse executeCode(PistonRequest request) {
-        return restTemplate.postForObject(
-                API_URL, request, PistonResponse.class);
+        Duration hedgeDelay = pistonProperties.getBalancing().getHedgeDelay();
+        if (hedgeDelay != null && endpointPool.size() > 1) {
+            return executeHedged(request, hedgeDelay);
+        }
+        return executeWithFailover(request, ConcurrentHashMap.newKeySet());
+    }
+
+    // 실행 가능한 언어/버전 목록. 모든 노드가 같은 런타임을 설치했다고 보고 한 곳에서 받는다.
+    public List<RuntimeResponse> getRuntimes() {
+        Endpoint endpoint = endpointPool.acquire(Set.of());
+        boolean success = false;
+        try {
+            RuntimeResponse[] runtimes = restTemplate.getForObject(
+                    endpoint.getUrl() + "/runtimes", RuntimeResponse[].class);
+            success = true;
+            return runtimes == null ? List.of() : Arrays.asList(runtimes);
+        } finally {
+            endpointPool.release(endpoint, success);
+        }
+    }
+
+    /**
+     * 엔드포인트를 골라 실행하고, 요청이 엔진에 닿지 못한 경우에만 다른 엔드포인트로 넘긴다.
+     * (실행이 시작됐을 수 있는 읽기 타임아웃 등은 재시도하지 않음)
+     */
+    private PistonResponse executeWithFailover(PistonRequest request, Set<Endpoint> tried) {
+        RestClientException lastError = null;
+        Endpoint endpoint;
+        while ((endpoint = endpointPool.acquire(tried)) != null) {
+            tried.add(endpoint);
+            boolean success = false;
+            try {
+                PistonResponse response = restTemplate.execute(
+                        endpoint.getUrl() + "/execute",
+                        HttpMethod.POST,
+                        restTemplate.httpEntityCallback(request, PistonResponse.class),
+                        this::readResponse);
+                success = true;
+                return response;
+            } catch (RestClientException e) {
+                // 4xx 는 요청 쪽 문제이므로 엔드포인트 상태에는 성공으로 기록
+                success = e instanceof HttpClientErrorException;
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                lastError = e;
+            } finally {
+                endpointPool.release(endpoint, success);
+            }
+        }
+        throw lastError != null ? lastError : new ResourceAccessException("No execution endpoint available");
+    }
+
+    /**
+     * hedgeDelay 안에 응답이 없으면 다른 엔드포인트로 같은 요청을 한 번 더 보내고 먼저 온 응답을 쓴다.
+     * 늦게 끝난 쪽의 응답은 버린다.
+     */
+    private PistonResponse executeHedged(PistonRequest request, Duration hedgeDelay) {
+        Set<Endpoint> tried = ConcurrentHashMap.newKeySet();
+        CompletableFuture<PistonResponse> primary =
+                CompletableFuture.supplyAsync(() -> executeWithFailover(request, tried), hedgeExecutor);
+        try {
+            return primary.get(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            CompletableFuture<PistonResponse> hedge =
+                    CompletableFuture.supplyAsync(() -> executeWithFailover(request, tried), hedgeExecutor);
+            return join(firstSuccessful(List.of(primary, hedge)));
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for execution");
+        }
+    }
+
+    private static CompletableFuture<PistonResponse> firstSuccessful(List<CompletableFuture<PistonResponse>> futures) {
+        CompletableFuture<PistonResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<PistonResponse> future : futures) {
+            future.whenComplete((response, error) -> {
+                if (error == null) {
+                    winner.complete(response);
+                } else if (failures.incrementAndGet() == futures.size()) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static PistonResponse join(CompletableFuture<PistonResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof RuntimeException runtime
+                ? runtime
+                : new ResourceAccessException(String.valueOf(error.getMessage()));
+    }
+
+    // 요청이 엔진까지 가지 못했거나 엔진이 과부하/게이트웨이 오류를 알린 경우만 다른 노드로 재시도
+    private static boolean isRetryable(RestClientException e) {
+        if (e instanceof ResourceAccessException) {
+            Throwable cause = e.getCause();
+            return cause instanceof ConnectException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof HttpConnectTimeoutException
+                    || cause instanceof UnknownHostException;
+        }
+        return e instanceof HttpServerErrorException.BadGateway
+                || e instanceof HttpServerErrorException.ServiceUnavailable
+                || e instanceof HttpServerErrorException.GatewayTimeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    /**
+     * 응답 본문을 스트리밍으로 읽는다. 전체를 String/DTO 로 한 번에 만들지 않고
+     * stdout/stderr 는 상한이 있는 버퍼에 조각 단위로 옮겨 담고, 둘을 합친 output 은 담지 않고 건너뛴다.
+     * 출력이 아무리 길어도 상한만큼만 메모리에 올라가고, 넘는 부분은 실패 없이 잘린다.
+     */
+    private PistonResponse readResponse(ClientHttpResponse response) throws IOException {
+        long maxBytes = executionProperties.getOutput().getMaxSize().toBytes();
+        try (InputStream body = response.getBody()) {
+            return new PistonResponseReader(body, maxBytes).read();
+        }
     }
 }
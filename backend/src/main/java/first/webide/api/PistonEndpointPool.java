@@ -0,0 +1,172 @@
+package first.webide.api;
+
+import first.webide.config.PistonProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실행 엔진(Piston) 엔드포인트 풀.
+ * - 선택: 사용 가능한 엔드포인트 중 무작위로 둘을 뽑아 처리 중인 요청이 적은 쪽 (power of two choices)
+ * - 차단기: 연속 실패가 failureThreshold 에 닿으면 openDuration 동안 후보에서 제외.
+ *   시간이 지나면 다시 후보가 되고, 다음 결과 하나로 복구/재차단이 결정된다.
+ * - 헬스 체크: 엔드포인트가 둘 이상일 때만 주기적으로 /runtimes 를 호출해 상태를 갱신
+ */
+@Slf4j
+@Component
+public class PistonEndpointPool {
+
+    private final List<Endpoint> endpoints;
+    private final PistonProperties.Balancing config;
+    private final RestTemplate restTemplate;
+
+    public PistonEndpointPool(PistonProperties pistonProperties, RestTemplate restTemplate,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.endpoints = pistonProperties.getEndpointUrls().stream()
+                .map(Endpoint::new)
+                .toList();
+        this.config = pistonProperties.getBalancing();
+        this.restTemplate = restTemplate;
+
+        meterRegistry.ifAvailable(registry -> endpoints.forEach(endpoint -> {
+            Gauge.builder("piston.endpoint.outstanding", endpoint, e -> e.outstanding.get())
+                    .tag("endpoint", endpoint.url)
+                    .register(registry);
+            Gauge.builder("piston.endpoint.open", endpoint, e -> e.isOpen(System.nanoTime()) ? 1 : 0)
+                    .tag("endpoint", endpoint.url)
+                    .register(registry);
+        }));
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 요청을 보낼 엔드포인트를 고른다. 받은 엔드포인트는 반드시 release() 해야 한다.
+     *
+     * @param excluded 이미 시도한 엔드포인트 (재시도/헤징 시 제외)
+     * @return 고를 수 있는 엔드포인트가 없으면 null
+     */
+    public Endpoint acquire(Collection<Endpoint> excluded) {
+        long now = System.nanoTime();
+        List<Endpoint> candidates = endpoints.stream()
+                .filter(endpoint -> !excluded.contains(endpoint))
+                .toList();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        List<Endpoint> available = candidates.stream()
+                .filter(endpoint -> !endpoint.isOpen(now))
+                .toList();
+        Endpoint chosen;
+        if (available.isEmpty()) {
+            // 모두 차단 상태면 가장 먼저 풀리는 곳으로 시도 (전부 거절하는 것보다 낫다)
+            chosen = candidates.stream()
+                    .min(Comparator.comparingLong(endpoint -> endpoint.openUntil))
+                    .orElseThrow();
+        } else if (available.size() == 1) {
+            chosen = available.get(0);
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(available.size());
+            int second = random.nextInt(available.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            Endpoint a = available.get(first);
+            Endpoint b = available.get(second);
+            chosen = a.outstanding.get() <= b.outstanding.get() ? a : b;
+        }
+        chosen.outstanding.incrementAndGet();
+        return chosen;
+    }
+
+    /**
+     * @param success 엔드포인트가 정상 응답했는지 (4xx 처럼 요청 쪽 문제는 성공으로 본다)
+     */
+    public void release(Endpoint endpoint, boolean success) {
+        endpoint.outstanding.decrementAndGet();
+        record(endpoint, success);
+    }
+
+    @Scheduled(initialDelayString = "${piston.balancing.health-check-interval:PT10S}",
+            fixedDelayString = "${piston.balancing.health-check-interval:PT10S}")
+    public void checkHealth() {
+        if (endpoints.size() < 2) {
+            return; // 옮겨 갈 곳이 없으면 실제 요청 결과만으로 충분
+        }
+        for (Endpoint endpoint : endpoints) {
+            try {
+                restTemplate.execute(endpoint.url + "/runtimes", HttpMethod.GET, null, response -> null);
+                record(endpoint, true);
+            } catch (RestClientException e) {
+                log.debug("Health check failed for {}", endpoint.url, e);
+                record(endpoint, false);
+            }
+        }
+    }
+
+    private void record(Endpoint endpoint, boolean success) {
+        long now = System.nanoTime();
+        if (success) {
+            endpoint.consecutiveFailures.set(0);
+            if (endpoint.openUntil != 0) {
+                endpoint.openUntil = 0;
+                log.info("Execution endpoint {} recovered", endpoint.url);
+            }
+            return;
+        }
+        int failures = endpoint.consecutiveFailures.incrementAndGet();
+        if (failures >= config.getFailureThreshold() && !endpoint.isOpen(now)) {
+            endpoint.openUntil = now + config.getOpenDuration().toNanos();
+            log.warn("Execution endpoint {} opened after {} consecutive failures", endpoint.url, failures);
+        }
+    }
+
+    public static final class Endpoint {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long openUntil; // System.nanoTime() 기준, 0 이면 닫힘(정상)
+
+        private Endpoint(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        private boolean isOpen(long now) {
+            long until = openUntil;
+            return until != 0 && now - until < 0;
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package first.webide.api;
+
+import first.webide.dto.response.PistonResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Piston 실행 응답(JSON)을 본문 스트림에서 바로 읽는 작은 파서.
+ * Jackson 은 문자열 값 하나를 끝까지 메모리에 모은 뒤에야 넘겨 주므로 (getText(Writer) 도 마찬가지)
+ * 끝없이 출력하는 프로그램의 stdout 이 출력 상한과 무관하게 힙에 올라간다.
+ * 여기서는 문자열을 버퍼 크기 조각으로 읽어
+ * - stdout/stderr 는 상한(maxBytes)이 있는 BoundedOutputBuffer 로 넘기고
+ * - language/version/signal 은 MAX_TEXT_BYTES 까지만 담고
+ * - 나머지 값(output, compile 등)은 담지 않고 건너뛴다.
+ * 상한을 넘으면 실패하지 않고 잘라서 끝까지 읽으므로, 출력 뒤에 오는 code/signal 도 받는다.
+ */
+final class PistonResponseReader {
+
+    static final int MAX_TEXT_BYTES = 1024;
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_NUMBER_LENGTH = 32;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final long maxBytes;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    PistonResponseReader(InputStream body, long maxBytes) {
+        this.in = new InputStreamReader(body, StandardCharsets.UTF_8);
+        this.maxBytes = maxBytes;
+    }
+
+    PistonResponse read() throws IOException {
+        String language = null;
+        String version = null;
+        PistonResponse.RunResult run = null;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                switch (readName()) {
+                    case "language" -> language = readText();
+                    case "version" -> version = readText();
+                    case "run" -> run = readRunResult();
+                    default -> skipValue(1);
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+        return new PistonResponse(language, version, run);
+    }
+
+    private PistonResponse.RunResult readRunResult() throws IOException {
+        if (peek() != '{') {
+            skipValue(1);
+            return null;
+        }
+        BoundedOutputBuffer stdout = new BoundedOutputBuffer(maxBytes);
+        BoundedOutputBuffer stderr = new BoundedOutputBuffer(maxBytes);
+        int code = 0;
+        String signal = null;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                switch (readName()) {
+                    case "stdout" -> readOutput(stdout);
+                    case "stderr" -> readOutput(stderr);
+                    case "code" -> code = readInt();
+                    case "signal" -> signal = readText();
+                    // output(= stdout + stderr) 등은 담지 않고 건너뜀
+                    default -> skipValue(2);
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+        return new PistonResponse.RunResult(stdout.toString(), stderr.toString(), code, signal, null,
+                stdout.isTruncated() || stderr.isTruncated());
+    }
+
+    private String readName() throws IOException {
+        String name = readText();
+        expect(':');
+        return name == null ? "" : name;
+    }
+
+    private void readOutput(BoundedOutputBuffer target) throws IOException {
+        if (peek() == '"') {
+            readString(target);
+        } else {
+            skipValue(2);
+        }
+    }
+
+    // 문자열이면 MAX_TEXT_BYTES 까지, null 이나 다른 값이면 null
+    private String readText() throws IOException {
+        if (peek() != '"') {
+            skipValue(1);
+            return null;
+        }
+        BoundedOutputBuffer text = new BoundedOutputBuffer(MAX_TEXT_BYTES);
+        readString(text);
+        return text.getContent();
+    }
+
+    private int readInt() throws IOException {
+        int c = peek();
+        if (c != '-' && (c < '0' || c > '9')) {
+            skipValue(2);
+            return 0;
+        }
+        StringBuilder number = new StringBuilder();
+        while (position < limit || fill()) {
+            char next = buffer[position];
+            if ((next < '0' || next > '9') && next != '-' && next != '+' && next != '.' && next != 'e' && next != 'E') {
+                break;
+            }
+            if (number.length() == MAX_NUMBER_LENGTH) {
+                throw unexpected("number too long");
+            }
+            number.append(next);
+            position++;
+        }
+        try {
+            return (int) Double.parseDouble(number.toString());
+        } catch (NumberFormatException e) {
+            throw unexpected("invalid number " + number);
+        }
+    }
+
+    // 값 하나를 담지 않고 건너뛴다 (문자열도 버퍼 단위로 읽고 버림)
+    private void skipValue(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw unexpected("nesting too deep");
+        }
+        int c = peek();
+        switch (c) {
+            case '"' -> readString(null);
+            case '{' -> {
+                expect('{');
+                if (!consumeIf('}')) {
+                    do {
+                        readString(null);
+                        expect(':');
+                        skipValue(depth + 1);
+                    } while (consumeIf(','));
+                    expect('}');
+                }
+            }
+            case '[' -> {
+                expect('[');
+                if (!consumeIf(']')) {
+                    do {
+                        skipValue(depth + 1);
+                    } while (consumeIf(','));
+                    expect(']');
+                }
+            }
+            default -> skipScalar();
+        }
+    }
+
+    // true/false/null/숫자
+    private void skipScalar() throws IOException {
+        int length = 0;
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            if (++length > MAX_NUMBER_LENGTH) {
+                throw unexpected("value too long");
+            }
+            position++;
+        }
+        if (length == 0) {
+            throw unexpected("missing value");
+        }
+    }
+
+    /**
+     * 따옴표로 시작하는 문자열을 읽어 target 에 조각으로 넘긴다 (null 이면 버림).
+     * 이스케이프가 없는 구간은 버퍼를 그대로 넘겨 문자열을 따로 만들지 않는다.
+     */
+    private void readString(Writer target) throws IOException {
+        expect('"');
+        while (true) {
+            if (position == limit && !fill()) {
+                throw unexpected("unterminated string");
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '"' && buffer[position] != '\\') {
+                position++;
+            }
+            if (target != null && position > start) {
+                target.write(buffer, start, position - start);
+            }
+            if (position == limit) {
+                continue;
+            }
+            char c = buffer[position++];
+            if (c == '"') {
+                return;
+            }
+            char escaped = readEscape();
+            if (target != null) {
+                target.write(escaped);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = nextRaw();
+        return switch (c) {
+            case '"', '\\', '/' -> (char) c;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextRaw(), 16);
+                    if (digit < 0) {
+                        throw unexpected("invalid unicode escape");
+                    }
+                    value = value * 16 + digit;
+                }
+                yield (char) value;
+            }
+            default -> throw unexpected("invalid escape \\" + (char) c);
+        };
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peek() != expected) {
+            throw unexpected("expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    private boolean consumeIf(char expected) throws IOException {
+        if (peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    // 공백을 건너뛴 다음 문자 (읽지 않음), 끝이면 -1
+    private int peek() throws IOException {
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    private int nextRaw() throws IOException {
+        if (position == limit && !fill()) {
+            throw unexpected("unexpected end of response");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private IOException unexpected(String reason) {
+        return new IOException("Unexpected Piston response: " + reason);
+    }
+}
@@ -0,0 +1,207 @@
+package first.webide.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import first.webide.config.PistonProperties;
+import first.webide.dto.request.PistonRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Piston 인터랙티브 실행(WebSocket /connect) 클라이언트.
+ * 메시지는 한 번에 하나씩만 요청(request(1))하므로, 리스너가 처리를 끝내기 전에는
+ * 다음 출력 조각을 받지 않는다. (느린 브라우저 → Piston 방향 backpressure)
+ */
+@Slf4j
+@Component
+public class PistonStreamClient {
+
+    private final ObjectMapper objectMapper;
+    private final PistonProperties pistonProperties;
+    private final PistonEndpointPool endpointPool;
+    private final HttpClient httpClient;
+
+    public PistonStreamClient(ObjectMapper objectMapper, PistonProperties pistonProperties,
+                              PistonEndpointPool endpointPool) {
+        this.objectMapper = objectMapper;
+        this.pistonProperties = pistonProperties;
+        this.endpointPool = endpointPool;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(pistonProperties.getHttp().getConnectTimeout())
+                .build();
+    }
+
+    public interface Listener {
+        // stream: "stdout" | "stderr"
+        void onOutput(String stream, String data) throws Exception;
+
+        // stage: "compile" | "run"
+        void onExit(String stage, Integer code, String signal) throws Exception;
+
+        void onError(Throwable error);
+    }
+
+    /**
+     * 실행 세션. cancel() 호출 시 원격 프로세스와의 연결을 끊는다.
+     */
+    public interface Session {
+        void cancel();
+    }
+
+    public Session connect(PistonRequest request, Listener listener) {
+        PistonEndpointPool.Endpoint endpoint = endpointPool.acquire(Set.of());
+        RelayListener relay = new RelayListener(request, listener, endpoint);
+        CompletableFuture<WebSocket> future = httpClient.newWebSocketBuilder()
+                .connectTimeout(pistonProperties.getHttp().getConnectTimeout())
+                .buildAsync(connectUri(endpoint), relay);
+        future.whenComplete((ws, ex) -> {
+            if (ex != null) {
+                relay.release(false); // 연결 자체가 실패한 경우만 엔드포인트 실패로 기록
+                relay.fail(ex);
+            }
+        });
+        return relay::cancel;
+    }
+
+    // https://host/api/v2/piston → wss://host/api/v2/piston/connect
+    private URI connectUri(PistonEndpointPool.Endpoint endpoint) {
+        String baseUrl = endpoint.getUrl().replaceFirst("^http", "ws");
+        return URI.create(baseUrl + "/connect");
+    }
+
+    private class RelayListener implements WebSocket.Listener {
+
+        private final PistonRequest request;
+        private final Listener listener;
+        private final StringBuilder buffer = new StringBuilder();
+        private final PistonEndpointPool.Endpoint endpoint;
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile WebSocket webSocket;
+
+        private RelayListener(PistonRequest request, Listener listener, PistonEndpointPool.Endpoint endpoint) {
+            this.request = request;
+            this.listener = listener;
+            this.endpoint = endpoint;
+        }
+
+        private void release(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                endpointPool.release(endpoint, success);
+            }
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            try {
+                ObjectNode init = objectMapper.valueToTree(request);
+                init.remove("stdin"); // stdin은 runtime 확인 후 data 메시지로 전달
+                init.put("type", "init");
+                if (!init.hasNonNull("version")) {
+                    init.put("version", "*"); // /connect는 버전 지정이 필수
+                }
+                webSocket.sendText(objectMapper.writeValueAsString(init), true);
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (finished.get()) {
+                return null; // 취소/종료 뒤 이미 오고 있던 메시지는 버림
+            }
+            buffer.append(data);
+            if (last) {
+                String message = buffer.toString();
+                buffer.setLength(0);
+                try {
+                    handle(webSocket, objectMapper.readTree(message));
+                } catch (Exception e) {
+                    fail(e);
+                    return null;
+                }
+            }
+            if (!finished.get()) {
+                webSocket.request(1);
+            }
+            return null;
+        }
+
+        private void handle(WebSocket webSocket, JsonNode message) throws Exception {
+            switch (message.path("type").asText()) {
+                case "runtime" -> {
+                    String stdin = request.getStdin();
+                    if (stdin != null && !stdin.isEmpty()) {
+                        ObjectNode data = objectMapper.createObjectNode()
+                                .put("type", "data")
+                                .put("stream", "stdin")
+                                .put("data", stdin);
+                        webSocket.sendText(objectMapper.writeValueAsString(data), true);
+                    }
+                }
+                case "data" -> listener.onOutput(
+                        message.path("stream").asText(), message.path("data").asText());
+                case "exit" -> {
+                    String stage = message.path("stage").asText();
+                    Integer code = message.hasNonNull("code") ? message.get("code").asInt() : null;
+                    String signal = message.hasNonNull("signal") ? message.get("signal").asText() : null;
+                    // 컴파일 실패 시에는 run 단계가 오지 않으므로 여기서 종료
+                    if ("run".equals(stage) || (code != null && code != 0)) {
+                        if (finished.compareAndSet(false, true)) {
+                            release(true);
+                            listener.onExit(stage, code, signal);
+                            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "");
+                        }
+                    }
+                }
+                case "error" -> fail(new IllegalStateException(message.path("message").asText()));
+                default -> { } // stage 등 나머지 메시지는 무시
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            release(true);
+            if (finished.compareAndSet(false, true)) {
+                listener.onError(new IllegalStateException(
+                        "Execution stream closed before exit (" + statusCode + " " + reason + ")"));
+            }
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            fail(error);
+        }
+
+        private void fail(Throwable error) {
+            if (finished.compareAndSet(false, true)) {
+                log.warn("Piston stream failed", error);
+                listener.onError(error);
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            finished.set(true);
+            release(true);
+            WebSocket ws = this.webSocket;
+            if (ws != null && !ws.isOutputClosed()) {
+                ws.abort();
+            }
+        }
+    }
+}
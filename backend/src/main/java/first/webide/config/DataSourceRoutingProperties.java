@@ -0,0 +1,40 @@
+package first.webide.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 트랜잭션을 복제본(replica)으로 보내는 설정. application.yml 의 app.datasource.routing.* 로 재정의.
+ * 쓰기와 일반 트랜잭션은 항상 spring.datasource(primary)로 간다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 사용자가 쓴 뒤 이 시간 동안은 그 사용자의 읽기도 primary 로 (복제 지연 동안 자기 변경이 안 보이는 문제 방지)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // 연결에 실패한 복제본은 이 시간 동안 건너뜀
+    private Duration replicaRetryAfter = Duration.ofSeconds(30);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // 복제본 장애 시 primary 로 넘어가기까지 기다리는 시간
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,74 @@
+package first.webide.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 코드 실행 요청 처리 정책. application.yml 의 execution.* 로 재정의.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "execution")
+public class ExecutionProperties {
+
+    private final Scheduler scheduler = new Scheduler();
+    private final Batch batch = new Batch();
+    private final Warmup warmup = new Warmup();
+    private final Output output = new Output();
+    private final Precompile precompile = new Precompile();
+
+    @Getter
+    @Setter
+    public static class Scheduler {
+        // 동시에 Piston 으로 나갈 수 있는 실행 수 (전역)
+        private int maxConcurrent = 16;
+        // 대기열 전체 / 사용자(IP)별 최대 대기 수. 넘으면 즉시 429
+        private int maxQueued = 100;
+        private int maxQueuedPerClient = 3;
+        // 대기열에서 이 시간 안에 차례가 오지 않으면 포기 (꼬리 지연 상한)
+        private Duration maxWait = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        // 한 배치 안에서 동시에 실행되는 케이스 수
+        private int maxParallelism = 4;
+        // 모든 배치가 공유하는 보조 워커 스레드 수 (요청 스레드 외 추가 동시 실행 상한)
+        private int poolSize = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class Warmup {
+        // 공용 Piston(emkc.org)은 호출 수 제한이 있어 기본은 꺼둠. 자체 호스팅 엔진에서 켠다.
+        private boolean enabled = false;
+        // 언어별로 동시에 돌릴 워밍업 실행 수 (= 미리 열어 둘 keep-alive 커넥션 수)
+        private int defaultSize = 1;
+        private Map<String, Integer> size = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Output {
+        // stdout/stderr 각각 서버가 보관하는 최대 크기. 넘는 부분은 잘리고 표시가 붙는다.
+        private DataSize maxSize = DataSize.ofMegabytes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Precompile {
+        // 서버 JDK 의 javac 로 Java 소스를 미리 컴파일해 오류를 빨리 알려줌. JRE 이미지에는 컴파일러가 없어 기본은 꺼둠
+        private boolean enabled = false;
+        // 동시에 컴파일하는 스레드 수. 다 차 있으면 검사 없이 엔진에 맡긴다
+        private int threads = 2;
+        // 이 시간 안에 끝나지 않으면 검사 없이 엔진에 맡긴다
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,15 @@
+package first.webide.config;
+
+import first.webide.domain.ContentCompression;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * FileNode 는 스프링 빈이 아니므로 시작 시 압축 설정을 ContentCompression 에 넣어 둔다.
+ */
+@Configuration
+public class FileContentConfig {
+
+    public FileContentConfig(FileContentProperties properties) {
+        ContentCompression.configure(properties.getCodec(), (int) properties.getThreshold().toBytes());
+    }
+}
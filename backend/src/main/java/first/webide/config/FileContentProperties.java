@@ -0,0 +1,21 @@
+package first.webide.config;
+
+import first.webide.domain.ContentCodec;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 파일 내용 저장 시 압축 정책. application.yml 의 file-content.compression.* 로 재정의.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "file-content.compression")
+public class FileContentProperties {
+
+    // 새로 저장하는 내용에 쓸 형식 (NONE 이면 압축하지 않음)
+    private ContentCodec codec = ContentCodec.GZIP;
+    // 이보다 작은 내용은 압축 이득이 적어 그대로 저장
+    private DataSize threshold = DataSize.ofKilobytes(4);
+}
@@ -0,0 +1,68 @@
+package first.webide.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 코드 실행 엔진(Piston) 연결 설정. application.yml 의 piston.* 로 재정의.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "piston")
+public class PistonProperties {
+
+    // 예: https://emkc.org/api/v2/piston  (execute, connect 등은 하위 경로)
+    private String baseUrl = "https://emkc.org/api/v2/piston";
+
+    // 여러 실행 노드를 쓸 때 지정. 비어 있으면 baseUrl 하나만 사용
+    private List<String> endpoints = new ArrayList<>();
+
+    private final Http http = new Http();
+    private final Balancing balancing = new Balancing();
+
+    public List<String> getEndpointUrls() {
+        List<String> urls = endpoints.isEmpty() ? List.of(baseUrl) : endpoints;
+        return urls.stream()
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .toList();
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+        // 커넥션 풀 전체 / 호스트별 최대 커넥션 수
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        // 풀에서 커넥션을 빌려오기까지 기다리는 최대 시간
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+        // 응답(소켓 읽기) 타임아웃. 실행 시간 상한보다 약간 길게 둔다.
+        private Duration readTimeout = Duration.ofSeconds(20);
+
+        // keep-alive 헤더가 없을 때 커넥션 재사용 기간
+        private Duration keepAlive = Duration.ofSeconds(30);
+        // 이 시간 이상 놀고 있는 커넥션은 백그라운드에서 정리
+        private Duration idleEviction = Duration.ofSeconds(60);
+
+        // true 면 JDK HttpClient(HTTP/2, 단일 커넥션 멀티플렉싱) 사용. 풀 메트릭은 제공되지 않음.
+        private boolean http2 = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Balancing {
+        // 연속 실패가 이 횟수에 닿으면 openDuration 동안 해당 엔드포인트로 보내지 않음
+        private int failureThreshold = 3;
+        private Duration openDuration = Duration.ofSeconds(30);
+        // 엔드포인트가 둘 이상일 때의 헬스 체크 주기
+        private Duration healthCheckInterval = Duration.ofSeconds(10);
+        // 지정하면 이 시간 안에 응답이 없을 때 다른 엔드포인트로 같은 요청을 한 번 더 보냄 (헤징)
+        private Duration hedgeDelay;
+    }
+}
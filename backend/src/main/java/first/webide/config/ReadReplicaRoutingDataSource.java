@@ -0,0 +1,145 @@
+package first.webide.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지는 primary 로 커넥션을 나눠 준다.
+ * - 복제본은 라운드로빈, 연결에 실패한 복제본은 retryAfter 동안 제외하고 모두 실패하면 primary 로
+ * - 사용자가 쓰기 트랜잭션을 연 뒤(커밋 시점 기준) readYourWritesWindow 동안은 그 사용자의 읽기도 primary 로
+ * 트랜잭션의 readOnly 여부는 커넥션을 실제로 꺼낼 때 알 수 있으므로 LazyConnectionDataSourceProxy 뒤에 둔다.
+ * (최근 쓰기 기록은 인스턴스 메모리에만 있으므로 여러 대로 띄우면 사용자별 고정 라우팅이 필요)
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long readYourWritesMillis;
+    private final long retryAfterMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                        Duration readYourWritesWindow, Duration retryAfter) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+        this.retryAfterMillis = retryAfter.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite(user);
+            return open(primary, username, password);
+        }
+        if (user != null && wroteRecently(user)) {
+            return open(primary, username, password);
+        }
+
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.downUntil > now) {
+                continue;
+            }
+            try {
+                return open(replica.dataSource, username, password);
+            } catch (SQLException e) {
+                replica.downUntil = now + retryAfterMillis;
+                log.warn("Read replica unavailable, skipping for {}ms: {}", retryAfterMillis, e.getMessage());
+            }
+        }
+        return open(primary, username, password);
+    }
+
+    private void rememberWrite(String user) {
+        if (user == null) {
+            return;
+        }
+        lastWriteAt.put(user, System.currentTimeMillis());
+        // 긴 트랜잭션이어도 커밋 이후부터 창이 시작되도록 끝날 때 한 번 더 기록
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lastWriteAt.put(user, System.currentTimeMillis());
+                }
+            });
+        }
+    }
+
+    private boolean wroteRecently(String user) {
+        Long at = lastWriteAt.get(user);
+        if (at == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - at < readYourWritesMillis) {
+            return true;
+        }
+        lastWriteAt.remove(user, at);
+        return false;
+    }
+
+    private static Connection open(DataSource dataSource, String username, String password)
+            throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // primary 는 별도 빈이라 컨테이너가 정리함
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
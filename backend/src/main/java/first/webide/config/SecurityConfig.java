@@ -1,6 +1,7 @@
 package first.webide.config;
 
 import first.webide.config.jwt.JwtAuthenticationFilter;
+import first.webide.domain.MemberRole;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,8 +38,12 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // OPTIONS 요청 허용
                         .requestMatchers("/api/members/signup", "/api/members/login", "/api/members/logout", "/api/members/refresh").permitAll() // 회원가입, 로그인, 토큰 재발급은 허용
-                        .requestMatchers("/api/execute").permitAll() // 코드 실행은 체험용으로 허용
+                        .requestMatchers("/api/execute", "/api/execute/stream").permitAll() // 코드 실행은 체험용으로 허용
+                        .requestMatchers(HttpMethod.GET, "/api/execute/runtimes").permitAll()
+                        .requestMatchers("/actuator/health").permitAll() // 컨테이너 헬스체크
+                        .requestMatchers("/ws/**").permitAll() // WebSocket 은 핸드셰이크에서 토큰 검증 (JwtHandshakeInterceptor)
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll() // Swagger 관련 경로 허용
+                        .requestMatchers("/api/admin/**").hasAuthority(MemberRole.ADMIN.name()) // 운영 API 는 관리자만
                         .anyRequest().authenticated() // 나머지는 인증 필요
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,36 @@
+package first.webide.config;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 커넥션을 꺼낼 샤드. 지정하지 않으면 홈 DB(샤드 0).
+ * ShardRoutingDataSource 가 커넥션을 꺼낼 때 읽으므로, 트랜잭션을 시작하기 전에 지정해야 한다.
+ */
+public final class ShardContext {
+
+    public static final int HOME = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    // 지정된 샤드, 없으면 null
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package first.webide.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * ShardContext 에 지정된 샤드의 커넥션을 꺼내 준다 (지정하지 않으면 홈 DB).
+ * JPA 트랜잭션은 시작할 때 커넥션을 꺼낼 수 있으므로 LazyConnectionDataSourceProxy 뒤에 둔다.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+
+    // shards.get(0) 은 홈 DB
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public DataSource getShard(int shard) {
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalStateException("Unknown shard " + shard);
+        }
+        return shards.get(shard);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return current().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return current().getConnection(username, password);
+    }
+
+    private DataSource current() {
+        Integer shard = ShardContext.current();
+        return getShard(shard == null ? ShardContext.HOME : shard);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 홈 DB 는 별도 빈이라 컨테이너가 정리함
+        for (DataSource shard : shards.subList(1, shards.size())) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
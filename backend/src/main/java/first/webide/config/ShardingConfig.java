@@ -0,0 +1,118 @@
+package first.webide.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.sharding.enabled=true 일 때만 적용. 꺼져 있으면 Spring Boot 기본 DataSource 하나를 그대로 쓴다.
+ * 각 샤드에는 홈 DB 와 같은 마이그레이션을 적용하고, 샤드마다 파일 ID 범위를 나눠
+ * 프로젝트를 다른 샤드로 옮길 때 ID 를 그대로 복사할 수 있게 한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardingConfig {
+
+    // 샤드 n 의 file_node / file_version ID 는 n * ID_RANGE 부터 (홈 DB 는 기존대로 1 부터)
+    static final long ID_RANGE = 1L << 40;
+
+    private static final List<String> SHARDED_SEQUENCES = List.of("file_node_seq", "file_version_seq");
+
+    public ShardingConfig(Environment environment) {
+        // 둘 다 primary DataSource 를 감싸므로 함께 켤 수 없다
+        if (environment.getProperty("app.datasource.routing.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("app.sharding and app.datasource.routing cannot be enabled together");
+        }
+    }
+
+    // spring.datasource.* (+ spring.datasource.hikari.*) 로 만드는 홈 DB 풀 (샤드 0)
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource homeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource homeDataSource,
+                                                         ShardingProperties properties,
+                                                         DataSourceProperties homeProperties,
+                                                         FlywayProperties flywayProperties) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(homeDataSource);
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            int shardId = i + 1;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shardId);
+            dataSource.setDriverClassName(DatabaseDriver.fromJdbcUrl(shard.getUrl()).getDriverClassName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername() != null ? shard.getUsername() : homeProperties.determineUsername());
+            dataSource.setPassword(shard.getPassword() != null ? shard.getPassword() : homeProperties.determinePassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            migrate(dataSource, shard.getUrl(), flywayProperties);
+            reserveIdRange(dataSource, shard.getUrl(), shardId);
+            shards.add(dataSource);
+        }
+        log.info("File storage sharded across {} databases", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // JPA 트랜잭션 시작 시점이 아니라 첫 쿼리에서 ShardContext 를 보고 샤드를 고르도록 커넥션 획득을 미룸
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    // 홈 DB 와 같은 위치의 마이그레이션 ({vendor} 는 샤드 URL 기준)
+    private static void migrate(DataSource dataSource, String url, FlywayProperties flywayProperties) {
+        String vendor = DatabaseDriver.fromJdbcUrl(url).getId();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(flywayProperties.getLocations().stream()
+                        .map(location -> location.replace("{vendor}", vendor))
+                        .toArray(String[]::new))
+                .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                .baselineVersion(flywayProperties.getBaselineVersion())
+                .load()
+                .migrate();
+    }
+
+    // 시퀀스가 아직 이 샤드의 범위 아래면 범위 시작으로 올린다 (이미 올라가 있으면 그대로)
+    private static void reserveIdRange(DataSource dataSource, String url, int shardId) {
+        // 풀링 시퀀스(allocationSize 50)는 받은 값의 49 앞부터 쓰므로 한 블록만큼 띄운다
+        long start = shardId * ID_RANGE + 50;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String sequence : SHARDED_SEQUENCES) {
+            if (DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.MYSQL) {
+                // MySQL 은 *_seq 테이블 한 행(next_val)
+                jdbcTemplate.update("update " + sequence + " set next_val = greatest(next_val, ?)", start);
+            } else {
+                Long next = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+                if (next != null && next < start) {
+                    jdbcTemplate.execute("alter sequence " + sequence + " restart with " + start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package first.webide.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파일 트리(file_node, file_version)를 프로젝트 단위로 여러 DB 에 나누는 설정. application.yml 의 app.sharding.* 로 재정의.
+ * 샤드 0 은 spring.datasource(홈 DB)이고, shards 에 적은 DB 가 차례로 샤드 1, 2, ... 가 된다.
+ * 회원/프로젝트 등 나머지 테이블과 샤드 맵(project.shard_id)은 항상 홈 DB 에 있다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // 샤드 맵 조회 결과를 인스턴스 메모리에 두는 시간. 프로젝트를 옮길 때 다른 인스턴스가 바뀐 위치를 보기까지 이만큼 기다린다
+    private Duration mapCacheTtl = Duration.ofSeconds(5);
+
+    public int getShardCount() {
+        return shards.size() + 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
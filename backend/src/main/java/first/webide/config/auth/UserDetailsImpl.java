@@ -7,32 +7,54 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
+/**
+ * 인증된 회원 정보. 로그인 시에는 Member 로, 이후 요청에서는 토큰 클레임으로 만든다.
+ * (토큰으로 만든 경우 DB 를 조회하지 않으며 비밀번호는 없음)
+ */
 public class UserDetailsImpl implements UserDetails {
 
-    private final Member member;
+    private final Long memberId;
+    private final String email;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
 
     public UserDetailsImpl(Member member) {
-        this.member = member;
+        this(member.getId(), member.getEmail(), member.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority(member.getRole().name())));
     }
 
-    public Member getMember() {
-        return member;
+    private UserDetailsImpl(Long memberId, String email, String password,
+                            Collection<? extends GrantedAuthority> authorities) {
+        this.memberId = memberId;
+        this.email = email;
+        this.password = password;
+        this.authorities = authorities;
+    }
+
+    // 토큰 클레임으로 인증 정보 생성
+    public static UserDetailsImpl fromClaims(Long memberId, String email, List<? extends GrantedAuthority> authorities) {
+        return new UserDetailsImpl(memberId, email, null, authorities);
+    }
+
+    public Long getMemberId() {
+        return memberId;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority(member.getRole().name()));
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return member.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return member.getEmail(); // 혹은 member.getId().toString() 등 고유 식별자 가능
+        return email;
     }
 
 }
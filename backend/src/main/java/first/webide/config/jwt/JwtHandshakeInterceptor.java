@@ -0,0 +1,64 @@
+package first.webide.config.jwt;
+
+import first.webide.config.auth.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * WebSocket 핸드셰이크 인증.
+ * 브라우저 WebSocket 은 헤더를 붙일 수 없어 토큰을 쿼리 파라미터(token)로 받는다.
+ * 인증된 사용자 이름, 회원 ID 와 편집할 파일 경로(path)를 세션 속성으로 넘긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String ATTR_USER = "webide.user";
+    public static final String ATTR_PATH = "webide.path";
+    public static final String ATTR_MEMBER_ID = "webide.memberId";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Map<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build()
+                .getQueryParams().toSingleValueMap();
+        String token = decode(params.get("token"));
+        String path = decode(params.get("path"));
+
+        if (!StringUtils.hasText(token) || !jwtTokenProvider.validateToken(token)) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        if (!StringUtils.hasText(path)) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+        UserDetailsImpl userDetails = (UserDetailsImpl) jwtTokenProvider.getAuthentication(token).getPrincipal();
+        attributes.put(ATTR_USER, userDetails.getUsername());
+        attributes.put(ATTR_MEMBER_ID, userDetails.getMemberId());
+        attributes.put(ATTR_PATH, path);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private static String decode(String value) {
+        return value == null ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,6 @@
 package first.webide.config.jwt;
 
+import first.webide.config.auth.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -7,18 +8,25 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    private static final String AUTHORITIES_KEY = "auth";
+    private static final String MEMBER_ID_KEY = "mid";
+
     private final Key key;
     private final long expirationMilliseconds;
     private final long refreshExpirationMilliseconds;
@@ -45,8 +53,10 @@ public class JwtTokenProvider {
         Date validity = new Date(now + this.expirationMilliseconds);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // 같은 초에 발급해도 토큰이 달라지도록
                 .setSubject(authentication.getName()) // 사용자 ID
-                .claim("auth", authorities) // 권한정보
+                .claim(AUTHORITIES_KEY, authorities) // 권한정보
+                .claim(MEMBER_ID_KEY, memberId(authentication)) // 회원 PK (요청마다 회원을 조회하지 않도록)
                 .setIssuedAt(new Date())
                 .setExpiration(validity)    // 만료시간
                 .signWith(key, SignatureAlgorithm.HS512) // 비밀 키로 서명
@@ -61,8 +71,10 @@ public class JwtTokenProvider {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.refreshExpirationMilliseconds); // 더 긴 만료시간
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(authentication.getName())
-                .claim("auth", authorities)
+                .claim(AUTHORITIES_KEY, authorities)
+                .claim(MEMBER_ID_KEY, memberId(authentication))
                 .setIssuedAt(new Date())
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -77,10 +89,25 @@ public class JwtTokenProvider {
                 .parseClaimsJws(token)
                 .getBody();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        UserDetails userDetails;
+        Number memberId = claims.get(MEMBER_ID_KEY, Number.class);
+        if (memberId != null) {
+            List<SimpleGrantedAuthority> authorities = Arrays.stream(claims.get(AUTHORITIES_KEY, String.class).split(","))
+                    .filter(authority -> !authority.isBlank())
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+            userDetails = UserDetailsImpl.fromClaims(memberId.longValue(), claims.getSubject(), authorities);
+        } else {
+            // mid 클레임 도입 전에 발급된 토큰
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        }
         return new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
     }
 
+    private static Long memberId(Authentication authentication) {
+        return authentication.getPrincipal() instanceof UserDetailsImpl userDetails ? userDetails.getMemberId() : null;
+    }
+
     // 토큰 유효성 검증
     public boolean validateToken(String token) {
         try {
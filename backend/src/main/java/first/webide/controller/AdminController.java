@@ -0,0 +1,40 @@
+package first.webide.controller;
+
+import first.webide.dto.response.ShardMoveResponse;
+import first.webide.service.ProjectShardMover;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 운영용 API. SecurityConfig 에서 /api/admin/** 는 ADMIN 권한만 허용한다.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin API", description = "운영 API (관리자 전용)")
+public class AdminController {
+
+    private final ProjectShardMover projectShardMover;
+
+    @Operation(summary = "프로젝트 샤드 이동 (관리자 전용)",
+            description = "파일 트리와 저장 이력을 대상 샤드로 옮깁니다. 이동하는 동안 파일 쓰기는 503(P004)으로 거절되고, "
+                    + "샤드 맵 캐시가 바뀌기를 기다리므로 트리 크기와 app.sharding.map-cache-ttl 에 따라 응답이 늦을 수 있습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "이동 완료 또는 이동하지 않음 (moved 참고)"),
+            @ApiResponse(responseCode = "400", description = "샤딩이 꺼져 있거나 없는 샤드"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "403", description = "관리자가 아님")
+    })
+    @PostMapping("/projects/{projectId}/shard")
+    public ResponseEntity<ShardMoveResponse> moveProject(
+            @PathVariable Long projectId,
+            @RequestParam int target) {
+        boolean moved = projectShardMover.move(projectId, target);
+        return ResponseEntity.ok(new ShardMoveResponse(projectId, target, moved));
+    }
+}
@@ -1,16 +1,29 @@
 package first.webide.controller;
 
+import first.webide.config.auth.UserDetailsImpl;
+import first.webide.dto.request.BatchExecuteRequest;
 import first.webide.dto.request.CodeExecuteRequest;
+import first.webide.dto.response.BatchExecuteResponse;
 import first.webide.dto.response.CodeExecuteResponse;
+import first.webide.dto.response.RuntimeResponse;
+import first.webide.service.BatchExecuteService;
 import first.webide.service.CodeExecuteService;
+import first.webide.service.ExecutionScheduler;
+import first.webide.service.RuntimeCatalog;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/execute")
@@ -18,18 +31,86 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Code Execution", description = "코드 실행 API")
 public class CodeExecuteController {
     private final CodeExecuteService codeExecuteService;
+    private final BatchExecuteService batchExecuteService;
+    private final ExecutionScheduler executionScheduler;
+    private final RuntimeCatalog runtimeCatalog;
 
     @PostMapping
     @Operation(summary = "코드 실행", description = "지원하는 언어의 코드를 실행하고 결과를 반환합니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "코드 실행 완료"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 참고)"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     public ResponseEntity<CodeExecuteResponse> execute(
-            @Valid @RequestBody CodeExecuteRequest request){
-        CodeExecuteResponse response = codeExecuteService.execute(request);
+            @Valid @RequestBody CodeExecuteRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            HttpServletRequest httpRequest){
+        CodeExecuteResponse response = executionScheduler.run(
+                clientKey(userDetails, httpRequest), () -> codeExecuteService.execute(request));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "코드 실행 (스트리밍)",
+            description = "표준 출력/에러를 생성되는 대로 SSE로 전송합니다. 이벤트: stdout, stderr, exit, error")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "스트림 시작"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 참고)")
+    })
+    public SseEmitter executeStream(
+            @Valid @RequestBody CodeExecuteRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            HttpServletRequest httpRequest) {
+        ExecutionScheduler.Permit permit = executionScheduler.acquire(clientKey(userDetails, httpRequest));
+        try {
+            SseEmitter emitter = codeExecuteService.executeStream(request);
+            // 스트림이 끝날 때까지 실행 자리를 점유
+            emitter.onCompletion(permit::release);
+            emitter.onTimeout(permit::release);
+            emitter.onError(e -> permit.release());
+            return emitter;
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "일괄 실행 (인증 필요)",
+            description = "같은 코드를 여러 입력으로 병렬 실행하고, 기대 출력이 있으면 케이스별로 채점합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "일괄 실행 완료"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 참고)")
+    })
+    public ResponseEntity<BatchExecuteResponse> executeBatch(
+            @Valid @RequestBody BatchExecuteRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            HttpServletRequest httpRequest) {
+        // 요청 스레드가 실행 자리 하나로 케이스를 돌고, 보조 워커는 빈 자리가 있을 때만 케이스마다 자리를 더 얻는다
+        BatchExecuteResponse response = executionScheduler.run(
+                clientKey(userDetails, httpRequest), () -> batchExecuteService.execute(request));
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/runtimes")
+    @Operation(summary = "실행 가능한 런타임 목록",
+            description = "실행 엔진에서 주기적으로 받아 둔 언어/버전 목록을 반환합니다. version 을 생략하면 최신 버전으로 실행됩니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    public ResponseEntity<List<RuntimeResponse>> getRuntimes() {
+        return ResponseEntity.ok(runtimeCatalog.getRuntimes());
+    }
+
+    // 회원은 이메일, 비회원(체험용)은 IP 단위로 공정하게 대기열을 나눈다
+    private String clientKey(UserDetailsImpl userDetails, HttpServletRequest httpRequest) {
+        if (userDetails != null) {
+            return "member:" + userDetails.getUsername();
+        }
+        return "ip:" + httpRequest.getRemoteAddr();
+    }
+
 }
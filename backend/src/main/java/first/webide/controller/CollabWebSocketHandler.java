@@ -0,0 +1,65 @@
+package first.webide.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import first.webide.config.jwt.JwtHandshakeInterceptor;
+import first.webide.dto.request.FileNode.CollabOperationRequest;
+import first.webide.exception.BusinessException;
+import first.webide.service.CollabService;
+import first.webide.service.ProjectAccessService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * 공동 편집 채널 (ws://host/ws/files?path=/project/Main.java&token=...)
+ * 클라이언트 → 서버: {"type":"op","revision":12,"ops":[5,"abc",-3]}
+ * 서버 → 클라이언트: init(문서), ack(내 연산 반영), op(다른 사용자 연산), error
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CollabWebSocketHandler extends TextWebSocketHandler {
+
+    // 느린 클라이언트 한 명이 다른 참여자에게 보내는 것을 막지 않도록 세션별로 버퍼링
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT = 1024 * 1024;
+    // 기본 8KB 는 붙여넣기 한 번에도 넘을 수 있음
+    private static final int MAX_MESSAGE_SIZE = 512 * 1024;
+
+    private final CollabService collabService;
+    private final ProjectAccessService projectAccessService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String path = (String) session.getAttributes().get(JwtHandshakeInterceptor.ATTR_PATH);
+        String user = (String) session.getAttributes().get(JwtHandshakeInterceptor.ATTR_USER);
+        Long memberId = (Long) session.getAttributes().get(JwtHandshakeInterceptor.ATTR_MEMBER_ID);
+        session.setTextMessageSizeLimit(MAX_MESSAGE_SIZE);
+        try {
+            Long projectId = projectAccessService.checkWritable(memberId, path); // 공동 편집은 소유자만
+            collabService.join(new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT),
+                    projectId, path, user);
+        } catch (BusinessException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getErrorCode().getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        CollabOperationRequest request = objectMapper.readValue(message.getPayload(), CollabOperationRequest.class);
+        if ("op".equals(request.getType()) && request.getOps() != null) {
+            collabService.receive(session.getId(), request);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        collabService.leave(session.getId());
+    }
+}
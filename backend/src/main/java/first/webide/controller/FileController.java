@@ -1,9 +1,15 @@
 package first.webide.controller;
 
+import first.webide.config.auth.UserDetailsImpl;
 import first.webide.domain.FileNode;
 import first.webide.dto.request.FileNode.*;
+import first.webide.dto.response.FileDiffResponse;
 import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.FileVersionResponse;
+import first.webide.service.FileHistoryService;
 import first.webide.service.FileService;
+import first.webide.service.ProjectAccessService;
+import first.webide.service.ShardRouter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,6 +19,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,6 +30,11 @@ import java.util.List;
 @Tag(name = "File API", description = "파일 및 디렉토리 관리 API")
 public class FileController {
     private final FileService fileService;
+    private final FileHistoryService fileHistoryService;
+    // 경로가 속한 프로젝트 권한 확인: 쓰기는 소유자만, 읽기는 소유자 또는 공개 프로젝트
+    private final ProjectAccessService projectAccessService;
+    // 권한 확인에서 받은 프로젝트의 샤드에서 파일 작업 실행 (응답 변환까지 포함: 지연 로딩되는 자식 목록)
+    private final ShardRouter shardRouter;
 
     /**
      * Create
@@ -46,30 +58,36 @@ public class FileController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "디렉토리 생성 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
-            @ApiResponse(responseCode = "404", description = "부모 디렉토리를 찾을 수 없음")
+            @ApiResponse(responseCode = "404", description = "부모 디렉토리를 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @PostMapping("/directories")
     public ResponseEntity<FileNodeResponse> createDirectory(
-            @Valid @RequestBody CreateDirectoryRequest request) {
-        FileNode dir = fileService.createDirectory(
-                request.getParentPath(), request.getName());
+            @Valid @RequestBody CreateDirectoryRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long projectId = projectAccessService.checkWritable(userDetails.getMemberId(), request.getParentPath());
+        FileNodeResponse dir = shardRouter.write(projectId, () -> FileNodeResponse.from(
+                fileService.createDirectory(request.getParentPath(), request.getName())));
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(FileNodeResponse.from(dir));
+                .body(dir);
     }
 
     @Operation(summary = "파일 생성")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "파일 생성 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
-            @ApiResponse(responseCode = "404", description = "부모 디렉토리를 찾을 수 없음")
+            @ApiResponse(responseCode = "404", description = "부모 디렉토리를 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @PostMapping
     public ResponseEntity<FileNodeResponse> createFile(
-            @Valid @RequestBody CreateFileRequest request){
-        FileNode file = fileService.createFile(
-                request.getParentPath(), request.getName(), request.getContent());
+            @Valid @RequestBody CreateFileRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails){
+        Long projectId = projectAccessService.checkWritable(userDetails.getMemberId(), request.getParentPath());
+        FileNodeResponse file = shardRouter.write(projectId, () -> FileNodeResponse.from(
+                fileService.createFile(request.getParentPath(), request.getName(), request.getContent())));
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(FileNodeResponse.from(file));
+                .body(file);
     }
 
     /**
@@ -78,11 +96,14 @@ public class FileController {
     @Operation(summary = "루트 디렉토리 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "루트 디렉토리 조회 성공"),
-            @ApiResponse(responseCode = "404", description = "루트 디렉토리를 찾을 수 없음")
+            @ApiResponse(responseCode = "404", description = "루트 디렉토리를 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @GetMapping("/root")
-    public ResponseEntity<FileNodeResponse> getRootDirectory(){
+    public ResponseEntity<FileNodeResponse> getRootDirectory(
+            @AuthenticationPrincipal UserDetailsImpl userDetails){
         FileNode root = fileService.getRootDirectory();
+        projectAccessService.checkReadable(userDetails.getMemberId(), root.getPath());
         FileNodeResponse response = FileNodeResponse.from(root);
         return ResponseEntity.ok(response);
     }
@@ -91,15 +112,21 @@ public class FileController {
     @Operation(summary = "디렉토리의 자식 노드 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "하위 목록 조회 성공"),
-            @ApiResponse(responseCode = "404", description = "지정된 경로를 찾을 수 없음")
+            @ApiResponse(responseCode = "404", description = "지정된 경로를 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @Parameter(name = "path", description = "부모 디렉토리의 경로", required = true)
     @GetMapping("/children")
     public ResponseEntity<List<FileNodeResponse>> getChildren(
-            @RequestParam String path){
-        List<FileNode> children = fileService.getChildren(path);
-        List<FileNodeResponse> responses = children.stream()
-                .map(FileNodeResponse::from).toList();
+            @RequestParam String path,
+            @AuthenticationPrincipal UserDetailsImpl userDetails){
+        Long projectId = projectAccessService.checkReadable(userDetails.getMemberId(), path);
+        // 복사 전 포크면 원본 노드가 오므로 요청한 경로 기준으로 경로를 만들고 원본 id 는 내보내지 않는다
+        List<FileNodeResponse> responses = shardRouter.read(projectId, () -> fileService.getChildren(path).stream()
+                .map(child -> child.getPath().equals(path + "/" + child.getName())
+                        ? FileNodeResponse.from(child)
+                        : FileNodeResponse.mirror(child, null, child.getName(), path + "/" + child.getName()))
+                .toList());
 
         return ResponseEntity.ok(responses);
     }
@@ -109,15 +136,69 @@ public class FileController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "파일 내용 조회 성공"),
             @ApiResponse(responseCode = "404", description = "파일을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음"),
             @ApiResponse(responseCode = "400", description = "디렉토리는 내용을 조회할 수 없음")
     })
     @Parameter(name = "path", description = "파일 경로", required = true)
     @GetMapping("/content")
-    public ResponseEntity<String> getContent(@RequestParam String path){
-        String content = fileService.getContent(path);
+    public ResponseEntity<String> getContent(
+            @RequestParam String path,
+            @AuthenticationPrincipal UserDetailsImpl userDetails){
+        Long projectId = projectAccessService.checkReadable(userDetails.getMemberId(), path);
+        String content = shardRouter.read(projectId, () -> fileService.getContent(path));
         return ResponseEntity.ok(content);
     }
 
+    // GET /api/files/versions?path=/project/src/main.java
+    @Operation(summary = "파일 버전 목록 조회", description = "저장할 때마다 만들어진 버전을 최신순으로 반환합니다. 내용은 포함하지 않습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "버전 목록 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "파일을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @Parameter(name = "path", description = "파일 경로", required = true)
+    @GetMapping("/versions")
+    public ResponseEntity<List<FileVersionResponse>> getVersions(
+            @RequestParam String path,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long projectId = projectAccessService.checkReadable(userDetails.getMemberId(), path);
+        return ResponseEntity.ok(shardRouter.read(projectId, () -> fileHistoryService.getVersions(path)));
+    }
+
+    @Operation(summary = "특정 버전의 파일 내용 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "버전 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "파일 또는 버전을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @Parameter(name = "path", description = "파일 경로", required = true)
+    @GetMapping("/versions/{version}")
+    public ResponseEntity<FileVersionResponse> getVersion(
+            @RequestParam String path,
+            @PathVariable int version,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long projectId = projectAccessService.checkReadable(userDetails.getMemberId(), path);
+        return ResponseEntity.ok(shardRouter.read(projectId, () -> fileHistoryService.getVersion(path, version)));
+    }
+
+    // GET /api/files/versions/diff?path=/project/src/main.java&from=2&to=5
+    @Operation(summary = "두 버전 비교", description = "줄 단위 unified diff 를 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "비교 성공"),
+            @ApiResponse(responseCode = "404", description = "파일 또는 버전을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @Parameter(name = "path", description = "파일 경로", required = true)
+    @GetMapping("/versions/diff")
+    public ResponseEntity<FileDiffResponse> diff(
+            @RequestParam String path,
+            @RequestParam int from,
+            @RequestParam int to,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long projectId = projectAccessService.checkReadable(userDetails.getMemberId(), path);
+        return ResponseEntity.ok(shardRouter.read(projectId, () -> fileHistoryService.diff(path, from, to)));
+    }
+
     /**
      * Update
      */
@@ -125,28 +206,34 @@ public class FileController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "파일 내용 수정 성공"),
             @ApiResponse(responseCode = "404", description = "파일을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청")
     })
     @PatchMapping("/content")
     public ResponseEntity<FileNodeResponse> updateContent(
             @RequestParam String path,
-            @Valid @RequestBody UpdateFileContentRequest request){
-        FileNode file = fileService.updateContent(path, request.getContent());
-        return ResponseEntity.ok(FileNodeResponse.from(file));
+            @Valid @RequestBody UpdateFileContentRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails){
+        Long projectId = projectAccessService.checkWritable(userDetails.getMemberId(), path);
+        return ResponseEntity.ok(shardRouter.write(projectId,
+                () -> FileNodeResponse.from(fileService.updateContent(path, request.getContent()))));
     }
 
     @Operation(summary = "파일 또는 디렉토리 이름 변경")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "이름 변경 성공"),
             @ApiResponse(responseCode = "404", description = "파일/디렉토리를 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음"),
             @ApiResponse(responseCode = "409", description = "동일한 이름이 이미 존재함")
     })
     @PatchMapping("/rename")
     public ResponseEntity<FileNodeResponse> rename(
             @RequestParam String path,
-            @Valid @RequestBody RenameRequest request) {
-        FileNode renamed = fileService.rename(path, request.getNewName());
-        return ResponseEntity.ok(FileNodeResponse.from(renamed));
+            @Valid @RequestBody RenameRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long projectId = projectAccessService.checkWritable(userDetails.getMemberId(), path);
+        return ResponseEntity.ok(shardRouter.write(projectId,
+                () -> FileNodeResponse.from(fileService.rename(path, request.getNewName()))));
     }
 
     /**
@@ -155,12 +242,16 @@ public class FileController {
     @Operation(summary = "파일 또는 디렉토리 삭제")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "삭제 성공"),
-            @ApiResponse(responseCode = "404", description = "파일/디렉토리를 찾을 수 없음")
+            @ApiResponse(responseCode = "404", description = "파일/디렉토리를 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @Parameter(name = "path", description = "삭제할 노드의 경로", required = true)
     @DeleteMapping
-    public ResponseEntity<Void> delete(@RequestParam String path) {
-        fileService.delete(path);
+    public ResponseEntity<Void> delete(
+            @RequestParam String path,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long projectId = projectAccessService.checkWritable(userDetails.getMemberId(), path);
+        shardRouter.write(projectId, () -> fileService.delete(path));
         return ResponseEntity.noContent().build();
     }
 
@@ -2,24 +2,34 @@ package first.webide.controller;
 
 import first.webide.config.auth.UserDetailsImpl;
 import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.request.Project.RunProjectRequest;
 import first.webide.dto.request.Project.UpdateProjectPublishRequest;
 import first.webide.dto.request.Project.UpdateProjectRequest;
+import first.webide.dto.response.CodeExecuteResponse;
 import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.ProjectFeedResponse;
 import first.webide.dto.response.ProjectHubResponse;
 import first.webide.dto.response.ProjectResponse;
+import first.webide.service.ExecutionScheduler;
+import first.webide.service.FileTreeEventBroadcaster;
+import first.webide.service.ProjectForkService;
+import first.webide.service.ProjectRunService;
 import first.webide.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -30,6 +40,10 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectRunService projectRunService;
+    private final ExecutionScheduler executionScheduler;
+    private final FileTreeEventBroadcaster fileTreeEventBroadcaster;
+    private final ProjectForkService projectForkService;
 
     /**
      *  Create
@@ -44,7 +58,7 @@ public class ProjectController {
     public ResponseEntity<ProjectResponse> createProject(
             @Valid @RequestBody CreateProjectRequest request,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        String memberEmail = userDetails.getMember().getEmail();
+        String memberEmail = userDetails.getUsername();
         ProjectResponse created = projectService.createProject(memberEmail, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
@@ -60,7 +74,7 @@ public class ProjectController {
     @GetMapping("/my")
     public ResponseEntity<List<ProjectResponse>> getMyProjects(
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        String memberEmail = userDetails.getMember().getEmail();
+        String memberEmail = userDetails.getUsername();
         List<ProjectResponse> projects = projectService.getProjectsByMemberEmail(memberEmail);
         return ResponseEntity.ok(projects);
     }
@@ -75,6 +89,20 @@ public class ProjectController {
         return ResponseEntity.ok(publicProjects);
     }
 
+    @Operation(summary = "공개 프로젝트 피드 조회 (커서 기반)",
+            description = "최근 수정순으로 size 개씩 반환합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨 요청합니다. "
+                    + "전체 개수를 세지 않고 커서 위치부터 읽으므로 뒤쪽 페이지도 첫 페이지와 같은 비용입니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "공개 프로젝트 피드 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서")
+    })
+    @GetMapping("/public/feed")
+    public ResponseEntity<ProjectFeedResponse> getPublicProjectFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectService.getPublicProjectFeed(cursor, size));
+    }
+
     @Operation(summary = "프로젝트 상세 정보 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "프로젝트 정보 조회 성공"),
@@ -102,8 +130,8 @@ public class ProjectController {
             @PathVariable Long projectId,
             @Valid @RequestBody UpdateProjectRequest request,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        String memberEmail = userDetails.getMember().getEmail();
-        ProjectResponse updated = projectService.updateProjectInfo(memberEmail, projectId, request);
+        Long memberId = userDetails.getMemberId();
+        ProjectResponse updated = projectService.updateProjectInfo(memberId, projectId, request);
         return ResponseEntity.ok(updated);
     }
 
@@ -119,8 +147,8 @@ public class ProjectController {
             @PathVariable Long projectId,
             @Valid @RequestBody UpdateProjectPublishRequest request,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        String memberEmail = userDetails.getMember().getEmail();
-        ProjectResponse updated = projectService.updateProjectPublish(memberEmail, projectId, request);
+        Long memberId = userDetails.getMemberId();
+        ProjectResponse updated = projectService.updateProjectPublish(memberId, projectId, request);
         return ResponseEntity.ok(updated);
     }
 
@@ -138,8 +166,8 @@ public class ProjectController {
     public ResponseEntity<Void> deleteProject(
             @PathVariable Long projectId,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        String memberEmail = userDetails.getMember().getEmail();
-        projectService.deleteProject(memberEmail, projectId);
+        Long memberId = userDetails.getMemberId();
+        projectService.deleteProject(memberId, projectId);
         return ResponseEntity.noContent().build();
     }
 
@@ -157,8 +185,8 @@ public class ProjectController {
     public ResponseEntity<FileNodeResponse> getProjectRootDirectory(
             @PathVariable Long projectId,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        String memberEmail = userDetails.getMember().getEmail();
-        FileNodeResponse rootDir = projectService.getProjectRootDirectory(memberEmail, projectId);
+        Long memberId = userDetails.getMemberId();
+        FileNodeResponse rootDir = projectService.getProjectRootDirectory(memberId, projectId);
         return ResponseEntity.ok(rootDir);
     }
 
@@ -173,4 +201,64 @@ public class ProjectController {
         FileNodeResponse rootDir = projectService.getPublicProjectRootDirectory(projectId);
         return ResponseEntity.ok(rootDir);
     }
+
+    /**
+     * 프로젝트 실행
+     */
+    @Operation(summary = "프로젝트 실행 (인증 필요)",
+            description = "서버에 저장된 프로젝트 파일 트리를 진입점 파일부터 실행합니다. 코드는 전송하지 않습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "실행 완료"),
+            @ApiResponse(responseCode = "404", description = "프로젝트 또는 진입점 파일을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "권한 없음 (비공개 프로젝트)"),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 참고)")
+    })
+    @PostMapping("/{projectId}/run")
+    public ResponseEntity<CodeExecuteResponse> runProject(
+            @PathVariable Long projectId,
+            @Valid @RequestBody RunProjectRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long memberId = userDetails.getMemberId();
+        CodeExecuteResponse response = executionScheduler.run("member:" + userDetails.getUsername(),
+                () -> projectRunService.run(memberId, projectId, request));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "프로젝트 포크 (인증 필요)",
+            description = "공개 프로젝트(또는 내 프로젝트)를 내 프로젝트로 복제합니다. "
+                    + "파일은 처음 수정할 때 복사되므로 프로젝트 크기와 관계없이 바로 완료됩니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "포크 성공"),
+            @ApiResponse(responseCode = "403", description = "권한 없음 (비공개 프로젝트)"),
+            @ApiResponse(responseCode = "404", description = "프로젝트를 찾을 수 없음")
+    })
+    @PostMapping("/{projectId}/fork")
+    public ResponseEntity<ProjectResponse> forkProject(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long memberId = userDetails.getMemberId();
+        ProjectResponse forked = projectForkService.fork(memberId, projectId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(forked);
+    }
+
+    @Operation(summary = "파일 트리 변경 이벤트 구독 (인증 필요)",
+            description = "파일 생성/수정/이름 변경/삭제를 SSE로 전송합니다. 이벤트: ready, change, reset. "
+                    + "재접속 시 Last-Event-ID 헤더(또는 lastEventId 파라미터)를 보내면 놓친 이벤트부터 이어 받고, "
+                    + "이어 줄 수 없으면 reset 이벤트가 오므로 트리를 다시 불러와야 합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "스트림 시작"),
+            @ApiResponse(responseCode = "403", description = "권한 없음 (비공개 프로젝트)"),
+            @ApiResponse(responseCode = "404", description = "프로젝트를 찾을 수 없음")
+    })
+    @GetMapping(value = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeFileEvents(
+            @PathVariable Long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            HttpServletResponse response) {
+        response.setHeader("X-Accel-Buffering", "no"); // nginx 가 이벤트를 모아 두지 않도록
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        return fileTreeEventBroadcaster.subscribe(userDetails.getMemberId(), projectId, resumeFrom);
+    }
 }
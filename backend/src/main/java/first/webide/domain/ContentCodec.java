@@ -0,0 +1,78 @@
+package first.webide.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 파일 내용 저장 형식. 행마다 content_codec 컬럼에 기록되어 읽을 때 그대로 풀어낸다.
+ * (설정을 바꿔도 이미 저장된 행은 기록된 형식으로 읽힘)
+ */
+public enum ContentCodec {
+
+    NONE {
+        @Override
+        public byte[] encode(byte[] raw) {
+            return raw;
+        }
+
+        @Override
+        public byte[] decode(byte[] stored) {
+            return stored;
+        }
+    },
+    GZIP {
+        @Override
+        public byte[] encode(byte[] raw) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 32);
+            try (OutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(raw);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public byte[] decode(byte[] stored) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(stored))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    },
+    // zlib 형식. gzip 보다 헤더가 작다
+    DEFLATE {
+        @Override
+        public byte[] encode(byte[] raw) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 16);
+            try (OutputStream out = new DeflaterOutputStream(bytes)) {
+                out.write(raw);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public byte[] decode(byte[] stored) {
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(stored))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    public abstract byte[] encode(byte[] raw);
+
+    public abstract byte[] decode(byte[] stored);
+}
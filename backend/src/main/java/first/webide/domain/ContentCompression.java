@@ -0,0 +1,40 @@
+package first.webide.domain;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * FileNode 내용과 FileVersion 이력 내용의 압축 정책. 엔티티는 스프링 빈이 아니므로 시작 시 FileContentConfig 가 설정값을 넣어 둔다.
+ * threshold 바이트 이상인 내용만 codec 으로 압축하고, 압축해도 작아지지 않으면 그대로 저장한다.
+ */
+public final class ContentCompression {
+
+    private static volatile ContentCodec codec = ContentCodec.GZIP;
+    private static volatile int threshold = 4096;
+
+    private ContentCompression() {
+    }
+
+    public static void configure(ContentCodec codec, int threshold) {
+        ContentCompression.codec = codec;
+        ContentCompression.threshold = threshold;
+    }
+
+    static Encoded encode(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        ContentCodec selected = codec;
+        if (selected == ContentCodec.NONE || raw.length < threshold) {
+            return new Encoded(ContentCodec.NONE, raw);
+        }
+        byte[] compressed = selected.encode(raw);
+        return compressed.length < raw.length
+                ? new Encoded(selected, compressed)
+                : new Encoded(ContentCodec.NONE, raw);
+    }
+
+    static String decode(ContentCodec codec, byte[] stored) {
+        return new String(codec.decode(stored), StandardCharsets.UTF_8);
+    }
+
+    record Encoded(ContentCodec codec, byte[] data) {
+    }
+}
@@ -12,22 +12,44 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_file_node_parent_name", columnList = "parent_id, name"), // 자식 목록, 이름 중복 검사
+        @Index(name = "idx_file_node_fork_source", columnList = "fork_source_id")
+})
 public class FileNode {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public static final int MAX_PATH_LENGTH = 50;
+
+    // ID 를 50개씩 미리 받아 두므로 save 마다 INSERT 하지 않고 배치로 묶을 수 있음
+    // (시퀀스가 없는 MySQL 에서는 Hibernate 가 file_node_seq 테이블로 대신함)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_node_seq_generator")
+    @SequenceGenerator(name = "file_node_seq_generator", sequenceName = "file_node_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 50)
     private String name;
 
-    @Column(nullable = false, unique = true,  length = 50)
+    @Column(nullable = false, unique = true,  length = MAX_PATH_LENGTH)
     private String path;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private FileType type;
 
+    // 내용은 UTF-8 바이트로, 설정 크기 이상이면 압축해서 저장 (형식은 행마다 content_codec 에 기록)
     @Lob
+    @Getter(AccessLevel.NONE)
+    @Column(name = "content_data")
+    private byte[] contentData;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_codec")
+    private ContentCodec contentCodec;
+
+    // 풀어낸 내용 (처음 읽을 때 한 번만 풀어냄)
+    @Transient
+    @Getter(AccessLevel.NONE)
     private String content;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,6 +59,17 @@ public class FileNode {
     @OneToMany(mappedBy = "parent",cascade = CascadeType.ALL, orphanRemoval = true)
     private final List<FileNode> children =  new ArrayList<>();
 
+    // 아직 복사하지 않은 포크 루트면 원본 루트 디렉토리 ID. 하위 트리는 원본을 그대로 읽는다 (복사 후 null)
+    @Column(name = "fork_source_id")
+    private Long forkSourceId;
+
+    // 하위 트리를 보관소로 옮긴 루트 디렉토리면 true (복원되면 false)
+    @Column(nullable = false)
+    private boolean archived;
+
+    // 이력 없이 저장한 내용이 있으면 true. 다음 이력은 저장 직전 내용이 아니라 마지막 버전과 비교해 남긴다
+    @Column(name = "history_pending", nullable = false)
+    private boolean historyPending;
 
     // 생성자
     private FileNode(String name, String path, FileType type, String content) {
@@ -45,7 +78,7 @@ public class FileNode {
         this.path = path;
         this.type = type;
         if (type == FileType.FILE) {
-            this.content = content;
+            storeContent(content);
         }
     }
 
@@ -69,6 +102,13 @@ public class FileNode {
         return  new FileNode(name, path, FileType.DIRECTORY, null);
     }
 
+    // 다른 프로젝트 트리를 참조하는 포크 루트 생성 (하위 노드는 첫 쓰기 때 복사)
+    public static FileNode createForkRoot(String name, Long sourceRootId) {
+        FileNode root = createRootDirectory(name);
+        root.forkSourceId = sourceRootId;
+        return root;
+    }
+
     // 하위 파일 또는 디렉터리 생성
     public static FileNode create(FileNode parent, String name, FileType type, String content) {
         if (parent == null || !parent.isDirectory()) {
@@ -89,7 +129,26 @@ public class FileNode {
         if (!isFile()) {
             throw new IllegalArgumentException("content of directory can't update");
         }
+        storeContent(content);
+    }
+
+    public String getContent() {
+        if (content == null && contentData != null) {
+            content = ContentCompression.decode(contentCodec, contentData);
+        }
+        return content;
+    }
+
+    private void storeContent(String content) {
         this.content = content;
+        if (content == null) {
+            this.contentData = null;
+            this.contentCodec = null;
+            return;
+        }
+        ContentCompression.Encoded encoded = ContentCompression.encode(content);
+        this.contentData = encoded.data();
+        this.contentCodec = encoded.codec();
     }
 
     // 파일 이름 수정
@@ -128,6 +187,24 @@ public class FileNode {
     }
 
 
+    // 원본 트리를 복사한 뒤 참조를 끊음
+    public void detachFork() {
+        this.forkSourceId = null;
+    }
+
+    // 하위 트리를 보관소로 옮겼거나 되돌림 (루트 디렉토리만)
+    public void markArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    public void markHistoryPending(boolean historyPending) {
+        this.historyPending = historyPending;
+    }
+
+    public boolean isVirtualFork() {
+        return forkSourceId != null;
+    }
+
     public boolean isDirectory() {
         return type == FileType.DIRECTORY;
     }
@@ -0,0 +1,146 @@
+package first.webide.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일 저장 이력 한 건.
+ * 스냅샷(version == baseVersion)은 전체 내용을, 나머지는 직전 버전과 달라진 가운데 부분만 저장한다.
+ * (앞뒤 공통 부분의 길이 + 새로 들어간 텍스트) 복원은 baseVersion 스냅샷부터 차례로 적용.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "file_version",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"file_id", "version"}))
+public class FileVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_version_seq_generator")
+    @SequenceGenerator(name = "file_version_seq_generator", sequenceName = "file_version_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "file_id", nullable = false)
+    private Long fileId; // FileNode ID만 참조 (파일 삭제 시 함께 정리)
+
+    @Column(nullable = false)
+    private int version;
+
+    @Column(nullable = false)
+    private int baseVersion; // 복원을 시작할 스냅샷 버전
+
+    @Column(nullable = false)
+    private int prefixLength;
+
+    @Column(nullable = false)
+    private int suffixLength;
+
+    // 스냅샷이면 전체 내용, 아니면 새로 들어간 텍스트. FileNode 내용과 같이 UTF-8 바이트로, 설정 크기 이상이면 압축
+    @Lob
+    @Getter(AccessLevel.NONE)
+    @Column(name = "data_bytes")
+    private byte[] dataBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "data_codec")
+    private ContentCodec dataCodec;
+
+    // 풀어낸 내용 (처음 읽을 때 한 번만 풀어냄)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private String data;
+
+    @Column(nullable = false)
+    private int length; // 복원된 내용의 길이
+
+    // 보관한 이력을 복원할 때 원래 시각을 유지하도록 감사(@CreatedDate) 대신 직접 채움
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private FileVersion(Long fileId, int version, int baseVersion,
+                        int prefixLength, int suffixLength, String data, int length, LocalDateTime createdAt) {
+        this.fileId = fileId;
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.prefixLength = prefixLength;
+        this.suffixLength = suffixLength;
+        storeData(data);
+        this.length = length;
+        this.createdAt = createdAt;
+    }
+
+    private FileVersion(Long fileId, int version, int baseVersion,
+                        int prefixLength, int suffixLength, String data, int length) {
+        this(fileId, version, baseVersion, prefixLength, suffixLength, data, length, LocalDateTime.now());
+    }
+
+    // 보관소에서 복원 (fileId 만 새 파일 ID 로 바뀜)
+    public static FileVersion restore(Long fileId, int version, int baseVersion, int prefixLength,
+                                      int suffixLength, String data, int length, LocalDateTime createdAt) {
+        return new FileVersion(fileId, version, baseVersion, prefixLength, suffixLength, data, length, createdAt);
+    }
+
+    public static FileVersion snapshot(Long fileId, int version, String content) {
+        String text = content == null ? "" : content;
+        return new FileVersion(fileId, version, version, 0, 0, text, text.length());
+    }
+
+    // previous 가 버전 version - 1 의 내용일 때만 올바른 델타가 된다
+    public static FileVersion delta(Long fileId, int version, int baseVersion, String previous, String content) {
+        String before = previous == null ? "" : previous;
+        String after = content == null ? "" : content;
+        int max = Math.min(before.length(), after.length());
+        int prefix = 0;
+        while (prefix < max && before.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+        // 서로게이트 쌍 중간에서 자르지 않도록
+        if (prefix > 0 && Character.isHighSurrogate(after.charAt(prefix - 1))) {
+            prefix--;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(after.charAt(after.length() - suffix))) {
+            suffix--;
+        }
+        String inserted = after.substring(prefix, after.length() - suffix);
+        return new FileVersion(fileId, version, baseVersion, prefix, suffix, inserted, after.length());
+    }
+
+    public String getData() {
+        if (data == null && dataBytes != null) {
+            data = ContentCompression.decode(dataCodec, dataBytes);
+        }
+        return data;
+    }
+
+    private void storeData(String data) {
+        this.data = data;
+        if (data == null) {
+            return;
+        }
+        ContentCompression.Encoded encoded = ContentCompression.encode(data);
+        this.dataBytes = encoded.data();
+        this.dataCodec = encoded.codec();
+    }
+
+    public boolean isSnapshot() {
+        return version == baseVersion;
+    }
+
+    // 직전 버전 내용에 이 버전의 변경을 적용
+    public String applyTo(String previous) {
+        if (isSnapshot()) {
+            return getData();
+        }
+        String before = previous == null ? "" : previous;
+        return before.substring(0, prefixLength) + getData() + before.substring(before.length() - suffixLength);
+    }
+}
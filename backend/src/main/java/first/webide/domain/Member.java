@@ -7,6 +7,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -16,8 +17,15 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_member_deleted", columnList = "deleted_at")) // 정리 작업용
+@SQLRestriction("deleted_at is null") // 탈퇴한 회원은 모든 조회에서 제외 (실제 삭제는 DeletionPurgeService)
 public class Member {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+
+    // 탈퇴한 회원의 이메일/이름 자리 표시 ("#" + id). 가입 시 이메일 형식, 이름 규칙으로 걸러짐
+    public static final String TOMBSTONE_PREFIX = "#";
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -34,6 +42,8 @@ public class Member {
 
     private LocalDateTime createdDate;
 
+    private LocalDateTime deletedAt;
+
     // 연관관계 매핑
     @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, orphanRemoval = true)
     private final List<Project> projects = new ArrayList<>();
@@ -80,5 +90,10 @@ public class Member {
         if (!passwordEncoder.matches(rawPassword, this.password)) {
             throw new BusinessException(ErrorCode.INVALID_PASSWORD);
         }
+        // 이메일과 이름은 바로 다시 가입할 수 있도록 비워 둠
+        this.email = TOMBSTONE_PREFIX + id;
+        this.username = TOMBSTONE_PREFIX + id;
+        this.refreshToken = null; // orphanRemoval 로 함께 삭제
+        this.deletedAt = LocalDateTime.now();
     }
 }
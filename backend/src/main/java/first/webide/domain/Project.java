@@ -7,6 +7,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,10 +18,20 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        @Index(name = "idx_project_member", columnList = "member_id"),
+        @Index(name = "idx_project_root_dir", columnList = "root_dir_id"), // 파일 경로 -> 프로젝트
+        @Index(name = "idx_project_public_updated", columnList = "is_public, updated_at, id"), // 공개 허브 피드
+        @Index(name = "idx_project_deleted", columnList = "deleted_at"), // 정리 작업용
+        @Index(name = "idx_project_archived_updated", columnList = "archived_at, updated_at"), // 보관 대상 조회
+        @Index(name = "uk_project_root_path", columnList = "root_path", unique = true) // 파일 경로 -> 프로젝트
+})
+@SQLRestriction("deleted_at is null") // 삭제한 프로젝트는 모든 조회에서 제외 (실제 삭제는 DeletionPurgeService)
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq_generator")
+    @SequenceGenerator(name = "project_seq_generator", sequenceName = "project_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,9 +43,23 @@ public class Project {
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
 
+    // 소유자 ID (member_id 읽기 전용). 소유권 확인에 Member 를 읽지 않아도 됨
+    @Column(name = "member_id", insertable = false, updatable = false)
+    private Long memberId;
+
     @Column(nullable = true) // 프로젝트 생성 후 루트 디렉토리가 설정되므로 nullable
     private Long rootDirId; // FileNode  ID만 참조
 
+    // 루트 디렉토리 경로. 파일 테이블이 다른 샤드에 있어도 경로로 프로젝트를 찾을 수 있도록 함께 기록
+    private String rootPath;
+
+    // 파일 트리가 있는 샤드 (0 은 홈 DB). ShardMap 참고
+    @Column(nullable = false)
+    private int shardId;
+
+    // 다른 샤드로 옮기는 중이면 대상 샤드. 옮기는 동안 파일 쓰기는 거절된다
+    private Integer movingToShard;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -45,12 +70,18 @@ public class Project {
     @Column(nullable = false)
     private boolean isPublic = false; // 기본값은 false (비공개)
 
+    private LocalDateTime deletedAt;
+
+    // 파일 트리를 보관소로 옮긴 시각 (루트 디렉토리 행만 남음). 다음 접근 때 복원되면 null
+    private LocalDateTime archivedAt;
+
 
     @Builder
     public Project(String name, String description, Member member, boolean isPublic) {
         this.name = name;
         this.description = description;
         this.member = member;
+        this.memberId = member != null ? member.getId() : null;
         this.isPublic = isPublic;
     }
 
@@ -64,11 +95,19 @@ public class Project {
     }
 
     //==연관관계 편의 메서드==//
-    public void linkRootDirectory(Long rootDirId) {
+    public void linkRootDirectory(Long rootDirId, String rootPath) {
         if (this.rootDirId != null) {
             throw new BusinessException(ErrorCode.PROJECT_ROOT_ALREADY_SET);
         }
         this.rootDirId = rootDirId;
+        this.rootPath = rootPath;
+    }
+
+    /**
+     * 파일 트리를 둘 샤드 지정. 루트 디렉토리를 만들기 전에 호출합니다.
+     */
+    public void placeOn(int shardId) {
+        this.shardId = shardId;
     }
 
     //==비즈니스 로직==//
@@ -97,4 +136,15 @@ public class Project {
         this.isPublic = false;
     }
 
+    /**
+     * 삭제 표시. 파일 트리와 행은 DeletionPurgeService 가 나중에 나눠서 지웁니다.
+     */
+    public void markDeleted() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public boolean isArchived() {
+        return archivedAt != null;
+    }
+
 }
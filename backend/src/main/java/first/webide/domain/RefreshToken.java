@@ -8,10 +8,12 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_refresh_token_token", columnList = "token")) // 재발급 시 토큰으로 조회
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_seq_generator")
+    @SequenceGenerator(name = "refresh_token_seq_generator", sequenceName = "refresh_token_seq", allocationSize = 50)
     @Column(name = "refresh_token_id")
     private Long id;
 
@@ -19,6 +21,7 @@ public class RefreshToken {
     @JoinColumn(name = "member_id")
     private Member member;
 
+    @Column(length = 512)
     private String token;
 
     public RefreshToken(Member member, String token) {
@@ -0,0 +1,218 @@
+package first.webide.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 텍스트 편집 연산 (ot.js 의 TextOperation 과 같은 형식).
+ * 연산 목록은 retain(양수), insert(문자열), delete(음수) 로 이루어지고 JSON 으로는
+ * [5, "abc", -3] 처럼 주고받는다. 길이 단위는 UTF-16 코드 유닛으로 JavaScript 문자열과 같다.
+ */
+public class TextOperation {
+
+    private final List<Object> ops = new ArrayList<>();
+    // 적용 전/후 문서 길이
+    private int baseLength;
+    private int targetLength;
+
+    public static TextOperation fromJson(List<?> json) {
+        TextOperation operation = new TextOperation();
+        for (Object op : json) {
+            if (op instanceof String text) {
+                operation.insert(text);
+            } else if (op instanceof Number number && number.longValue() == number.intValue() && number.intValue() != 0) {
+                int count = number.intValue();
+                if (count > 0) {
+                    operation.retain(count);
+                } else {
+                    operation.delete(-count);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown operation: " + op);
+            }
+        }
+        return operation;
+    }
+
+    public List<Object> toJson() {
+        return List.copyOf(ops);
+    }
+
+    public int getBaseLength() {
+        return baseLength;
+    }
+
+    public int getTargetLength() {
+        return targetLength;
+    }
+
+    public TextOperation retain(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("retain expects a non-negative count");
+        }
+        if (count == 0) {
+            return this;
+        }
+        baseLength += count;
+        targetLength += count;
+        int last = ops.size() - 1;
+        if (last >= 0 && isRetain(ops.get(last))) {
+            ops.set(last, (Integer) ops.get(last) + count);
+        } else {
+            ops.add(count);
+        }
+        return this;
+    }
+
+    public TextOperation insert(String text) {
+        if (text.isEmpty()) {
+            return this;
+        }
+        targetLength += text.length();
+        int last = ops.size() - 1;
+        if (last >= 0 && isInsert(ops.get(last))) {
+            ops.set(last, ops.get(last) + text);
+        } else if (last >= 0 && isDelete(ops.get(last))) {
+            // 같은 위치의 삽입/삭제는 항상 삽입을 앞에 둔다 (정규형)
+            if (last >= 1 && isInsert(ops.get(last - 1))) {
+                ops.set(last - 1, ops.get(last - 1) + text);
+            } else {
+                ops.add(last, text);
+            }
+        } else {
+            ops.add(text);
+        }
+        return this;
+    }
+
+    public TextOperation delete(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("delete expects a non-negative count");
+        }
+        if (count == 0) {
+            return this;
+        }
+        baseLength += count;
+        int last = ops.size() - 1;
+        if (last >= 0 && isDelete(ops.get(last))) {
+            ops.set(last, (Integer) ops.get(last) - count);
+        } else {
+            ops.add(-count);
+        }
+        return this;
+    }
+
+    public String apply(String document) {
+        if (document.length() != baseLength) {
+            throw new IllegalArgumentException("The operation's base length must be equal to the document length");
+        }
+        StringBuilder result = new StringBuilder(targetLength);
+        int index = 0;
+        for (Object op : ops) {
+            if (isRetain(op)) {
+                int count = (Integer) op;
+                result.append(document, index, index + count);
+                index += count;
+            } else if (isInsert(op)) {
+                result.append((String) op);
+            } else {
+                index -= (Integer) op;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 같은 문서에 동시에 만들어진 두 연산 a, b 를 변환한다.
+     * 결과 [a', b'] 는 apply(apply(S, a), b') == apply(apply(S, b), a') 를 만족한다.
+     * 같은 위치 삽입은 a 가 앞에 온다.
+     */
+    public static TextOperation[] transform(TextOperation a, TextOperation b) {
+        if (a.baseLength != b.baseLength) {
+            throw new IllegalArgumentException("Both operations have to have the same base length");
+        }
+        TextOperation aPrime = new TextOperation();
+        TextOperation bPrime = new TextOperation();
+        List<Object> opsA = a.ops;
+        List<Object> opsB = b.ops;
+        int ia = 0;
+        int ib = 0;
+        Object opA = ia < opsA.size() ? opsA.get(ia++) : null;
+        Object opB = ib < opsB.size() ? opsB.get(ib++) : null;
+
+        while (opA != null || opB != null) {
+            if (isInsert(opA)) {
+                aPrime.insert((String) opA);
+                bPrime.retain(((String) opA).length());
+                opA = ia < opsA.size() ? opsA.get(ia++) : null;
+                continue;
+            }
+            if (isInsert(opB)) {
+                aPrime.retain(((String) opB).length());
+                bPrime.insert((String) opB);
+                opB = ib < opsB.size() ? opsB.get(ib++) : null;
+                continue;
+            }
+            if (opA == null || opB == null) {
+                throw new IllegalArgumentException("Operations do not cover the same document");
+            }
+
+            int countA = (Integer) opA;
+            int countB = (Integer) opB;
+            int min;
+            if (countA > 0 && countB > 0) {
+                // retain / retain
+                min = Math.min(countA, countB);
+                aPrime.retain(min);
+                bPrime.retain(min);
+            } else if (countA < 0 && countB < 0) {
+                // 둘 다 같은 구간을 지움 → 변환 결과에는 남기지 않음
+                min = Math.min(-countA, -countB);
+            } else if (countA < 0) {
+                // delete / retain
+                min = Math.min(-countA, countB);
+                aPrime.delete(min);
+            } else {
+                // retain / delete
+                min = Math.min(countA, -countB);
+                bPrime.delete(min);
+            }
+
+            opA = consume(countA, min);
+            opB = consume(countB, min);
+            if (opA == null) {
+                opA = ia < opsA.size() ? opsA.get(ia++) : null;
+            }
+            if (opB == null) {
+                opB = ib < opsB.size() ? opsB.get(ib++) : null;
+            }
+        }
+        return new TextOperation[]{aPrime, bPrime};
+    }
+
+    // retain/delete 에서 min 만큼 쓰고 남은 부분 (다 쓰면 null)
+    private static Integer consume(int count, int min) {
+        int remaining = Math.abs(count) - min;
+        if (remaining == 0) {
+            return null;
+        }
+        return count > 0 ? remaining : -remaining;
+    }
+
+    private static boolean isRetain(Object op) {
+        return op instanceof Integer count && count > 0;
+    }
+
+    private static boolean isInsert(Object op) {
+        return op instanceof String;
+    }
+
+    private static boolean isDelete(Object op) {
+        return op instanceof Integer count && count < 0;
+    }
+
+    @Override
+    public String toString() {
+        return ops.toString();
+    }
+}
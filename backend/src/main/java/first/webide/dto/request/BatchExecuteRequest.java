@@ -0,0 +1,50 @@
+package first.webide.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "일괄 실행 요청 DTO (같은 코드를 여러 입력으로 실행)")
+public class BatchExecuteRequest {
+
+    @Schema(description = "언어 (예: java, python)", example = "python")
+    @NotBlank(message = "실행 가능한 언어가 선택되지 않았습니다.")
+    private String language;
+
+    @Schema(description = "실행할 코드", example = "print(int(input()) * 2)")
+    @NotBlank(message = "코드가 입력되지 않았습니다.")
+    private String code;
+
+    @Schema(description = "파일 이름 (선택)", example = "main.py", nullable = true)
+    private String filename;
+
+    private String version;
+    private List<String> args;
+
+    @Schema(description = "테스트 케이스 목록 (최대 100개)")
+    @NotEmpty(message = "테스트 케이스가 없습니다.")
+    @Size(max = 100, message = "테스트 케이스는 최대 100개까지 가능합니다.")
+    private List<@Valid TestCase> cases;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TestCase {
+
+        @Schema(description = "표준 입력(stdin)", example = "21\n", nullable = true)
+        private String input;
+
+        @Schema(description = "기대 출력 (생략 시 채점하지 않음)", example = "42\n", nullable = true)
+        private String expectedOutput;
+    }
+}
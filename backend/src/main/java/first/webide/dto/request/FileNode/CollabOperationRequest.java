@@ -0,0 +1,24 @@
+package first.webide.dto.request.FileNode;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "공동 편집 연산 메시지 (WebSocket)")
+public class CollabOperationRequest {
+
+    @Schema(description = "메시지 종류", example = "op")
+    private String type;
+
+    @Schema(description = "연산을 만든 시점의 문서 리비전", example = "12")
+    private int revision;
+
+    @Schema(description = "TextOperation (retain: 양수, insert: 문자열, delete: 음수)", example = "[5, \"abc\", -3]")
+    private List<Object> ops;
+}
@@ -1,6 +1,7 @@
 package first.webide.dto.request.Member;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -13,5 +14,6 @@ public class ChangeUsernameRequest {
 
     @NotBlank(message = "입력 값은 필수입니다.")
     @Size(min = 3, max = 15, message = "3 - 15자 이내여야 합니다. ")
+    @Pattern(regexp = "^[^#].*", message = "사용자 이름은 #으로 시작할 수 없습니다.") // 탈퇴 회원 자리 표시용
     private String newUsername;
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package first.webide.dto.request.Member;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -21,5 +22,6 @@ public class SignUpRequest {
 
     @NotBlank(message = "사용자 이름을 입력해주세요.")
     @Size(min = 2, max = 15, message = "사용자 이름은 2자 이상 15자 이하로 입력해주세요.")
+    @Pattern(regexp = "^[^#].*", message = "사용자 이름은 #으로 시작할 수 없습니다.") // 탈퇴 회원 자리 표시용
     private String username;
 }
@@ -0,0 +1,33 @@
+package first.webide.dto.request.Project;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Schema(description = "프로젝트 실행 요청 DTO (코드는 서버에 저장된 파일 트리에서 가져옴)")
+public class RunProjectRequest {
+
+    @Schema(description = "진입점 파일 경로 (프로젝트 루트 기준)", example = "src/Main.java")
+    @NotBlank(message = "진입점 파일이 지정되지 않았습니다.")
+    private String entryPoint;
+
+    @Schema(description = "언어 (생략 시 진입점 확장자로 추론)", example = "java", nullable = true)
+    private String language;
+
+    @Schema(description = "언어 버전 (선택)", nullable = true)
+    private String version;
+
+    private List<String> args;
+
+    @Schema(description = "표준 입력(stdin)", nullable = true)
+    private String input;
+}
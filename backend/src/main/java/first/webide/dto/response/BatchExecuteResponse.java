@@ -0,0 +1,50 @@
+package first.webide.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "일괄 실행 응답 DTO")
+public class BatchExecuteResponse {
+
+    @Schema(description = "전체 케이스 수", example = "20")
+    private int total;
+
+    @Schema(description = "기대 출력과 일치한 케이스 수", example = "18")
+    private int passed;
+
+    @Schema(description = "전체 소요 시간 (밀리초)", example = "1234")
+    private long executionTime;
+
+    private List<CaseResult> results;
+
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "케이스별 실행 결과")
+    public static class CaseResult {
+
+        @Schema(description = "요청 cases 의 인덱스", example = "0")
+        private int index;
+
+        @Schema(description = "실행 성공 여부", example = "true")
+        private boolean success;
+
+        private String output;
+        private String error;
+
+        @Schema(description = "기대 출력 일치 여부 (기대 출력이 없으면 null)", nullable = true)
+        private Boolean passed;
+
+        @Schema(description = "첫 번째로 다른 줄 (불일치 시)", example = "line 2: expected \"42\" but was \"41\"",
+                nullable = true)
+        private String diff;
+
+        private long executionTime;
+    }
+}
@@ -4,8 +4,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "코드 실행 응답 DTO")
 public class CodeExecuteResponse {
 
@@ -21,6 +24,12 @@ public class CodeExecuteResponse {
     @Schema(description = "실행 소요 시간 (밀리초)", example = "123")
     private long executionTime;
 
+    @Schema(description = "출력이 상한을 넘어 잘렸는지 여부", example = "false")
+    private boolean truncated;
+
+    @Schema(description = "컴파일 오류 목록 (실행 전 컴파일 단계에서 실패한 경우)", nullable = true)
+    private List<CompileDiagnostic> diagnostics;
+
     public static CodeExecuteResponse success(String output, long executionTime) {
         return CodeExecuteResponse.builder()
                 .success(true)
@@ -36,4 +45,13 @@ public class CodeExecuteResponse {
                 .executionTime(executionTime)
                 .build();
     }
+
+    public static CodeExecuteResponse compileError(List<CompileDiagnostic> diagnostics, long executionTime) {
+        return CodeExecuteResponse.builder()
+                .success(false)
+                .error(diagnostics.stream().map(CompileDiagnostic::toString).collect(Collectors.joining("\n")))
+                .diagnostics(diagnostics)
+                .executionTime(executionTime)
+                .build();
+    }
 }
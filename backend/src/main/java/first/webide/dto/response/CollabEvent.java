@@ -0,0 +1,49 @@
+package first.webide.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "공동 편집 서버 메시지 (WebSocket)")
+public class CollabEvent {
+
+    @Schema(description = "init: 접속 시 문서, ack: 내 연산 반영됨, op: 다른 사용자 연산, error", example = "op")
+    private String type;
+
+    @Schema(description = "이 메시지 이후의 문서 리비전", example = "13")
+    private Integer revision;
+
+    @Schema(description = "문서 전체 내용 (init)", nullable = true)
+    private String content;
+
+    @Schema(description = "변환된 연산 (op)", nullable = true)
+    private List<Object> ops;
+
+    @Schema(description = "연산을 보낸 사용자 (op)", nullable = true)
+    private String author;
+
+    @Schema(description = "에러 메시지 (error)", nullable = true)
+    private String message;
+
+    public static CollabEvent init(int revision, String content) {
+        return CollabEvent.builder().type("init").revision(revision).content(content).build();
+    }
+
+    public static CollabEvent ack(int revision) {
+        return CollabEvent.builder().type("ack").revision(revision).build();
+    }
+
+    public static CollabEvent operation(int revision, List<Object> ops, String author) {
+        return CollabEvent.builder().type("op").revision(revision).ops(ops).author(author).build();
+    }
+
+    public static CollabEvent error(String message) {
+        return CollabEvent.builder().type("error").message(message).build();
+    }
+}
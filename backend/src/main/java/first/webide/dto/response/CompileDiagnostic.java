@@ -0,0 +1,32 @@
+package first.webide.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "컴파일 오류 정보")
+public class CompileDiagnostic {
+
+    @Schema(description = "오류가 난 파일 이름", example = "Main.java")
+    private String file;
+
+    @Schema(description = "줄 번호 (1부터, 알 수 없으면 -1)", example = "3")
+    private long line;
+
+    @Schema(description = "열 번호 (1부터, 알 수 없으면 -1)", example = "27")
+    private long column;
+
+    @Schema(description = "컴파일러 진단 코드", example = "compiler.err.expected")
+    private String code;
+
+    @Schema(description = "오류 메시지", example = "';' expected")
+    private String message;
+
+    // javac 출력과 같은 형식: "Main.java:3: error: ';' expected"
+    @Override
+    public String toString() {
+        return file + ":" + line + ": error: " + message;
+    }
+}
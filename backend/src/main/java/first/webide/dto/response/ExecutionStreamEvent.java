@@ -0,0 +1,82 @@
+package first.webide.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "스트리밍 실행 이벤트 (SSE data)")
+public class ExecutionStreamEvent {
+
+    @Schema(description = "출력 스트림 (stdout/stderr 이벤트)", example = "stdout", nullable = true)
+    private String stream;
+
+    @Schema(description = "출력 조각", example = "Hello, World!\n", nullable = true)
+    private String data;
+
+    @Schema(description = "종료 단계 (exit 이벤트)", example = "run", nullable = true)
+    private String stage;
+
+    @Schema(description = "프로세스 종료 코드 (exit 이벤트)", example = "0", nullable = true)
+    private Integer code;
+
+    @Schema(description = "종료 신호 (있을 때)", example = "SIGKILL", nullable = true)
+    private String signal;
+
+    @Schema(description = "에러 메시지 (error 이벤트)", nullable = true)
+    private String error;
+
+    @Schema(description = "실행 소요 시간 (밀리초, exit/error 이벤트)", example = "123", nullable = true)
+    private Long executionTime;
+
+    @Schema(description = "출력이 상한을 넘어 실행을 중단했는지 (exit 이벤트)", nullable = true)
+    private Boolean truncated;
+
+    @Schema(description = "컴파일 오류 목록 (stage=compile 인 exit 이벤트)", nullable = true)
+    private List<CompileDiagnostic> diagnostics;
+
+    public static ExecutionStreamEvent output(String stream, String data) {
+        return ExecutionStreamEvent.builder()
+                .stream(stream)
+                .data(data)
+                .build();
+    }
+
+    public static ExecutionStreamEvent exit(String stage, Integer code, String signal, long executionTime) {
+        return ExecutionStreamEvent.builder()
+                .stage(stage)
+                .code(code)
+                .signal(signal)
+                .executionTime(executionTime)
+                .build();
+    }
+
+    public static ExecutionStreamEvent truncated(long executionTime) {
+        return ExecutionStreamEvent.builder()
+                .stage("run")
+                .truncated(true)
+                .executionTime(executionTime)
+                .build();
+    }
+
+    public static ExecutionStreamEvent compileError(List<CompileDiagnostic> diagnostics, long executionTime) {
+        return ExecutionStreamEvent.builder()
+                .stage("compile")
+                .code(1)
+                .diagnostics(diagnostics)
+                .executionTime(executionTime)
+                .build();
+    }
+
+    public static ExecutionStreamEvent error(String error, long executionTime) {
+        return ExecutionStreamEvent.builder()
+                .error(error)
+                .executionTime(executionTime)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package first.webide.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "두 파일 버전의 줄 단위 비교 결과")
+public class FileDiffResponse {
+
+    @Schema(description = "기준 버전", example = "2")
+    private int fromVersion;
+
+    @Schema(description = "비교 버전", example = "5")
+    private int toVersion;
+
+    @Schema(description = "추가된 줄 수", example = "4")
+    private int added;
+
+    @Schema(description = "삭제된 줄 수", example = "1")
+    private int removed;
+
+    @Schema(description = "unified diff 형식 (변경이 없으면 빈 문자열)",
+            example = "--- Main.java@2\n+++ Main.java@5\n@@ -1,1 +1,1 @@\n-a\n+b\n")
+    private String diff;
+}
@@ -49,5 +49,17 @@ public class FileNodeResponse {
                 .build();
     }
 
-
+    // 복사 전 포크: 원본 노드의 내용을 포크 경로 기준으로 보여줌 (포크 쪽 행이 아직 없는 노드는 id 가 null)
+    public static FileNodeResponse mirror(FileNode source, Long id, String name, String path) {
+        return FileNodeResponse.builder()
+                .id(id)
+                .name(name)
+                .path(path)
+                .type(source.getType())
+                .content(source.getContent())
+                .children(source.getChildren().stream()
+                        .map(child -> mirror(child, null, child.getName(), path + "/" + child.getName()))
+                        .toList())
+                .build();
+    }
 }
@@ -0,0 +1,29 @@
+package first.webide.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import first.webide.domain.FileType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "파일 트리 변경 이벤트 (SSE data)")
+public class FileTreeEventResponse {
+
+    @Schema(description = "이벤트 ID (재접속 시 Last-Event-ID 로 전달)", example = "1718000000000-42")
+    private String id;
+
+    @Schema(description = "변경 종류: CREATED, UPDATED, RENAMED, DELETED", example = "RENAMED")
+    private String type;
+
+    @Schema(description = "변경된 노드 경로 (이름 변경이면 새 경로)", example = "/project/src/App.java")
+    private String path;
+
+    @Schema(description = "이름 변경 전 경로 (RENAMED)", example = "/project/src/Main.java", nullable = true)
+    private String oldPath;
+
+    @Schema(description = "노드 종류", example = "FILE")
+    private FileType nodeType;
+}
@@ -0,0 +1,41 @@
+package first.webide.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import first.webide.domain.FileVersion;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "파일 버전 정보")
+public class FileVersionResponse {
+
+    @Schema(description = "버전 번호 (1부터 증가)", example = "3")
+    private int version;
+
+    @Schema(description = "내용 길이 (문자 수)", example = "120")
+    private int length;
+
+    @Schema(description = "저장 시각")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "파일 내용 (단건 조회 시에만 포함)", nullable = true)
+    private String content;
+
+    public static FileVersionResponse from(FileVersion version) {
+        return from(version, null);
+    }
+
+    public static FileVersionResponse from(FileVersion version, String content) {
+        return FileVersionResponse.builder()
+                .version(version.getVersion())
+                .length(version.getLength())
+                .createdAt(version.getCreatedAt())
+                .content(content)
+                .build();
+    }
+}
@@ -39,6 +39,13 @@ public class PistonResponse {
 
         @Schema(description = "전체 출력", example = "Hello, World!\n")
         private String output;
+
+        @Schema(description = "출력 상한을 넘어 stdout/stderr 가 잘렸는지 여부", example = "false")
+        private boolean truncated;
+
+        public RunResult(String stdout, String stderr, int code, String signal, String output) {
+            this(stdout, stderr, code, signal, output, false);
+        }
     }
 }
 
@@ -0,0 +1,22 @@
+package first.webide.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "공개 프로젝트 피드 (커서 기반 페이지)")
+public class ProjectFeedResponse {
+
+    @Schema(description = "프로젝트 목록 (최근 수정순)")
+    private List<ProjectHubResponse> items;
+
+    @Schema(description = "다음 페이지 요청에 cursor 로 넘길 값 (마지막 페이지면 null)", nullable = true)
+    private String nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNext;
+}
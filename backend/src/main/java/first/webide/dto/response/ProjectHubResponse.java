@@ -23,4 +23,15 @@ public class ProjectHubResponse {
         this.createdAt = project.getCreatedAt();
         this.updatedAt = project.getUpdatedAt();
     }
+
+    // JPQL 생성자 표현식용
+    public ProjectHubResponse(Long id, String name, String description, String ownerUsername,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.ownerUsername = ownerUsername;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
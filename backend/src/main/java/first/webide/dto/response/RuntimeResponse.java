@@ -0,0 +1,24 @@
+package first.webide.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "실행 가능한 언어 런타임")
+public class RuntimeResponse {
+
+    @Schema(description = "언어", example = "python")
+    private String language;
+
+    @Schema(description = "버전", example = "3.10.0")
+    private String version;
+
+    @Schema(description = "언어 별칭 (language 대신 사용 가능)", example = "[\"py\", \"python3\"]")
+    private List<String> aliases;
+}
@@ -0,0 +1,22 @@
+package first.webide.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "프로젝트 샤드 이동 결과")
+public class ShardMoveResponse {
+
+    @Schema(description = "프로젝트 ID", example = "42")
+    private Long projectId;
+
+    @Schema(description = "대상 샤드", example = "1")
+    private int target;
+
+    @Schema(description = "옮겼으면 true (이미 그 샤드에 있거나 다른 이동이 진행 중이면 false)")
+    private boolean moved;
+}
@@ -19,6 +19,7 @@ public enum ErrorCode {
     // File
     FILE_NOT_FOUND(HttpStatus.NOT_FOUND, "F001", "File Not Found"),
     FILE_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, "F002", "File Already Exists"),
+    FILE_VERSION_NOT_FOUND(HttpStatus.NOT_FOUND, "F003", "File Version Not Found"),
 
     // Member
     MEMBER_NOT_FOUND(HttpStatus.NOT_FOUND, "M001", "Member not found"),
@@ -31,10 +32,17 @@ public enum ErrorCode {
 
     // Language
     UNSUPPORTED_LANGUAGE(HttpStatus.BAD_REQUEST, "L001", "Unsupported Language"),
+    UNSUPPORTED_VERSION(HttpStatus.BAD_REQUEST, "L002", "Unsupported Language Version"),
+
+    // Execution
+    EXECUTION_QUEUE_FULL(HttpStatus.TOO_MANY_REQUESTS, "E001", "Execution queue is full, retry later"),
 
     // Project
     PROJECT_ROOT_ALREADY_SET(HttpStatus.BAD_REQUEST, "P001", "Project root directory is already set"),
     PROJECT_NOT_FOUND(HttpStatus.NOT_FOUND, "P002", "Project not found"),
+    PROJECT_ARCHIVE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "P003", "Archived project could not be restored"),
+    PROJECT_MOVING(HttpStatus.SERVICE_UNAVAILABLE, "P004", "Project is being moved to another shard, retry shortly"),
+    PROJECT_ARCHIVING(HttpStatus.SERVICE_UNAVAILABLE, "P005", "Project was archived meanwhile, retry shortly"),
     ;
 
     private final HttpStatus status; // 상태코드
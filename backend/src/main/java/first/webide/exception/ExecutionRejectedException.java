@@ -0,0 +1,17 @@
+package first.webide.exception;
+
+import lombok.Getter;
+
+/**
+ * 실행 대기열이 가득 차 요청을 받을 수 없을 때. 응답에 Retry-After 헤더가 붙는다.
+ */
+@Getter
+public class ExecutionRejectedException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public ExecutionRejectedException(long retryAfterSeconds) {
+        super(ErrorCode.EXECUTION_QUEUE_FULL);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,6 +1,7 @@
 package first.webide.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -30,6 +31,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, errorCode.getStatus());
     }
 
+    // 실행 대기열 초과 → 429 + Retry-After
+    @ExceptionHandler(ExecutionRejectedException.class)
+    protected ResponseEntity<ErrorResponse> handleExecutionRejected(ExecutionRejectedException e) {
+        log.warn("handleExecutionRejectedException: retryAfter={}s", e.getRetryAfterSeconds());
+        final ErrorCode errorCode = e.getErrorCode();
+        final ErrorResponse response = ErrorResponse.of(errorCode);
+        return ResponseEntity.status(errorCode.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     // 최상위 예외 처리 (비공개)
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ErrorResponse> handleException(Exception e) {
@@ -1,10 +1,17 @@
 package first.webide.repository;
 
 import first.webide.domain.FileNode;
+import first.webide.domain.FileType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +20,19 @@ public interface FileRepository extends JpaRepository<FileNode,Long> {
 
     Optional<FileNode> findByPath(String path);
 
+    // 트리 쓰기를 프로젝트 단위로 줄 세우는 루트 행 잠금. 트랜잭션에서 그 루트를 처음 읽을 때 써야 최신 상태를 본다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from FileNode f where f.path = :path")
+    Optional<FileNode> lockByPath(@Param("path") String path);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from FileNode f where f.id = :id")
+    Optional<FileNode> lockById(@Param("id") Long id);
+
+    // 복사 전 포크 루트면 원본 루트 경로, 아니면 자기 경로 (엔티티를 읽지 않으므로 뒤의 잠금 조회가 최신 상태를 본다)
+    @Query("select coalesce(s.path, f.path) from FileNode f left join FileNode s on s.id = f.forkSourceId where f.id = :id")
+    Optional<String> findOriginPathById(@Param("id") Long id);
+
     List<FileNode> findByParentOrderByTypeAscNameAsc(FileNode parent);
 
     @Query("select distinct f from FileNode f left join fetch f.children where f.parent is null")
@@ -20,4 +40,35 @@ public interface FileRepository extends JpaRepository<FileNode,Long> {
 
     boolean existsByParentAndName(FileNode parent, String name);
 
+    // 프로젝트 하위 파일 일괄 조회 (prefix 예: "/project/")
+    List<FileNode> findAllByPathStartingWithAndType(String pathPrefix, FileType type);
+
+    // 경로순 정렬이라 부모가 항상 자식보다 먼저 온다
+    List<FileNode> findAllByPathStartingWithOrderByPathAsc(String pathPrefix);
+
+    // 가장 긴 하위 경로 길이 (pattern 은 '!' 로 이스케이프한 LIKE 패턴, 없으면 null)
+    @Query("select max(length(f.path)) from FileNode f where f.path like :pattern escape '!'")
+    Integer findMaxPathLength(@Param("pattern") String pattern);
+
+    // 아직 복사되지 않은 포크 루트들
+    List<FileNode> findAllByForkSourceId(Long forkSourceId);
+
+    // 같은 포크 루트들의 경로만 (하나씩 잠가서 읽기 위해 엔티티로 불러오지 않음)
+    @Query("select f.path from FileNode f where f.forkSourceId = :forkSourceId")
+    List<String> findPathsByForkSourceId(@Param("forkSourceId") Long forkSourceId);
+
+    // 복사 전 포크 관계에 있는 루트 ID (포크 루트와 그 원본 루트 모두)
+    @Query("select f.id from FileNode f where f.forkSourceId is not null " +
+            "union select f.forkSourceId from FileNode f where f.forkSourceId is not null")
+    List<Long> findForkRelatedRootIds();
+
+    // 정리용: 경로 역순이라 자식이 항상 부모보다 먼저 온다 (pattern 은 '!' 로 이스케이프한 LIKE 패턴)
+    @Query("select f.id from FileNode f where f.path like :pattern escape '!' order by f.path desc")
+    List<Long> findIdsByPathLikeOrderByPathDesc(@Param("pattern") String pattern, Pageable pageable);
+
+    // 부모-자식 순서와 관계없이 한 번에 지울 수 있도록 먼저 부모 참조를 끊음
+    @Modifying
+    @Query("update FileNode f set f.parent = null where f.id in :ids")
+    int detachAllByIdIn(@Param("ids") Collection<Long> ids);
+
 }
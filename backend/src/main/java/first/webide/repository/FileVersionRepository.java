@@ -0,0 +1,37 @@
+package first.webide.repository;
+
+import first.webide.domain.FileVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileVersionRepository extends JpaRepository<FileVersion, Long> {
+
+    // 새 버전을 만들기 전에 최신 버전 행을 잠그며 읽는다.
+    // 같은 파일의 동시 저장이 같은 번호를 쓰지 않고, 잠금 읽기라 트랜잭션 스냅샷과 상관없이 최신 커밋을 본다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<FileVersion> findTopByFileIdOrderByVersionDesc(Long fileId);
+
+    Optional<FileVersion> findByFileIdAndVersion(Long fileId, int version);
+
+    List<FileVersion> findAllByFileIdOrderByVersionDesc(Long fileId);
+
+    // 스냅샷부터 대상 버전까지의 체인 (복원용)
+    List<FileVersion> findAllByFileIdAndVersionBetweenOrderByVersionAsc(Long fileId, int from, int to);
+
+    // 프로젝트 보관용: 여러 파일의 이력을 한 번에
+    List<FileVersion> findAllByFileIdInOrderByFileIdAscVersionAsc(Collection<Long> fileIds);
+
+    @Modifying
+    @Query("delete from FileVersion v where v.fileId in :fileIds")
+    int deleteAllByFileIdIn(@Param("fileIds") Collection<Long> fileIds);
+}
@@ -1,7 +1,14 @@
 package first.webide.repository;
 
 import first.webide.domain.Member;
+import first.webide.dto.response.MemberResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 import java.util.Optional;
 
@@ -9,4 +16,18 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    // 회원 정보 조회용 프로젝션 (엔티티와 projects 컬렉션을 올리지 않음)
+    @Query("select new first.webide.dto.response.MemberResponse(m.email, m.username) from Member m where m.email = :email")
+    Optional<MemberResponse> findResponseByEmail(@Param("email") String email);
+
+    // 정리 대상: 탈퇴했고 남은 프로젝트 행이 없는 회원 (@SQLRestriction 을 우회하도록 네이티브 쿼리)
+    @Query(value = "select m.id from member m where m.deleted_at is not null " +
+            "and not exists (select 1 from project p where p.member_id = m.id) " +
+            "order by m.deleted_at limit :limit", nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "delete from member where id in (:ids) and deleted_at is not null", nativeQuery = true)
+    int purgeAllByIdIn(@Param("ids") Collection<Long> ids);
 }
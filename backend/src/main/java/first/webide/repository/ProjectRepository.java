@@ -2,16 +2,153 @@ package first.webide.repository;
 
 import first.webide.domain.Member;
 import first.webide.domain.Project;
+import first.webide.dto.response.ProjectHubResponse;
+import first.webide.dto.response.ProjectResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findAllByMember(Member member);
 
+    // 소유권 확인을 겸한 조회 (PK + member_id 조건 한 번)
+    Optional<Project> findByIdAndMemberId(Long id, Long memberId);
+
+    // 루트 디렉토리 경로로 프로젝트 조회 (파일 API 권한 확인용)
+    Optional<Project> findByRootPath(String rootPath);
+
+    // 루트 경로 선점 확인. 삭제 표시된 프로젝트의 트리도 정리되기 전까지 경로를 차지하므로 네이티브 쿼리
+    @Query(value = "select count(*) from project where root_path = :rootPath", nativeQuery = true)
+    long countByRootPathIncludingDeleted(@Param("rootPath") String rootPath);
+
+    // 루트 디렉토리 이름이 바뀐 경우
+    @Modifying
+    @Query("update Project p set p.rootPath = :newRootPath where p.rootPath = :oldRootPath")
+    int updateRootPath(@Param("oldRootPath") String oldRootPath, @Param("newRootPath") String newRootPath);
+
+    // 조회 응답용 프로젝션: 필요한 컬럼만 읽고 영속성 컨텍스트에 올리지 않음 (스냅샷/더티 체킹 없음)
+    @Query("select new first.webide.dto.response.ProjectResponse(" +
+            "p.id, p.name, p.description, p.isPublic, m.id, m.email, p.rootDirId, p.createdAt, p.updatedAt) " +
+            "from Project p join p.member m " +
+            "where m.email = :email " +
+            "order by p.id")
+    List<ProjectResponse> findResponsesByMemberEmail(@Param("email") String email);
+
+    @Query("select new first.webide.dto.response.ProjectResponse(" +
+            "p.id, p.name, p.description, p.isPublic, m.id, m.email, p.rootDirId, p.createdAt, p.updatedAt) " +
+            "from Project p join p.member m " +
+            "where p.id = :id")
+    Optional<ProjectResponse> findResponseById(@Param("id") Long id);
+
+    // 소유자를 함께 조회 (프로젝트마다 Member 를 따로 읽지 않도록)
+    @EntityGraph(attributePaths = "member")
     Page<Project> findAllByIsPublic(boolean isPublic, Pageable pageable);
+
+    // 공개 허브 피드 첫 페이지 (최근 수정순). pageable 은 개수 제한용 - List 반환이라 COUNT 쿼리 없음
+    @Query("select new first.webide.dto.response.ProjectHubResponse(" +
+            "p.id, p.name, p.description, m.username, p.createdAt, p.updatedAt) " +
+            "from Project p join p.member m " +
+            "where p.isPublic = true " +
+            "order by p.updatedAt desc, p.id desc")
+    List<ProjectHubResponse> findPublicFeed(Pageable pageable);
+
+    // 공개 허브 피드 다음 페이지: (updatedAt, id) 가 커서보다 앞선 행부터 (인덱스 범위 탐색이라 깊은 페이지도 비용이 같음)
+    @Query("select new first.webide.dto.response.ProjectHubResponse(" +
+            "p.id, p.name, p.description, m.username, p.createdAt, p.updatedAt) " +
+            "from Project p join p.member m " +
+            "where p.isPublic = true " +
+            "and (p.updatedAt < :updatedAt or (p.updatedAt = :updatedAt and p.id < :id)) " +
+            "order by p.updatedAt desc, p.id desc")
+    List<ProjectHubResponse> findPublicFeedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    // 회원 탈퇴 시 프로젝트 일괄 삭제 표시
+    @Modifying
+    @Query("update Project p set p.deletedAt = :deletedAt where p.memberId = :memberId and p.deletedAt is null")
+    int markDeletedAllByMemberId(@Param("memberId") Long memberId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // 정리 대상 (삭제 표시된 프로젝트). @SQLRestriction 을 우회하도록 네이티브 쿼리
+    @Query(value = "select id from project where deleted_at is not null order by deleted_at limit :limit",
+            nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    @Query(value = "select root_dir_id from project where id = :id", nativeQuery = true)
+    Long findRootDirIdIncludingDeleted(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "delete from project where id = :id and deleted_at is not null", nativeQuery = true)
+    int purgeById(@Param("id") Long id);
+
+    // 보관 대상: cutoff 이전에 마지막으로 수정된 프로젝트 중 포크 관계가 없는 것 (오래된 순)
+    // 포크 관계는 파일 테이블(샤드)에 있으므로 호출하는 쪽이 해당 루트 ID 를 모아 넘긴다 (비어 있으면 안 됨)
+    @Query("select p.id from Project p " +
+            "where p.archivedAt is null and p.movingToShard is null and p.updatedAt < :cutoff " +
+            "and p.rootDirId not in :forkedRootIds " +
+            "order by p.updatedAt")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff,
+                                 @Param("forkedRootIds") Collection<Long> forkedRootIds,
+                                 Pageable pageable);
+
+    @Query("select p.rootDirId from Project p where p.id = :id and p.archivedAt is not null")
+    Optional<Long> findArchivedRootDirId(@Param("id") Long id);
+
+    // 보관 표시. 그 사이 수정되었거나 이미 보관된 경우 0
+    @Modifying
+    @Query("update Project p set p.archivedAt = :archivedAt " +
+            "where p.id = :id and p.archivedAt is null and p.movingToShard is null and p.updatedAt < :cutoff")
+    int markArchived(@Param("id") Long id, @Param("archivedAt") LocalDateTime archivedAt,
+                     @Param("cutoff") LocalDateTime cutoff);
+
+    // 트리를 보관하지 못했을 때 표시만 되돌림 (수정 시각은 그대로). 그 사이 다른 표시로 바뀌었으면 0
+    @Modifying
+    @Query("update Project p set p.archivedAt = null where p.id = :id and p.archivedAt = :archivedAt")
+    int unmarkArchived(@Param("id") Long id, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // 복원 표시. 다른 요청이 먼저 복원했으면 0 (행 잠금으로 한 요청만 복원)
+    @Modifying
+    @Query("update Project p set p.archivedAt = null, p.updatedAt = :now where p.id = :id and p.archivedAt is not null")
+    int clearArchived(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 파일 쓰기 시 마지막 수정 시각 갱신 (보관 대상 판단용)
+    @Modifying
+    @Query("update Project p set p.updatedAt = :now where p.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 샤드 맵 조회. 삭제 표시된 프로젝트도 정리 작업이 찾아야 하므로 네이티브 쿼리
+    @Query(value = "select shard_id as shardId, moving_to_shard as movingToShard from project where id = :id",
+            nativeQuery = true)
+    Optional<ShardPlacement> findShardPlacement(@Param("id") Long id);
+
+    // 다른 샤드로 옮기기 시작. 이미 옮기는 중이거나 같은 샤드면 0
+    @Modifying
+    @Query("update Project p set p.movingToShard = :target " +
+            "where p.id = :id and p.movingToShard is null and p.shardId <> :target")
+    int beginMove(@Param("id") Long id, @Param("target") int target);
+
+    @Modifying
+    @Query("update Project p set p.shardId = p.movingToShard, p.movingToShard = null " +
+            "where p.id = :id and p.movingToShard = :target")
+    int completeMove(@Param("id") Long id, @Param("target") int target);
+
+    @Modifying
+    @Query("update Project p set p.movingToShard = null where p.id = :id")
+    int abortMove(@Param("id") Long id);
+
+    interface ShardPlacement {
+        int getShardId();
+
+        Integer getMovingToShard();
+    }
 }
@@ -0,0 +1,18 @@
+package first.webide.service;
+
+import java.util.Optional;
+
+/**
+ * 보관한 프로젝트 파일 트리를 두는 저장소 (key → 압축된 바이트).
+ * 기본 구현은 로컬 디스크(LocalArchiveStore). 오브젝트 스토리지로 옮길 때는 이 인터페이스만 구현하면 된다.
+ */
+public interface ArchiveStore {
+
+    // 같은 key 가 있으면 덮어쓴다
+    void put(String key, byte[] data);
+
+    Optional<byte[]> get(String key);
+
+    // 없으면 아무것도 하지 않음
+    void delete(String key);
+}
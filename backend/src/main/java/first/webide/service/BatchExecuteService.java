@@ -0,0 +1,146 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.dto.request.BatchExecuteRequest;
+import first.webide.dto.request.PistonRequest.FileEntry;
+import first.webide.dto.response.BatchExecuteResponse;
+import first.webide.dto.response.BatchExecuteResponse.CaseResult;
+import first.webide.dto.response.CodeExecuteResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 하나의 프로그램을 여러 입력으로 실행한다.
+ * 배치마다 maxParallelism 개의 워커가 남은 케이스를 하나씩 가져가 실행하고,
+ * 워커 스레드는 모든 배치가 공유하는 고정 크기 풀에서 나온다.
+ * 요청 스레드는 호출한 쪽에서 받은 실행 자리 하나로 돌고, 보조 워커는 케이스마다 ExecutionScheduler 의
+ * 빈 자리를 따로 얻어야 실행한다. (빈 자리가 없으면 그만두므로 전역 동시 실행 상한을 넘지 않는다)
+ */
+@Slf4j
+@Service
+public class BatchExecuteService {
+
+    private final CodeExecuteService codeExecuteService;
+    private final ExecutionScheduler executionScheduler;
+    private final ExecutionProperties.Batch config;
+    private final ExecutorService workers;
+
+    public BatchExecuteService(CodeExecuteService codeExecuteService, ExecutionScheduler executionScheduler,
+                               ExecutionProperties executionProperties) {
+        this.codeExecuteService = codeExecuteService;
+        this.executionScheduler = executionScheduler;
+        this.config = executionProperties.getBatch();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(config.getPoolSize(), runnable -> {
+            Thread thread = new Thread(runnable, "batch-exec-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public BatchExecuteResponse execute(BatchExecuteRequest request) {
+        long startTime = System.currentTimeMillis();
+        List<FileEntry> files = List.of(FileEntry.builder()
+                .name(request.getFilename() == null || request.getFilename().isBlank()
+                        ? CodeExecuteServiceImpl.getDefaultFileName(request.getLanguage())
+                        : request.getFilename())
+                .content(request.getCode())
+                .build());
+
+        List<BatchExecuteRequest.TestCase> cases = request.getCases();
+        CaseResult[] results = new CaseResult[cases.size()];
+        AtomicInteger nextCase = new AtomicInteger();
+        Runnable worker = () -> {
+            int index;
+            while ((index = nextCase.getAndIncrement()) < cases.size()) {
+                results[index] = runCase(request, files, index, cases.get(index));
+            }
+        };
+        Runnable helperWorker = () -> {
+            while (nextCase.get() < cases.size()) {
+                ExecutionScheduler.Permit permit = executionScheduler.tryAcquire();
+                if (permit == null) {
+                    return; // 남은 케이스는 요청 스레드가
+                }
+                try {
+                    int index = nextCase.getAndIncrement();
+                    if (index < cases.size()) {
+                        results[index] = runCase(request, files, index, cases.get(index));
+                    }
+                } finally {
+                    permit.release();
+                }
+            }
+        };
+
+        // 호출 스레드도 워커로 참여하므로 풀이 바쁘거나 빈 자리가 없어도 배치는 계속 진행된다
+        int parallelism = Math.min(config.getMaxParallelism(), cases.size());
+        List<Future<?>> helpers = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            helpers.add(workers.submit(helperWorker));
+        }
+        worker.run();
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (Exception e) {
+                log.warn("Batch worker failed", e);
+            }
+        }
+
+        int passed = (int) Arrays.stream(results)
+                .filter(result -> Boolean.TRUE.equals(result.getPassed()))
+                .count();
+        return BatchExecuteResponse.builder()
+                .total(results.length)
+                .passed(passed)
+                .executionTime(System.currentTimeMillis() - startTime)
+                .results(List.of(results))
+                .build();
+    }
+
+    // 실행 중 예외가 나도 그 케이스만 실패로 기록한다 (결과 칸이 비지 않도록)
+    private CaseResult runCase(BatchExecuteRequest request, List<FileEntry> files,
+                               int index, BatchExecuteRequest.TestCase testCase) {
+        CodeExecuteResponse response;
+        try {
+            response = codeExecuteService.execute(
+                    request.getLanguage(), request.getVersion(), files, request.getArgs(), testCase.getInput());
+        } catch (RuntimeException e) {
+            log.warn("Batch case {} failed", index, e);
+            response = CodeExecuteResponse.failure("ERROR = " + e.getMessage(), 0);
+        }
+
+        Boolean passed = null;
+        String diff = null;
+        if (testCase.getExpectedOutput() != null) {
+            diff = response.isSuccess()
+                    ? OutputDiff.firstDifference(testCase.getExpectedOutput(), response.getOutput())
+                    : "execution failed";
+            passed = diff == null;
+        }
+        return CaseResult.builder()
+                .index(index)
+                .success(response.isSuccess())
+                .output(response.getOutput())
+                .error(response.getError())
+                .passed(passed)
+                .diff(diff)
+                .executionTime(response.getExecutionTime())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+}
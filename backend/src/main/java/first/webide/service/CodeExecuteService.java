@@ -1,8 +1,19 @@
 package first.webide.service;
 
 import first.webide.dto.request.CodeExecuteRequest;
+import first.webide.dto.request.PistonRequest.FileEntry;
 import first.webide.dto.response.CodeExecuteResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 public interface CodeExecuteService {
     CodeExecuteResponse execute(CodeExecuteRequest request);
+
+    // 여러 파일로 구성된 프로그램 실행 (첫 번째 파일이 진입점)
+    CodeExecuteResponse execute(String language, String version, List<FileEntry> files,
+                                List<String> args, String stdin);
+
+    // stdout/stderr 조각을 생성되는 대로 push 하고 exit 이벤트로 종료
+    SseEmitter executeStream(CodeExecuteRequest request);
 }
@@ -1,15 +1,26 @@
 package first.webide.service;
 
+import first.webide.api.BoundedOutputBuffer;
 import first.webide.api.PistonApiClient;
+import first.webide.api.PistonStreamClient;
+import first.webide.config.ExecutionProperties;
 import first.webide.dto.request.CodeExecuteRequest;
 import first.webide.dto.request.PistonRequest;
 import first.webide.dto.response.CodeExecuteResponse;
+import first.webide.dto.response.CompileDiagnostic;
+import first.webide.dto.response.ExecutionStreamEvent;
 import first.webide.dto.response.PistonResponse;
-import first.webide.exception.BusinessException;
-import first.webide.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -17,46 +28,68 @@ import java.util.Set;
 import static first.webide.dto.request.PistonRequest.*;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CodeExecuteServiceImpl implements CodeExecuteService {
 
     private final PistonApiClient pistonApiClient;
-    private static final Set<String> SUPPORTED_LANGUAGES = Set.of("java", "python", "javascript", "c", "cpp");
+    private final PistonStreamClient pistonStreamClient;
+    private final JavaCompileChecker javaCompileChecker;
+    private final ExecutionProperties executionProperties;
+    private final RuntimeCatalog runtimeCatalog;
+    // 에디터가 지원하는 언어. 런타임 카탈로그를 받기 전의 허용 목록이자 워밍업 대상
+    static final Set<String> SUPPORTED_LANGUAGES = Set.of("java", "python", "javascript", "c", "cpp");
+    private static final long STREAM_TIMEOUT_MS = 60_000L;
+
+    private final SingleFlight<String, PistonResponse> inFlight = new SingleFlight<>();
 
 
     public CodeExecuteResponse execute(CodeExecuteRequest request) {
-        if (!SUPPORTED_LANGUAGES.contains(request.getLanguage().toLowerCase())) {
-            throw new BusinessException(ErrorCode.UNSUPPORTED_LANGUAGE);
-        }
-        long startTime = System.currentTimeMillis();
+        return run(buildPistonRequest(request));
+    }
 
-        try {
-            // 파일 이름 지정
-            List<FileEntry> files = getFiles(request);
+    @Override
+    public CodeExecuteResponse execute(String language, String version, List<FileEntry> files,
+                                       List<String> args, String stdin) {
+        return run(PistonRequest.builder()
+                .language(language)
+                .files(files)
+                .args(args)
+                .stdin(stdin)
+                .version(runtimeCatalog.resolveVersion(language, version))
+                .build());
+    }
 
-            PistonRequest pistonRequest = PistonRequest.builder()
-                    .language(request.getLanguage())
-                    .files(files)
-                    .args(request.getArgs())
-                    .stdin(request.getInput())
-                    .version(request.getVersion())
-                    .build();
+    private CodeExecuteResponse run(PistonRequest pistonRequest) {
+        long startTime = System.currentTimeMillis();
 
-            PistonResponse response = pistonApiClient.executeCode(pistonRequest);
+        // Java 는 서버에서 먼저 컴파일해 보고, 오류가 있으면 엔진을 부르지 않음
+        List<CompileDiagnostic> diagnostics = compileCheck(pistonRequest);
+        if (!diagnostics.isEmpty()) {
+            return CodeExecuteResponse.compileError(diagnostics, System.currentTimeMillis() - startTime);
+        }
+
+        try {
+            // 같은 코드가 동시에 여러 번 실행되면(수업 중 동시 Run 등) 엔진에는 한 번만 보내고 결과를 나눠 받음
+            PistonResponse response = inFlight.execute(executionKey(pistonRequest),
+                    () -> pistonApiClient.executeCode(pistonRequest));
 
             // response 변환
             PistonResponse.RunResult run = response.getRun();
             long executionTime = System.currentTimeMillis() - startTime;
 
+            CodeExecuteResponse result;
             if (run.getCode() != 0){
                 String errMsg = run.getStderr() != null && !run.getStderr().isEmpty()
                         ? run.getStderr()
                         : "Unknown error (exit code " + run.getCode() + ")";
-                return CodeExecuteResponse.failure(errMsg,  executionTime);
+                result = CodeExecuteResponse.failure(errMsg,  executionTime);
+            } else {
+                result = CodeExecuteResponse.success(run.getStdout(), executionTime);
             }
 
-            return CodeExecuteResponse.success(run.getStdout(),  executionTime);
+            return run.isTruncated() ? result.toBuilder().truncated(true).build() : result;
 
         } catch (Exception e) {
             long executionTime = System.currentTimeMillis() - startTime;
@@ -66,6 +99,152 @@ public class CodeExecuteServiceImpl implements CodeExecuteService {
 
     }
 
+    @Override
+    public SseEmitter executeStream(CodeExecuteRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        PistonRequest pistonRequest = buildPistonRequest(request);
+
+        List<CompileDiagnostic> diagnostics = compileCheck(pistonRequest);
+        if (!diagnostics.isEmpty()) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("exit")
+                        .data(ExecutionStreamEvent.compileError(diagnostics, System.currentTimeMillis() - startTime),
+                                MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+            return emitter;
+        }
+
+        long maxOutputBytes = executionProperties.getOutput().getMaxSize().toBytes();
+
+        PistonStreamClient.Session session = pistonStreamClient.connect(pistonRequest, new PistonStreamClient.Listener() {
+            // 콜백은 한 번에 하나씩만 호출되므로 동기화 불필요
+            private long sentBytes;
+            private boolean truncated;
+
+            @Override
+            public void onOutput(String stream, String data) throws IOException {
+                if (truncated) {
+                    return;
+                }
+                String chunk = data;
+                long size = data.getBytes(StandardCharsets.UTF_8).length;
+                if (sentBytes + size > maxOutputBytes) {
+                    // 상한까지만 보내고 실행을 끝냄 (무한 출력 방지)
+                    BoundedOutputBuffer rest = new BoundedOutputBuffer(maxOutputBytes - sentBytes);
+                    rest.write(data);
+                    chunk = rest.getContent() + BoundedOutputBuffer.truncationMarker(maxOutputBytes);
+                    truncated = true;
+                }
+                sentBytes += size;
+
+                // 전송이 끝날 때까지 블로킹 → 다음 조각 수신이 늦춰짐 (backpressure)
+                emitter.send(SseEmitter.event()
+                        .name(stream)
+                        .data(ExecutionStreamEvent.output(stream, chunk), MediaType.APPLICATION_JSON));
+
+                if (truncated) {
+                    emitter.send(SseEmitter.event()
+                            .name("exit")
+                            .data(ExecutionStreamEvent.truncated(System.currentTimeMillis() - startTime),
+                                    MediaType.APPLICATION_JSON));
+                    emitter.complete(); // onCompletion → session.cancel() 로 원격 실행 종료
+                }
+            }
+
+            @Override
+            public void onExit(String stage, Integer code, String signal) throws IOException {
+                if (truncated) {
+                    return; // 이미 종료 이벤트를 보냄
+                }
+                long executionTime = System.currentTimeMillis() - startTime;
+                emitter.send(SseEmitter.event()
+                        .name("exit")
+                        .data(ExecutionStreamEvent.exit(stage, code, signal, executionTime), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                long executionTime = System.currentTimeMillis() - startTime;
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name("error")
+                            .data(ExecutionStreamEvent.error("ERROR = " + error.getMessage(), executionTime),
+                                    MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (Exception e) {
+                    // 클라이언트가 이미 연결을 끊은 경우
+                    log.debug("Failed to deliver stream error event", e);
+                    emitter.completeWithError(error);
+                }
+            }
+        });
+
+        // 브라우저 연결 종료/타임아웃 시 원격 실행도 함께 정리
+        emitter.onCompletion(session::cancel);
+        emitter.onTimeout(session::cancel);
+        emitter.onError(e -> session.cancel());
+        return emitter;
+    }
+
+    // 같은 실행으로 보는 조건: 언어, 버전, 파일(줄바꿈/끝 공백 정규화), stdin, args
+    private static String executionKey(PistonRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, request.getLanguage());
+            update(digest, request.getVersion());
+            if (request.getFiles() != null) {
+                for (FileEntry file : request.getFiles()) {
+                    update(digest, file.getName());
+                    update(digest, file.getContent() == null ? null
+                            : file.getContent().replace("\r\n", "\n").stripTrailing());
+                }
+            }
+            update(digest, request.getStdin());
+            if (request.getArgs() != null) {
+                request.getArgs().forEach(arg -> update(digest, arg));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 1);
+            return;
+        }
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private List<CompileDiagnostic> compileCheck(PistonRequest pistonRequest) {
+        if (!"java".equalsIgnoreCase(pistonRequest.getLanguage()) || pistonRequest.getFiles() == null) {
+            return List.of();
+        }
+        return javaCompileChecker.check(pistonRequest.getFiles(), pistonRequest.getVersion());
+    }
+
+    private PistonRequest buildPistonRequest(CodeExecuteRequest request) {
+        // 파일 이름 지정
+        List<FileEntry> files = getFiles(request);
+
+        return PistonRequest.builder()
+                .language(request.getLanguage())
+                .files(files)
+                .args(request.getArgs())
+                .stdin(request.getInput())
+                .version(runtimeCatalog.resolveVersion(request.getLanguage(), request.getVersion()))
+                .build();
+    }
+
     private List<FileEntry> getFiles(CodeExecuteRequest request) {
         String filename = request.getFilename();
         if (filename == null || filename.isBlank()) {
@@ -80,7 +259,7 @@ public class CodeExecuteServiceImpl implements CodeExecuteService {
 
 
     // 스트링보단 이넘타입으로 관리
-    private String getDefaultFileName(String language) {
+    static String getDefaultFileName(String language) {
         return switch (language.toLowerCase()) {
             case "java" -> "Main.java";
             case "python" -> "main.py";
@@ -0,0 +1,130 @@
+package first.webide.service;
+
+import first.webide.domain.TextOperation;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 한 파일의 공동 편집 상태 (서버 쪽 OT 문서).
+ * 클라이언트는 자신이 본 리비전과 함께 연산을 보내고, 서버는 그 이후에 반영된 연산들에 대해
+ * 변환(transform)한 뒤 적용한다. 최근 MAX_HISTORY 개의 연산만 보관하며,
+ * 그보다 오래된 리비전 기준의 연산은 받지 않는다(클라이언트가 다시 접속해 동기화).
+ * 모든 메서드는 호출하는 쪽에서 이 객체로 동기화한다. (저장 순서는 persistLock 으로 별도 보장)
+ */
+class CollabDocument {
+
+    static final int MAX_HISTORY = 1000;
+
+    private final Long projectId; // 저장할 샤드를 찾을 때
+    private final String path;
+    private String content;
+    private int revision;
+    private final List<TextOperation> history = new ArrayList<>();
+    private final Map<String, WebSocketSession> sessions = new LinkedHashMap<>();
+    // 마지막으로 저장하도록 내보낸 리비전 (-1 이면 다음 flush 때 다시 저장)
+    private int snapshotRevision;
+    private boolean closed;
+
+    // 저장은 문서 잠금 밖에서 하되, 늦게 끝난 옛 스냅샷이 새 내용을 덮지 않도록 순서를 맞춘다
+    final Object persistLock = new Object();
+    int savedRevision; // persistLock 으로 보호
+    // 닫힌 문서의 마지막 저장이 끝나 맵에서 빠지면 열린다 (그 사이 들어온 참여자는 기다렸다가 DB 에서 다시 읽음)
+    final CountDownLatch released = new CountDownLatch(1);
+    // 저장할 파일. 복사 전 포크면 첫 저장(경로로 저장하며 포크를 복사) 전까지 null. persistLock 으로 보호
+    Long fileId;
+    // 마지막으로 이력을 남기며 저장한 시각. persistLock 으로 보호
+    long versionedAt = System.currentTimeMillis();
+
+    CollabDocument(Long fileId, Long projectId, String path, String content) {
+        this.fileId = fileId;
+        this.projectId = projectId;
+        this.path = path;
+        this.content = content == null ? "" : content;
+    }
+
+    /**
+     * @return 적용된(변환된) 연산
+     * @throws StaleRevisionException clientRevision 이 보관 범위를 벗어난 경우
+     */
+    TextOperation receive(int clientRevision, TextOperation operation) {
+        int oldest = revision - history.size();
+        if (clientRevision < oldest || clientRevision > revision) {
+            throw new StaleRevisionException();
+        }
+        for (TextOperation concurrent : history.subList(clientRevision - oldest, history.size())) {
+            operation = TextOperation.transform(operation, concurrent)[0];
+        }
+        content = operation.apply(content);
+        history.add(operation);
+        revision++;
+        if (history.size() > MAX_HISTORY * 2) {
+            history.subList(0, history.size() - MAX_HISTORY).clear();
+        }
+        return operation;
+    }
+
+    // 마지막 스냅샷 이후 바뀐 내용이 있으면 돌려준다
+    Snapshot snapshotIfChanged() {
+        if (revision == snapshotRevision) {
+            return null;
+        }
+        snapshotRevision = revision;
+        return new Snapshot(content, revision);
+    }
+
+    // 저장 실패 시 다음 flush 에서 다시 시도
+    void markUnsaved() {
+        snapshotRevision = -1;
+    }
+
+    void addSession(WebSocketSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    void removeSession(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    Collection<WebSocketSession> getSessions() {
+        return sessions.values();
+    }
+
+    Long getProjectId() {
+        return projectId;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    String getContent() {
+        return content;
+    }
+
+    int getRevision() {
+        return revision;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    record Snapshot(String content, int revision) {
+    }
+
+    static class StaleRevisionException extends RuntimeException {
+        StaleRevisionException() {
+            super("Revision is too old, reload the document");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package first.webide.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import first.webide.domain.FileNode;
+import first.webide.domain.TextOperation;
+import first.webide.dto.request.FileNode.CollabOperationRequest;
+import first.webide.dto.response.CollabEvent;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파일 단위 공동 편집.
+ * - 파일마다 메모리에 OT 문서 하나를 두고, 받은 연산을 변환/적용한 뒤 다른 참여자에게 전달
+ * - 내용은 키 입력마다가 아니라 collab.flush-interval 주기와 마지막 참여자가 나갈 때 저장
+ * - 주기 저장은 collab.version-interval 마다 한 번만 이력을 남기고, 마지막 참여자가 나갈 때는 항상 남긴다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollabService {
+
+    private final FileService fileService;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${collab.version-interval:PT5M}")
+    private Duration versionInterval;
+
+    private final ConcurrentHashMap<DocumentKey, CollabDocument> documents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Participant> participants = new ConcurrentHashMap<>();
+
+    /**
+     * @param session   여러 스레드에서 보낼 수 있도록 감싼 세션 (ConcurrentWebSocketSessionDecorator)
+     * @param projectId 권한 확인(ProjectAccessService)에서 받은 파일의 프로젝트
+     */
+    public void join(WebSocketSession session, Long projectId, String path, String user) {
+        DocumentKey pathKey = new DocumentKey(null, path);
+        while (true) {
+            FileNode file = shardRouter.read(projectId, () -> fileService.getFile(path));
+            // 복사 전 포크면 원본 파일이 온다 → 포크 쪽 파일이 생길 때까지 경로로 문서를 찾고, 첫 저장 때 경로로 저장해 복사
+            Long fileId = file.getPath().equals(path) ? file.getId() : null;
+            DocumentKey key = documents.containsKey(pathKey) || fileId == null ? pathKey : new DocumentKey(fileId, null);
+            CollabDocument document = documents.computeIfAbsent(key,
+                    k -> new CollabDocument(fileId, projectId, path, file.getContent()));
+            synchronized (document) {
+                if (!document.isClosed()) {
+                    participants.put(session.getId(), new Participant(session, user, document, key));
+                    document.addSession(session);
+                    send(session, CollabEvent.init(document.getRevision(), document.getContent()));
+                    return;
+                }
+            }
+            // 마지막 참여자가 막 나가면서 닫은 문서 → 그 저장이 끝날 때까지 기다렸다가 DB 에서 다시 읽어 새로 연다
+            awaitReleased(document);
+        }
+    }
+
+    public void receive(String sessionId, CollabOperationRequest request) {
+        Participant participant = participants.get(sessionId);
+        if (participant == null) {
+            return;
+        }
+        CollabDocument document = participant.document();
+        try {
+            TextOperation operation = TextOperation.fromJson(request.getOps());
+            // 적용과 전달을 같은 잠금 안에서 해야 모든 참여자가 같은 순서로 연산을 받는다
+            synchronized (document) {
+                TextOperation applied = document.receive(request.getRevision(), operation);
+                String broadcast = toJson(CollabEvent.operation(
+                        document.getRevision(), applied.toJson(), participant.user()));
+                String ack = toJson(CollabEvent.ack(document.getRevision()));
+                for (WebSocketSession session : document.getSessions()) {
+                    send(session, session.getId().equals(sessionId) ? ack : broadcast);
+                }
+            }
+        } catch (CollabDocument.StaleRevisionException | IllegalArgumentException e) {
+            // 클라이언트 상태가 서버와 어긋남 → 다시 접속해 init 부터 받도록 끊는다
+            send(participant.session(), toJson(CollabEvent.error(e.getMessage())));
+            close(participant.session(), CloseStatus.NOT_ACCEPTABLE.withReason("resync"));
+        }
+    }
+
+    public void leave(String sessionId) {
+        Participant participant = participants.remove(sessionId);
+        if (participant == null) {
+            return;
+        }
+        CollabDocument document = participant.document();
+        CollabDocument.Snapshot snapshot;
+        synchronized (document) {
+            document.removeSession(sessionId);
+            if (!document.getSessions().isEmpty()) {
+                return;
+            }
+            document.close();
+            snapshot = document.snapshotIfChanged();
+        }
+        // 저장이 끝날 때까지 맵에 남겨 두어, 그 사이 들어온 참여자가 저장 전 내용을 DB 에서 읽지 않게 한다
+        try {
+            if (snapshot != null) {
+                persist(document, snapshot, true);
+            }
+        } finally {
+            documents.remove(participant.key(), document);
+            document.released.countDown();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${collab.flush-interval:PT5S}")
+    public void flush() {
+        for (CollabDocument document : documents.values()) {
+            CollabDocument.Snapshot snapshot;
+            synchronized (document) {
+                snapshot = document.snapshotIfChanged();
+            }
+            if (snapshot != null) {
+                persist(document, snapshot, false);
+            }
+        }
+    }
+
+    private void persist(CollabDocument document, CollabDocument.Snapshot snapshot, boolean last) {
+        synchronized (document.persistLock) {
+            if (snapshot.revision() <= document.savedRevision) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            boolean recordVersion = last || now - document.versionedAt >= versionInterval.toMillis();
+            try {
+                Long fileId = document.fileId;
+                FileNode saved;
+                if (fileId != null) {
+                    // 이름이 바뀌었을 수 있으므로 경로는 저장 트랜잭션 전에 따로 찾는다
+                    String path = shardRouter.read(document.getProjectId(), () -> fileService.getPath(fileId));
+                    saved = shardRouter.write(document.getProjectId(),
+                            () -> fileService.updateContent(fileId, path, snapshot.content(), recordVersion));
+                } else {
+                    saved = shardRouter.write(document.getProjectId(),
+                            () -> fileService.updateContent(document.getPath(), snapshot.content(), recordVersion));
+                }
+                document.fileId = saved.getId();
+                document.savedRevision = snapshot.revision();
+                if (recordVersion) {
+                    document.versionedAt = now;
+                }
+            } catch (BusinessException e) {
+                if (e.getErrorCode() == ErrorCode.FILE_NOT_FOUND) {
+                    closeAll(document, CloseStatus.GOING_AWAY.withReason("file deleted"));
+                    return;
+                }
+                retryLater(document, e);
+            } catch (RuntimeException e) {
+                retryLater(document, e);
+            }
+        }
+    }
+
+    private void awaitReleased(CollabDocument document) {
+        try {
+            document.released.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a closing document", e);
+        }
+    }
+
+    private void retryLater(CollabDocument document, RuntimeException e) {
+        log.warn("Failed to persist collaborative document {}", document.getPath(), e);
+        synchronized (document) {
+            document.markUnsaved();
+        }
+    }
+
+    private void closeAll(CollabDocument document, CloseStatus status) {
+        List<WebSocketSession> sessions;
+        synchronized (document) {
+            sessions = List.copyOf(document.getSessions());
+        }
+        sessions.forEach(session -> close(session, status));
+    }
+
+    public int getOpenDocumentCount() {
+        return documents.size();
+    }
+
+    private void send(WebSocketSession session, CollabEvent event) {
+        send(session, toJson(event));
+    }
+
+    private void send(WebSocketSession session, String payload) {
+        try {
+            session.sendMessage(new TextMessage(payload));
+        } catch (IOException | RuntimeException e) {
+            // 느리거나 끊긴 클라이언트 (버퍼 한도 초과 시 데코레이터가 세션을 닫음)
+            log.debug("Failed to send collaborative edit message to {}", session.getId(), e);
+        }
+    }
+
+    private void close(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close session {}", session.getId(), e);
+        }
+    }
+
+    private String toJson(CollabEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Participant(WebSocketSession session, String user, CollabDocument document, DocumentKey key) {
+    }
+
+    // 파일 id, 또는 (복사 전 포크라 포크 쪽 파일이 없으면) 경로
+    private record DocumentKey(Long fileId, String path) {
+    }
+}
@@ -0,0 +1,127 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.repository.FileRepository;
+import first.webide.repository.FileVersionRepository;
+import first.webide.repository.MemberRepository;
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 삭제 표시된 프로젝트와 탈퇴한 회원을 실제로 지운다.
+ * 요청 스레드는 deleted_at 만 기록하고, 여기서 purge.batch-size 행씩 짧은 트랜잭션으로 나눠 지워
+ * 큰 트리를 지우더라도 락을 오래 잡거나 요청이 느려지지 않게 한다.
+ * - 프로젝트: 트리를 읽는 복사 전 포크를 배치마다 하나씩 복사한 뒤, 파일 트리를 자식부터 지우고,
+ *   루트까지 지우면 프로젝트 행 삭제
+ * - 회원: 남은 프로젝트가 모두 지워진 뒤 삭제
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeletionPurgeService {
+
+    private final ProjectRepository projectRepository;
+    private final MemberRepository memberRepository;
+    private final FileRepository fileRepository;
+    private final FileVersionRepository fileVersionRepository;
+    private final ProjectForkService projectForkService;
+    private final ProjectSourceCache projectSourceCache;
+    private final ArchiveStore archiveStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purge.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${purge.interval:PT10S}")
+    public void purge() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (purgeBatch() == 0) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purge of deleted rows failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 한 배치를 한 트랜잭션으로 지운다. 프로젝트가 남아 있으면 프로젝트부터, 없으면 회원.
+     *
+     * @return 지우거나 (포크로) 복사한 행 수 (0 이면 더 지울 것이 없음)
+     */
+    public int purgeBatch() {
+        Integer removed = transactionTemplate.execute(status -> {
+            List<Long> projectIds = projectRepository.findDeletedIds(1);
+            if (!projectIds.isEmpty()) {
+                return purgeProject(projectIds.get(0));
+            }
+            List<Long> memberIds = memberRepository.findPurgeableIds(batchSize);
+            return memberIds.isEmpty() ? 0 : memberRepository.purgeAllByIdIn(memberIds);
+        });
+        return removed == null ? 0 : removed;
+    }
+
+    private int purgeProject(Long projectId) {
+        Long rootDirId = projectRepository.findRootDirIdIncludingDeleted(projectId);
+        // 파일 트리는 프로젝트의 샤드에서 (샤딩 시 별도 트랜잭션)
+        TreePurge step = rootDirId == null
+                ? TreePurge.FINISHED
+                : shardRouter.write(projectId, () -> purgeTree(rootDirId));
+        if (!step.finished()) {
+            return step.removed();
+        }
+        archiveStore.delete(ProjectArchiveService.keyOf(projectId)); // 보관된 채로 삭제된 경우
+        log.debug("Purged project {}", projectId);
+        return step.removed() + projectRepository.purgeById(projectId);
+    }
+
+    // 하위 노드를 한 배치 지우고, 더 없으면 루트까지 지운다
+    private TreePurge purgeTree(Long rootDirId) {
+        FileNode root = fileRepository.findById(rootDirId).orElse(null);
+        if (root == null) {
+            return TreePurge.FINISHED;
+        }
+        // 이 트리를 참조하는 복사 전 포크는 원본 행을 지우기 전에 복사. 한 트랜잭션에 하나씩만
+        int copied = projectForkService.materializeNextFork(root.getPath());
+        if (copied > 0) {
+            return new TreePurge(copied, false);
+        }
+
+        List<Long> ids = fileRepository.findIdsByPathLikeOrderByPathDesc(
+                escapeLike(root.getPath()) + "/%", PageRequest.of(0, batchSize));
+        if (!ids.isEmpty()) {
+            return new TreePurge(deleteNodes(ids), false);
+        }
+        int removed = deleteNodes(List.of(root.getId()));
+        projectSourceCache.evict(root.getPath());
+        return new TreePurge(removed, true);
+    }
+
+    private int deleteNodes(List<Long> ids) {
+        fileVersionRepository.deleteAllByFileIdIn(ids);
+        fileRepository.detachAllByIdIn(ids);
+        fileRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private record TreePurge(int removed, boolean finished) {
+        static final TreePurge FINISHED = new TreePurge(0, true);
+    }
+}
@@ -0,0 +1,202 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.exception.ExecutionRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 코드 실행 입장 제어.
+ * - 전역 동시 실행 수를 maxConcurrent 로 제한
+ * - 자리가 없으면 클라이언트(회원 / 비회원은 IP)별 대기열에 넣고, 자리가 날 때마다
+ *   클라이언트를 라운드로빈으로 돌며 하나씩 입장시킨다. (한 사용자가 Run 을 연타해도
+ *   다른 사용자의 차례를 밀어내지 못함)
+ * - 대기열이 가득 찼거나 maxWait 안에 차례가 오지 않으면 Retry-After 와 함께 거절
+ */
+@Slf4j
+@Component
+public class ExecutionScheduler {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final ExecutionProperties.Scheduler config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ArrayDeque<Ticket>> waiting = new HashMap<>();
+    private final ArrayDeque<String> turns = new ArrayDeque<>(); // 대기 중인 클라이언트의 입장 순서
+    private int running;
+    private int queued;
+
+    // 최근 실행 시간의 지수이동평균 (Retry-After 추정용)
+    private volatile double averageRunMillis = 1000;
+
+    public ExecutionScheduler(ExecutionProperties executionProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.config = executionProperties.getScheduler();
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("execution.scheduler.running", this, ExecutionScheduler::getRunning).register(registry);
+            Gauge.builder("execution.scheduler.queued", this, ExecutionScheduler::getQueued).register(registry);
+        });
+    }
+
+    public <T> T run(String clientKey, Supplier<T> task) {
+        Permit permit = acquire(clientKey);
+        try {
+            return task.get();
+        } finally {
+            permit.release();
+        }
+    }
+
+    /**
+     * 실행 자리를 얻을 때까지 대기한다. 받은 Permit 은 반드시 release() 해야 한다.
+     */
+    public Permit acquire(String clientKey) {
+        Ticket ticket;
+        lock.lock();
+        try {
+            if (running < config.getMaxConcurrent() && queued == 0) {
+                running++;
+                return new Permit();
+            }
+            ArrayDeque<Ticket> clientQueue = waiting.get(clientKey);
+            int clientQueued = clientQueue == null ? 0 : clientQueue.size();
+            if (queued >= config.getMaxQueued() || clientQueued >= config.getMaxQueuedPerClient()) {
+                throw reject();
+            }
+            if (clientQueue == null) {
+                clientQueue = new ArrayDeque<>();
+                waiting.put(clientKey, clientQueue);
+                turns.addLast(clientKey);
+            }
+            ticket = new Ticket(clientKey);
+            clientQueue.addLast(ticket);
+            queued++;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            ticket.admitted.get(config.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+            return new Permit();
+        } catch (TimeoutException | InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (cancel(ticket)) {
+                throw reject();
+            }
+            // 취소 직전에 입장 처리된 경우 그대로 진행
+            return new Permit();
+        }
+    }
+
+    /**
+     * 기다리는 요청이 없고 자리가 비어 있을 때만 바로 자리를 얻는다. 없으면 null (대기열을 앞지르지 않음)
+     */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (running < config.getMaxConcurrent() && queued == 0) {
+                running++;
+                return new Permit();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean cancel(Ticket ticket) {
+        lock.lock();
+        try {
+            ArrayDeque<Ticket> clientQueue = waiting.get(ticket.clientKey);
+            if (clientQueue == null || !clientQueue.remove(ticket)) {
+                return false;
+            }
+            queued--;
+            if (clientQueue.isEmpty()) {
+                waiting.remove(ticket.clientKey);
+                turns.remove(ticket.clientKey);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onRelease(long runMillis) {
+        averageRunMillis = averageRunMillis * (1 - EWMA_WEIGHT) + runMillis * EWMA_WEIGHT;
+        lock.lock();
+        try {
+            running--;
+            while (running < config.getMaxConcurrent() && !turns.isEmpty()) {
+                String clientKey = turns.pollFirst();
+                ArrayDeque<Ticket> clientQueue = waiting.get(clientKey);
+                Ticket next = clientQueue.pollFirst();
+                queued--;
+                if (clientQueue.isEmpty()) {
+                    waiting.remove(clientKey);
+                } else {
+                    turns.addLast(clientKey); // 남은 요청은 다음 바퀴로
+                }
+                running++;
+                next.admitted.complete(null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ExecutionRejectedException reject() {
+        // 앞에 있는 대기열이 모두 빠지는 데 걸릴 대략적인 시간
+        double drainMillis = (queued + 1) * averageRunMillis / config.getMaxConcurrent();
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(drainMillis / 1000));
+        log.debug("Execution rejected: running={}, queued={}, retryAfter={}s", running, queued, retryAfterSeconds);
+        return new ExecutionRejectedException(retryAfterSeconds);
+    }
+
+    public int getRunning() {
+        return running;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    private static final class Ticket {
+        private final String clientKey;
+        private final CompletableFuture<Void> admitted = new CompletableFuture<>();
+
+        private Ticket(String clientKey) {
+            this.clientKey = clientKey;
+        }
+    }
+
+    public final class Permit {
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onRelease(System.currentTimeMillis() - startedAt);
+            }
+        }
+    }
+}
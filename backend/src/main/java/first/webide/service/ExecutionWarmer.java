@@ -0,0 +1,175 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.dto.request.PistonRequest.FileEntry;
+import first.webide.dto.response.CodeExecuteResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 언어별 실행 환경 워밍업.
+ * 실제 언어 프로세스(JVM, 인터프리터)는 실행 엔진(Piston) 쪽 샌드박스에서 뜨기 때문에
+ * 이 서버에서 프로세스 풀을 들고 있을 수는 없다. 대신 SUPPORTED_LANGUAGES 의 언어마다
+ * 최소 프로그램을 주기적으로 실행해서
+ *  - 엔진의 런타임 파일/디스크 캐시를 따뜻하게 유지하고
+ *  - 언어별 크기만큼 동시에 호출해 Piston 커넥션 풀에 keep-alive 커넥션을 미리 열어 둔다.
+ *    같은 코드의 동시 실행은 CodeExecuteServiceImpl 이 엔진 호출 하나로 합치므로, 자리마다 주석을 달리해 코드를 구분한다.
+ * 첫 실행(cold)과 이후(warm) 지연 시간은 execution.warmup 타이머로 남긴다.
+ * 워밍업 실행도 ExecutionScheduler 의 자리를 차지하되, 기다리는 요청이 없고 자리가 빌 때만 돌린다 (사용자 실행 우선).
+ */
+@Slf4j
+@Component
+public class ExecutionWarmer {
+
+    private static final Map<String, String> SNIPPETS = Map.of(
+            "java", "public class Main { public static void main(String[] args) { } }",
+            "python", "pass",
+            "javascript", "",
+            "c", "int main(void) { return 0; }",
+            "cpp", "int main() { return 0; }");
+
+    private final CodeExecuteService codeExecuteService;
+    private final ExecutionScheduler executionScheduler;
+    private final ExecutionProperties.Warmup config;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    // 주기마다 같은 스레드를 다시 쓴다 (스레드는 처음 워밍업할 때 만들어짐)
+    private final ExecutorService executor;
+    private volatile boolean warmedUp;
+
+    public ExecutionWarmer(CodeExecuteService codeExecuteService,
+                           ExecutionScheduler executionScheduler,
+                           ExecutionProperties executionProperties,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.codeExecuteService = codeExecuteService;
+        this.executionScheduler = executionScheduler;
+        this.config = executionProperties.getWarmup();
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, slots().size()), task -> {
+            Thread thread = new Thread(task, "execution-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (config.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${execution.warmup.interval:PT25S}",
+            fixedDelayString = "${execution.warmup.interval:PT25S}")
+    public void keepWarm() {
+        if (config.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * 워밍업 한 번. 실행 자리가 부족하면 남은 실행은 건너뛰고 다음 주기에 다시 한다.
+     *
+     * @return 실제로 돌린 실행 수
+     */
+    int warmUp() {
+        String phase = warmedUp ? "warm" : "cold";
+        // 언어별 실행을 동시에 보내야 커넥션이 그 수만큼 열린 채로 풀에 남는다
+        List<Slot> slots = slots();
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (Slot slot : slots) {
+            ExecutionScheduler.Permit permit = executionScheduler.tryAcquire();
+            if (permit == null) {
+                break;
+            }
+            try {
+                runs.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        runOnce(slot, phase);
+                    } finally {
+                        permit.release();
+                    }
+                }, executor));
+            } catch (RejectedExecutionException e) {
+                permit.release(); // 종료 중
+                break;
+            }
+        }
+        if (runs.size() < slots.size()) {
+            log.debug("Execution warm-up ran {} of {} runs, scheduler is busy", runs.size(), slots.size());
+        }
+        try {
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            log.warn("Execution warm-up did not finish", e);
+        }
+        if (!runs.isEmpty()) {
+            warmedUp = true;
+        }
+        return runs.size();
+    }
+
+    // 언어마다 설정한 수만큼
+    private List<Slot> slots() {
+        List<Slot> slots = new ArrayList<>();
+        for (String language : CodeExecuteServiceImpl.SUPPORTED_LANGUAGES) {
+            int size = config.getSize().getOrDefault(language, config.getDefaultSize());
+            for (int i = 0; i < size; i++) {
+                slots.add(new Slot(language, i));
+            }
+        }
+        return slots;
+    }
+
+    // 자리마다 다른 코드 (단일 실행으로 합쳐지지 않도록 끝에 자리 번호 주석)
+    private static String snippetOf(String language, int index) {
+        String comment = "python".equals(language) ? "# warm-up " : "// warm-up ";
+        return SNIPPETS.getOrDefault(language, "") + "\n" + comment + index + "\n";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runOnce(Slot slot, String phase) {
+        String language = slot.language();
+        FileEntry file = FileEntry.builder()
+                .name(CodeExecuteServiceImpl.getDefaultFileName(language))
+                .content(snippetOf(language, slot.index()))
+                .build();
+        long start = System.nanoTime();
+        CodeExecuteResponse response = codeExecuteService.execute(language, null, List.of(file), null, null);
+        long elapsed = System.nanoTime() - start;
+
+        meterRegistry.ifAvailable(registry -> Timer.builder("execution.warmup")
+                .tag("language", language)
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.95)
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS));
+        if (response.isSuccess()) {
+            log.debug("Warm-up {} ({}) took {}ms", language, phase, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } else {
+            log.warn("Warm-up {} failed: {}", language, response.getError());
+        }
+    }
+
+    private record Slot(String language, int index) {
+    }
+}
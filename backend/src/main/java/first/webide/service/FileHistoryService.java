@@ -0,0 +1,150 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.domain.FileType;
+import first.webide.domain.FileVersion;
+import first.webide.dto.response.FileDiffResponse;
+import first.webide.dto.response.FileVersionResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import first.webide.repository.FileVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 파일 저장 이력.
+ * 저장할 때마다 직전 내용과의 차이만 기록하고, snapshotInterval 버전마다 전체 내용을 스냅샷으로 남긴다.
+ * 어떤 버전이든 가장 가까운 스냅샷부터 최대 snapshotInterval 개의 행만 읽어 복원된다.
+ * 같은 파일의 저장은 루트 행 잠금(ProjectForkService.prepareWrite)과 최신 버전 행 잠금으로 한 줄로 선다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class FileHistoryService {
+
+    private static final int DIFF_CONTEXT_LINES = 3;
+
+    private final FileRepository fileRepository;
+    private final FileVersionRepository fileVersionRepository;
+
+    @Value("${file-history.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    /**
+     * 파일 내용이 바뀐 뒤 호출. previous 는 바뀌기 전 내용 (새 파일이면 null).
+     * FileService 의 쓰기 트랜잭션 안에서 함께 저장된다.
+     */
+    @Transactional
+    public void record(FileNode file, String previous) {
+        String content = file.getContent();
+        FileVersion latest = fileVersionRepository.findTopByFileIdOrderByVersionDesc(file.getId()).orElse(null);
+        if (file.isHistoryPending()) {
+            // 그 사이 이력 없이 저장된 내용이 있으므로 마지막 버전과 비교
+            previous = latest != null ? restore(file.getId(), latest) : null;
+            file.markHistoryPending(false);
+        }
+        if (latest == null) {
+            // 이력 기능 이전에 만들어진 파일은 기존 내용을 첫 버전으로 남긴다
+            if (previous != null && !previous.equals(content)) {
+                latest = fileVersionRepository.save(FileVersion.snapshot(file.getId(), 1, previous));
+            } else {
+                fileVersionRepository.save(FileVersion.snapshot(file.getId(), 1, content));
+                return;
+            }
+        }
+        if (Objects.equals(previous, content)) {
+            return; // 내용이 그대로면 버전을 만들지 않음
+        }
+
+        int version = latest.getVersion() + 1;
+        FileVersion delta = FileVersion.delta(file.getId(), version, latest.getBaseVersion(), previous, content);
+        // 체인이 길어졌거나 사실상 전체를 다시 쓴 경우 스냅샷으로
+        boolean snapshot = version - latest.getBaseVersion() >= snapshotInterval
+                || delta.getData().length() * 2 >= delta.getLength();
+        fileVersionRepository.save(snapshot ? FileVersion.snapshot(file.getId(), version, content) : delta);
+    }
+
+    /**
+     * 이력을 남기지 않고 저장할 때 호출 (공동 편집의 주기 저장). 다음 record 가 마지막 버전과 비교해 한 번에 남긴다.
+     */
+    public void skip(FileNode file, String previous) {
+        if (!Objects.equals(previous, file.getContent())) {
+            file.markHistoryPending(true);
+        }
+    }
+
+    // 경로 아래 모든 파일의 이력 삭제 (파일 삭제 전에 호출)
+    @Transactional
+    public void deleteAll(FileNode node) {
+        List<Long> fileIds = new ArrayList<>();
+        if (node.isFile()) {
+            fileIds.add(node.getId());
+        } else {
+            fileRepository.findAllByPathStartingWithAndType(node.getPath() + "/", FileType.FILE)
+                    .forEach(file -> fileIds.add(file.getId()));
+        }
+        if (!fileIds.isEmpty()) {
+            fileVersionRepository.deleteAllByFileIdIn(fileIds);
+        }
+    }
+
+    public List<FileVersionResponse> getVersions(String path) {
+        return fileVersionRepository.findAllByFileIdOrderByVersionDesc(getFile(path).getId()).stream()
+                .map(FileVersionResponse::from)
+                .toList();
+    }
+
+    public FileVersionResponse getVersion(String path, int version) {
+        FileNode file = getFile(path);
+        FileVersion target = fileVersionRepository.findByFileIdAndVersion(file.getId(), version)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_VERSION_NOT_FOUND));
+        return FileVersionResponse.from(target, restore(file.getId(), target));
+    }
+
+    public FileDiffResponse diff(String path, int fromVersion, int toVersion) {
+        FileNode file = getFile(path);
+        String from = restore(file.getId(), fileVersionRepository.findByFileIdAndVersion(file.getId(), fromVersion)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_VERSION_NOT_FOUND)));
+        String to = restore(file.getId(), fileVersionRepository.findByFileIdAndVersion(file.getId(), toVersion)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_VERSION_NOT_FOUND)));
+
+        LineDiff.Result result = LineDiff.unified(from, to,
+                file.getName() + "@" + fromVersion, file.getName() + "@" + toVersion, DIFF_CONTEXT_LINES);
+        return FileDiffResponse.builder()
+                .fromVersion(fromVersion)
+                .toVersion(toVersion)
+                .added(result.added())
+                .removed(result.removed())
+                .diff(result.unified())
+                .build();
+    }
+
+    // 스냅샷부터 대상 버전까지 한 번에 읽어 순서대로 적용
+    private String restore(Long fileId, FileVersion target) {
+        if (target.isSnapshot()) {
+            return target.getData();
+        }
+        String content = null;
+        for (FileVersion step : fileVersionRepository.findAllByFileIdAndVersionBetweenOrderByVersionAsc(
+                fileId, target.getBaseVersion(), target.getVersion())) {
+            content = step.applyTo(content);
+        }
+        return content;
+    }
+
+    private FileNode getFile(String path) {
+        FileNode file = fileRepository.findByPath(path)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+        if (!file.isFile()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return file;
+    }
+}
@@ -6,6 +6,7 @@ import first.webide.exception.BusinessException;
 import first.webide.exception.ErrorCode;
 import first.webide.repository.FileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +18,10 @@ import java.util.List;
 public class FileService {
 
     private final FileRepository  fileRepository;
+    private final ProjectSourceCache projectSourceCache;
+    private final FileHistoryService fileHistoryService;
+    private final ProjectForkService projectForkService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private FileNode getFileByPath(String path) {
         return fileRepository.findByPath(path)
@@ -50,12 +55,14 @@ public class FileService {
         }
 
         FileNode root = FileNode.createRootDirectory(name);
+        eventPublisher.publishEvent(FileTreeChange.created(rootPath, FileType.DIRECTORY));
         return fileRepository.save(root);
     }
 
     // 하위 디렉토리 생성
     @Transactional
     public FileNode createDirectory(String parentPath, String name) {
+        projectForkService.prepareWrite(parentPath);
         FileNode parent = isDirectory(getFileByPath(parentPath));
 
         if (fileRepository.existsByParentAndName(parent, name)) {
@@ -63,12 +70,15 @@ public class FileService {
         }
 
         FileNode dir = FileNode.create(parent, name, FileType.DIRECTORY, null);
+        projectSourceCache.evict(parentPath);
+        eventPublisher.publishEvent(FileTreeChange.created(dir.getPath(), FileType.DIRECTORY));
         return fileRepository.save(dir);
     }
 
     // 하위 파일 생성
     @Transactional
     public FileNode createFile(String parentPath, String name, String content) {
+        projectForkService.prepareWrite(parentPath);
         FileNode parent = isDirectory(getFileByPath(parentPath));
 
         if (fileRepository.existsByParentAndName(parent, name)) {
@@ -76,7 +86,11 @@ public class FileService {
         }
 
         FileNode file = FileNode.create(parent, name, FileType.FILE, content);
-        return fileRepository.save(file);
+        projectSourceCache.evict(parentPath);
+        eventPublisher.publishEvent(FileTreeChange.created(file.getPath(), FileType.FILE));
+        FileNode saved = fileRepository.save(file);
+        fileHistoryService.record(saved, null);
+        return saved;
     }
 
 
@@ -89,15 +103,27 @@ public class FileService {
                 .orElseThrow(()-> new BusinessException(ErrorCode.FILE_NOT_FOUND));
     }
 
-    // 디렉토리 자식 조회
+    // 디렉토리 자식 조회 (복사 전 포크면 원본의 노드)
     public List<FileNode> getChildren(String parentPath) {
-        FileNode parent = isDirectory(getFileByPath(parentPath));
+        FileNode parent = isDirectory(getFileByPath(projectForkService.resolveReadPath(parentPath)));
         return fileRepository.findByParentOrderByTypeAscNameAsc(parent);
     }
 
+    // 파일 조회 (디렉토리 제외). 복사 전 포크면 원본 파일이 오므로 포크 쪽 저장은 경로로 한다
+    public FileNode getFile(String path) {
+        return isFile(getFileByPath(projectForkService.resolveReadPath(path)));
+    }
+
+    // 파일의 현재 경로 (id 기준 저장 전에 따로 조회)
+    public String getPath(Long id) {
+        return fileRepository.findById(id)
+                .map(FileNode::getPath)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+    }
+
     // 파일 내용 조회
     public String getContent(String path) {
-        FileNode file = isFile(getFileByPath(path));
+        FileNode file = isFile(getFileByPath(projectForkService.resolveReadPath(path)));
         return file.getContent();
     }
 
@@ -108,14 +134,51 @@ public class FileService {
     // 파일 내용 업데이트
     @Transactional
     public FileNode updateContent(String path, String content) {
+        return updateContent(path, content, true);
+    }
+
+    // recordVersion 이 false 면 이력을 남기지 않음 (공동 편집의 주기 저장)
+    @Transactional
+    public FileNode updateContent(String path, String content, boolean recordVersion) {
+        projectForkService.prepareWrite(path);
         FileNode file = isFile(getFileByPath(path));
-        file.updateContent(content);
+        writeContent(file, content, recordVersion);
         return fileRepository.save(file);
     }
 
+    /**
+     * 파일 내용 업데이트 (id 기준 - 편집 중 이름이 바뀌어도 같은 파일에 저장).
+     * path 는 트랜잭션 전에 getPath 로 찾아 둔 경로. 루트 잠금이 이 트랜잭션의 첫 조회여야 최신 내용과 이력을 읽는다.
+     */
+    @Transactional
+    public FileNode updateContent(Long id, String path, String content, boolean recordVersion) {
+        projectForkService.prepareWrite(path);
+        FileNode file = isFile(fileRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND)));
+        if (!ProjectSourceCache.rootPathOf(file.getPath()).equals(ProjectSourceCache.rootPathOf(path))) {
+            // 경로를 찾은 뒤 루트 이름이 바뀌어 다른 루트를 잠갔음. 다음 저장 때 다시 찾는다
+            throw new IllegalStateException("Project root of " + path + " was renamed while saving");
+        }
+        writeContent(file, content, recordVersion);
+        return file;
+    }
+
+    private void writeContent(FileNode file, String content, boolean recordVersion) {
+        String previous = file.getContent();
+        file.updateContent(content);
+        if (recordVersion) {
+            fileHistoryService.record(file, previous);
+        } else {
+            fileHistoryService.skip(file, previous);
+        }
+        projectSourceCache.evict(file.getPath());
+        eventPublisher.publishEvent(FileTreeChange.updated(file.getPath()));
+    }
+
     // 파일노드 이름 변경
     @Transactional
     public FileNode rename(String path, String name) {
+        projectForkService.prepareWrite(path);
         FileNode node = getFileByPath(path);
         FileNode parent = node.getParent();
 
@@ -124,6 +187,9 @@ public class FileService {
         }
 
         node.rename(name);
+        projectSourceCache.evict(path);
+        projectSourceCache.evict(node.getPath()); // 루트 이름이 바뀐 경우
+        eventPublisher.publishEvent(FileTreeChange.renamed(path, node.getPath(), node.getType()));
         return fileRepository.save(node);
     }
 
@@ -134,6 +200,7 @@ public class FileService {
     // 파일노드 삭제
     @Transactional
     public void delete(String path) {
+        projectForkService.prepareDelete(path);
         FileNode node = getFileByPath(path);
 
         // 부모 노드가 있다면, 부모의 자식 리스트에서 자신을 제거하여 관계를 명확히 끊음
@@ -141,6 +208,9 @@ public class FileService {
             node.getParent().getChildren().remove(node);
         }
 
+        fileHistoryService.deleteAll(node);
         fileRepository.delete(node);
+        projectSourceCache.evict(path);
+        eventPublisher.publishEvent(FileTreeChange.deleted(path, node.getType()));
     }
 }
@@ -0,0 +1,31 @@
+package first.webide.service;
+
+import first.webide.domain.FileType;
+
+/**
+ * FileService 가 파일 트리를 바꿀 때 발행하는 이벤트 (커밋 후 FileTreeEventBroadcaster 가 전달).
+ *
+ * @param oldPath 이름 변경(RENAMED) 전 경로, 그 외에는 null
+ */
+public record FileTreeChange(Type type, String path, String oldPath, FileType nodeType) {
+
+    public enum Type {
+        CREATED, UPDATED, RENAMED, DELETED
+    }
+
+    public static FileTreeChange created(String path, FileType nodeType) {
+        return new FileTreeChange(Type.CREATED, path, null, nodeType);
+    }
+
+    public static FileTreeChange updated(String path) {
+        return new FileTreeChange(Type.UPDATED, path, null, FileType.FILE);
+    }
+
+    public static FileTreeChange renamed(String oldPath, String path, FileType nodeType) {
+        return new FileTreeChange(Type.RENAMED, path, oldPath, nodeType);
+    }
+
+    public static FileTreeChange deleted(String path, FileType nodeType) {
+        return new FileTreeChange(Type.DELETED, path, null, nodeType);
+    }
+}
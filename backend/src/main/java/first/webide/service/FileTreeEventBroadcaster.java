@@ -0,0 +1,328 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.dto.response.FileTreeEventResponse;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프로젝트(루트 디렉토리)별 파일 트리 변경 이벤트 스트림 (SSE).
+ * - FileService 가 발행한 FileTreeChange 를 커밋 후에 받아 잠시 모아 두었다가 flush 주기마다 전송
+ *   (같은 파일의 연속 저장은 한 번으로 합침)
+ * - 이벤트 ID 는 "서버 시작 시각-순번". 재접속 시 Last-Event-ID 이후의 이벤트를 최근 기록에서 다시 보내고,
+ *   기록에서 밀려났거나 서버가 재시작된 경우 reset 이벤트로 트리 전체를 다시 불러오게 한다.
+ * - 스트림 잠금 안에서는 구독자별 대기열에 넣기만 하고, 실제 전송은 전용 스레드(sender)가 구독자마다 순서대로 한다.
+ *   느린 구독자가 스케줄러 스레드나 다른 구독자를 붙잡지 않으며, 대기열이 넘치면 끊어 재접속으로 이어 받게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileTreeEventBroadcaster {
+
+    static final int HISTORY_SIZE = 256;
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final long IDLE_EVICT_MS = 10 * 60 * 1000L;
+    private static final int SENDER_THREADS = 4;
+    // 구독자 하나에 쌓아 둘 수 있는 전송 대기 수 (넘으면 끊고 재접속 때 Last-Event-ID 로 이어 받음)
+    static final int OUTBOX_LIMIT = HISTORY_SIZE;
+
+    // 재시작 전(또는 정리되기 전 스트림)에서 받은 ID 와 구분하기 위한 값
+    private final String startedAt = Long.toString(System.currentTimeMillis());
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newFixedThreadPool(SENDER_THREADS, task -> {
+        Thread thread = new Thread(task, "file-tree-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ProjectService projectService;
+    private final FileRepository fileRepository;
+    private final ShardRouter shardRouter;
+
+    public SseEmitter subscribe(Long memberId, Long projectId, String lastEventId) {
+        ProjectResponse project = projectService.getProjectDetails(projectId);
+        if (!project.getIsPublic() && !project.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
+        }
+        if (project.getRootDirId() == null) {
+            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+        }
+        String rootPath = shardRouter.read(projectId, () -> fileRepository.findById(project.getRootDirId())
+                .map(FileNode::getPath)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND)));
+        return subscribe(rootPath, lastEventId);
+    }
+
+    SseEmitter subscribe(String rootPath, String lastEventId) {
+        return subscribe(rootPath, lastEventId, new SseEmitter(STREAM_TIMEOUT_MS));
+    }
+
+    SseEmitter subscribe(String rootPath, String lastEventId, SseEmitter emitter) {
+        Stream stream = streams.computeIfAbsent(rootPath,
+                k -> new Stream(startedAt + "." + generation.incrementAndGet()));
+        Subscriber subscriber = new Subscriber(emitter, stream.subscribers);
+        // 잠금 안에서 대기열에 넣으므로 이어 보내는 기록과 이후 변경의 순서가 엇갈리지 않는다
+        synchronized (stream) {
+            Long resumeFrom = stream.parseSequence(lastEventId);
+            if (lastEventId == null || lastEventId.isBlank()) {
+                subscriber.offer(event("ready", stream.eventId(stream.sequence), null));
+            } else if (resumeFrom == null || !stream.canResumeFrom(resumeFrom)) {
+                subscriber.offer(event("reset", stream.eventId(stream.sequence), null));
+            } else {
+                long skip = stream.history.size() - (stream.sequence - resumeFrom);
+                for (FileTreeEventResponse event : stream.history) {
+                    if (skip-- <= 0) {
+                        subscriber.offer(event("change", event.getId(), event));
+                    }
+                }
+            }
+            stream.subscribers.add(subscriber);
+            stream.lastActivity = System.currentTimeMillis();
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    // 롤백된 변경은 보내지 않음. 트랜잭션 밖에서 발행되면 바로 처리
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(FileTreeChange change) {
+        String path = change.oldPath() != null ? change.oldPath() : change.path();
+        Stream stream = streams.get(ProjectSourceCache.rootPathOf(path));
+        if (stream == null) {
+            return; // 구독자가 없으면 기록할 필요도 없음
+        }
+        synchronized (stream) {
+            stream.enqueue(change);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file-events.coalesce-window:PT0.2S}")
+    public void flush() {
+        streams.values().forEach(this::flush);
+    }
+
+    void flush(Stream stream) {
+        synchronized (stream) {
+            if (stream.pending.isEmpty()) {
+                return;
+            }
+            for (FileTreeChange change : stream.pending.values()) {
+                FileTreeEventResponse event = FileTreeEventResponse.builder()
+                        .id(stream.eventId(++stream.sequence))
+                        .type(change.type().name())
+                        .path(change.path())
+                        .oldPath(change.oldPath())
+                        .nodeType(change.nodeType())
+                        .build();
+                stream.history.addLast(event);
+                if (stream.history.size() > HISTORY_SIZE) {
+                    stream.history.removeFirst();
+                }
+                Set<DataWithMediaType> message = event("change", event.getId(), event);
+                for (Subscriber subscriber : stream.subscribers) {
+                    subscriber.offer(message);
+                }
+            }
+            stream.pending.clear();
+            stream.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    // 프록시가 유휴 연결을 끊지 않도록 주석 줄을 보내고, 구독자가 없는 스트림은 정리
+    @Scheduled(fixedDelayString = "${file-events.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        Set<DataWithMediaType> keepAlive = SseEmitter.event().comment("keep-alive").build();
+        streams.forEach((rootPath, stream) -> {
+            synchronized (stream) {
+                for (Subscriber subscriber : stream.subscribers) {
+                    subscriber.offer(keepAlive);
+                }
+                if (stream.subscribers.isEmpty() && stream.pending.isEmpty()
+                        && now - stream.lastActivity > IDLE_EVICT_MS) {
+                    streams.remove(rootPath, stream);
+                }
+            }
+        });
+    }
+
+    // 한 번 만들어 여러 구독자에게 그대로 보낸다 (빌더는 build 할 때마다 내용을 덧붙이므로 공유하지 않음)
+    private static Set<DataWithMediaType> event(String name, String id, FileTreeEventResponse data) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().id(id).name(name);
+        return (data == null ? event.data("") : event.data(data, MediaType.APPLICATION_JSON)).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    Stream streamOf(String rootPath) {
+        return streams.get(rootPath);
+    }
+
+    /**
+     * 구독자 하나의 전송 대기열. offer 는 넣기만 하고, 전송은 sender 스레드 하나가 맡아 순서대로 비운다.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final List<Subscriber> owner;
+        private final ArrayDeque<Set<DataWithMediaType>> outbox = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;   // 연결이 끝났거나 끊기로 함. 더 보내지 않는다
+        private boolean dropped;  // 이쪽에서 끊기로 함 (전송 실패, 대기열 넘침)
+
+        private Subscriber(SseEmitter emitter, List<Subscriber> owner) {
+            this.emitter = emitter;
+            this.owner = owner;
+        }
+
+        void offer(Set<DataWithMediaType> message) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (outbox.size() >= OUTBOX_LIMIT) {
+                    // 받는 쪽이 따라오지 못함. 끊으면 클라이언트가 마지막 ID 로 다시 붙는다
+                    drop();
+                } else {
+                    outbox.addLast(message);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> next;
+                synchronized (this) {
+                    next = closed ? null : outbox.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        break;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropped file tree subscriber", e);
+                    synchronized (this) {
+                        drop();
+                    }
+                }
+            }
+            if (isDropped()) {
+                owner.remove(this);
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // 이미 끝난 연결
+                }
+            }
+        }
+
+        private void drop() {
+            closed = true;
+            dropped = true;
+            outbox.clear();
+        }
+
+        private synchronized boolean isDropped() {
+            return dropped;
+        }
+
+        // 연결이 끝났을 때 (완료, 타임아웃, 오류)
+        void close() {
+            synchronized (this) {
+                closed = true;
+                outbox.clear();
+            }
+            owner.remove(this);
+        }
+    }
+
+    static final class Stream {
+        private final String epoch;
+        // 합칠 수 있는 변경(UPDATED)은 경로를 키로, 나머지는 순서대로 고유 키로 보관
+        private final LinkedHashMap<String, FileTreeChange> pending = new LinkedHashMap<>();
+        private final ArrayDeque<FileTreeEventResponse> history = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long sequence;
+        private long pendingKey;
+        private long lastActivity = System.currentTimeMillis();
+
+        private Stream(String epoch) {
+            this.epoch = epoch;
+        }
+
+        String eventId(long sequence) {
+            return epoch + "-" + sequence;
+        }
+
+        // 다른 스트림(서버 재시작, 정리 후 재생성)의 ID 이거나 형식이 맞지 않으면 null
+        Long parseSequence(String eventId) {
+            if (eventId == null || !eventId.startsWith(epoch + "-")) {
+                return null;
+            }
+            try {
+                return Long.parseLong(eventId.substring(epoch.length() + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private void enqueue(FileTreeChange change) {
+            if (change.type() == FileTreeChange.Type.UPDATED) {
+                pending.putIfAbsent("U:" + change.path(), change);
+                return;
+            }
+            if (change.type() == FileTreeChange.Type.DELETED) {
+                // 삭제된 경로의 내용 변경은 보낼 필요 없음
+                String removed = "U:" + change.path();
+                pending.keySet().removeIf(key -> key.equals(removed) || key.startsWith(removed + "/"));
+            }
+            pending.put("#" + (pendingKey++), change);
+        }
+
+        boolean canResumeFrom(long lastSequence) {
+            long oldest = sequence - history.size(); // 기록으로 이어 줄 수 있는 가장 오래된 시점
+            return lastSequence >= oldest && lastSequence <= sequence;
+        }
+
+        List<FileTreeEventResponse> history() {
+            return new ArrayList<>(history);
+        }
+    }
+}
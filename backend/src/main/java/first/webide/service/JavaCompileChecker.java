@@ -0,0 +1,317 @@
+package first.webide.service;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import first.webide.config.ExecutionProperties;
+import first.webide.dto.request.PistonRequest.FileEntry;
+import first.webide.dto.response.CompileDiagnostic;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.lang.model.SourceVersion;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Java 소스를 실행 엔진에 보내기 전에 서버 안에서 메모리로 컴파일해 본다.
+ * - 컴파일 오류가 있으면 엔진 왕복 없이 줄/열 단위 진단을 바로 돌려줌
+ * - 진단 결과는 소스 해시(SHA-256) 기준으로 캐시 → 같은 코드를 다시 실행하면 서버 쪽 javac 를 건너뜀
+ * 엔진은 단일 파일 실행(java Main.java)으로 소스를 직접 받기 때문에 바이트코드는 넘길 수 없고
+ * 생성된 클래스는 버린다. 엔진 쪽 컴파일은 그대로 일어나므로 실행 시간을 줄이는 기능이 아니라
+ * 오류를 빨리 알려 주는 기능이고, 새 소스마다 서버 컴파일이 한 번 더해진다.
+ * - execution.precompile.enabled 로 켠다. 꺼져 있거나 JRE 에서 실행 중이면(컴파일러 없음) 스레드도 만들지 않음
+ * - 요청한 런타임 버전에 맞춰 --release 로 컴파일하고, 서버 javac 가 그 버전을 모르면 엔진에 맡긴다
+ * - 전용 스레드에서 시간 제한을 두고 컴파일하며, 자리가 없거나 시간을 넘기면 엔진에 맡긴다.
+ *   javac 는 인터럽트를 확인하지 않으므로 (파일을 읽는 중에만 끊김) 시간을 넘긴 컴파일은
+ *   파일별 컴파일 단계가 바뀔 때 TaskListener 에서 멈춘다. 한 단계 안에서는 멈추지 못하지만
+ *   그동안 자리가 차 있으면 새 검사는 기다리지 않고 엔진으로 간다
+ */
+@Slf4j
+@Component
+public class JavaCompileChecker {
+
+    private static final int MAX_ENTRIES = 512;
+    // 이보다 큰 소스는 요청 스레드에서 컴파일하지 않고 엔진에 맡긴다
+    private static final int MAX_SOURCE_CHARS = 200_000;
+    // JDK 17 javac 의 --release 하한
+    private static final int MIN_RELEASE = 8;
+    // 어노테이션 프로세서(사용자 코드 실행 경로) 차단, 경고 생략
+    private static final List<String> OPTIONS = List.of("-proc:none", "-implicit:none", "-nowarn", "-g:none");
+
+    private final JavaCompiler compiler;
+    private final ExecutionProperties.Precompile config;
+    private final ThreadPoolExecutor compilers; // 검사하지 않으면 null
+
+    private final Map<String, List<CompileDiagnostic>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<CompileDiagnostic>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public JavaCompileChecker(ExecutionProperties executionProperties) {
+        this.config = executionProperties.getPrecompile();
+        this.compiler = config.isEnabled() ? ToolProvider.getSystemJavaCompiler() : null;
+        if (config.isEnabled() && compiler == null) {
+            log.info("System Java compiler is not available; Java pre-compilation is disabled");
+        }
+        this.compilers = compiler == null ? null : newCompilerPool(config.getThreads());
+    }
+
+    // 대기열도 스레드 수만큼만 두고, 넘치면 바로 거절 → 검사 없이 엔진으로
+    private static ThreadPoolExecutor newCompilerPool(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), runnable -> {
+                    Thread thread = new Thread(runnable, "java-precompile-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @param version 실행할 런타임 버전 (예: "15.0.2"). 주 버전을 --release 로 넘긴다
+     * @return 컴파일 오류 목록. 오류가 없거나 검사할 수 없으면 빈 목록
+     */
+    public List<CompileDiagnostic> check(List<FileEntry> files, String version) {
+        List<FileEntry> sources = files.stream()
+                .filter(file -> file.getName() != null && file.getName().endsWith(".java"))
+                .toList();
+        int release = releaseOf(version);
+        if (compiler == null || sources.isEmpty() || release < 0
+                || sources.stream().mapToInt(file -> length(file.getContent())).sum() > MAX_SOURCE_CHARS) {
+            return List.of();
+        }
+
+        String key = release + ":" + hash(sources);
+        synchronized (cache) {
+            List<CompileDiagnostic> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<CompileDiagnostic> diagnostics = compileWithTimeout(sources, release);
+        if (diagnostics == null) {
+            return List.of(); // 검사하지 못함 (캐시하지 않음)
+        }
+        synchronized (cache) {
+            cache.put(key, diagnostics);
+        }
+        return diagnostics;
+    }
+
+    // 서버 javac 가 --release 로 컴파일할 수 있는 주 버전이면 그 값, 아니면 -1 ("1.8.0" 같은 옛 형식은 8)
+    private static int releaseOf(String version) {
+        if (version == null || version.isBlank()) {
+            return -1;
+        }
+        String[] parts = version.split("\\.");
+        try {
+            int major = Integer.parseInt(parts[0]);
+            if (major == 1 && parts.length > 1) {
+                major = Integer.parseInt(parts[1]);
+            }
+            return major >= MIN_RELEASE && major <= SourceVersion.latestSupported().ordinal() ? major : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // 시간 안에 끝나지 않거나 자리가 없으면 null
+    private List<CompileDiagnostic> compileWithTimeout(List<FileEntry> sources, int release) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Future<List<CompileDiagnostic>> task;
+        try {
+            task = compilers.submit(() -> List.copyOf(compile(sources, release, cancelled)));
+        } catch (RejectedExecutionException e) {
+            log.debug("Java pre-compilation skipped: all compiler threads are busy");
+            return null;
+        }
+        try {
+            return task.get(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelled.set(true);
+            task.cancel(true);
+            log.debug("Java pre-compilation timed out after {}", config.getTimeout());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+            task.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("In-process Java compilation failed", e.getCause());
+            return null;
+        }
+    }
+
+    private List<CompileDiagnostic> compile(List<FileEntry> sources, int release, AtomicBoolean cancelled) {
+        List<SourceFile> units = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            units.add(new SourceFile(i, sources.get(i)));
+        }
+
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        try (StandardJavaFileManager standard =
+                     compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8)) {
+            // 서버의 클래스패스가 사용자 코드에 보이지 않도록 비움
+            standard.setLocation(StandardLocation.CLASS_PATH, List.of());
+            List<String> options = new ArrayList<>(OPTIONS);
+            options.add("--release");
+            options.add(String.valueOf(release));
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null, new DiscardingFileManager(standard), collector, options, null, units);
+            if (task instanceof JavacTask javacTask) {
+                javacTask.addTaskListener(new CancellationListener(cancelled));
+            }
+            task.call();
+        } catch (Exception e) {
+            if (cancelled.get()) {
+                return List.of(); // 시간을 넘겨 멈춘 컴파일 (javac 가 감싸서 던지므로 플래그로 판단)
+            }
+            // 컴파일러 자체 문제는 사용자 오류가 아니므로 엔진에 판단을 맡김
+            log.warn("In-process Java compilation failed", e);
+            return List.of();
+        }
+
+        return collector.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> CompileDiagnostic.builder()
+                        .file(diagnostic.getSource() instanceof SourceFile source ? source.fileName : null)
+                        .line(diagnostic.getLineNumber())
+                        .column(diagnostic.getColumnNumber())
+                        .code(diagnostic.getCode())
+                        .message(diagnostic.getMessage(Locale.ROOT))
+                        .build())
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (compilers != null) {
+            compilers.shutdownNow();
+        }
+    }
+
+    private static String hash(List<FileEntry> sources) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (FileEntry source : sources) {
+                digest.update(source.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(source.getContent()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int length(String content) {
+        return content == null ? 0 : content.length();
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String fileName;
+        private final String content;
+
+        private SourceFile(int index, FileEntry file) {
+            // 파일 이름에 URI 로 쓸 수 없는 문자가 있을 수 있어 번호로 식별
+            super(URI.create("string:///source" + index + Kind.SOURCE.extension), Kind.SOURCE);
+            this.fileName = file.getName();
+            this.content = file.getContent() == null ? "" : file.getContent();
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+
+        // 단일 파일 실행은 public 클래스 이름과 파일 이름이 달라도 되므로 검사하지 않음
+        @Override
+        public boolean isNameCompatible(String simpleName, Kind kind) {
+            return true;
+        }
+    }
+
+    private static final class DiscardingFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        private DiscardingFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+    }
+
+    // 파일마다 파싱/분석/생성 단계가 시작하고 끝날 때 불리므로, 취소된 컴파일은 진행 중인 단계까지만 돈다
+    private static final class CancellationListener implements TaskListener {
+        private final AtomicBoolean cancelled;
+
+        private CancellationListener(AtomicBoolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void started(TaskEvent event) {
+            stopIfCancelled();
+        }
+
+        @Override
+        public void finished(TaskEvent event) {
+            stopIfCancelled();
+        }
+
+        private void stopIfCancelled() {
+            if (cancelled.get()) {
+                throw new CompilationCancelledException();
+            }
+        }
+    }
+
+    private static final class CompilationCancelledException extends RuntimeException {
+        private CompilationCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package first.webide.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 두 텍스트의 줄 단위 비교 결과를 unified diff 형식으로 만든다.
+ * 앞뒤 공통 줄을 먼저 걷어 낸 뒤 가운데만 LCS 로 비교하고, 그래도 너무 크면 통째로 교체한 것으로 본다.
+ */
+final class LineDiff {
+
+    // 가운데 부분의 줄 수 곱이 이보다 크면 LCS 를 생략 (메모리/시간 상한)
+    private static final long MAX_LCS_CELLS = 4_000_000L;
+
+    private LineDiff() {
+    }
+
+    record Result(String unified, int added, int removed) {
+    }
+
+    static Result unified(String from, String to, String fromLabel, String toLabel, int context) {
+        String[] a = lines(from);
+        String[] b = lines(to);
+        List<Op> ops = diff(a, b);
+
+        StringBuilder out = new StringBuilder();
+        int added = 0;
+        int removed = 0;
+        for (Op op : ops) {
+            if (op.type == '+') {
+                added++;
+            } else if (op.type == '-') {
+                removed++;
+            }
+        }
+        if (added == 0 && removed == 0) {
+            return new Result("", 0, 0);
+        }
+        out.append("--- ").append(fromLabel).append('\n');
+        out.append("+++ ").append(toLabel).append('\n');
+
+        int i = 0;
+        while (i < ops.size()) {
+            if (ops.get(i).type == ' ') {
+                i++;
+                continue;
+            }
+            // 변경 구간을 앞뒤 context 줄과 함께 묶고, 가까운 변경은 한 덩어리로 합침
+            int start = Math.max(0, i - context);
+            int end = i;
+            int lastChange = i;
+            while (end < ops.size()) {
+                if (ops.get(end).type != ' ') {
+                    lastChange = end;
+                } else if (end - lastChange > 2 * context) {
+                    break;
+                }
+                end++;
+            }
+            end = Math.min(ops.size(), lastChange + context + 1);
+            appendHunk(out, ops.subList(start, end));
+            i = end;
+        }
+        return new Result(out.toString(), added, removed);
+    }
+
+    private static void appendHunk(StringBuilder out, List<Op> hunk) {
+        Op first = hunk.get(0);
+        int fromCount = 0;
+        int toCount = 0;
+        for (Op op : hunk) {
+            if (op.type != '+') {
+                fromCount++;
+            }
+            if (op.type != '-') {
+                toCount++;
+            }
+        }
+        out.append("@@ -").append(fromCount == 0 ? first.fromLine : first.fromLine + 1).append(',').append(fromCount)
+                .append(" +").append(toCount == 0 ? first.toLine : first.toLine + 1).append(',').append(toCount)
+                .append(" @@\n");
+        for (Op op : hunk) {
+            out.append(op.type).append(op.text).append('\n');
+        }
+    }
+
+    private static List<Op> diff(String[] a, String[] b) {
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+        int n = a.length - prefix - suffix;
+        int m = b.length - prefix - suffix;
+
+        List<Op> ops = new ArrayList<>(prefix + suffix + n + m);
+        for (int k = 0; k < prefix; k++) {
+            ops.add(new Op(' ', a[k], k, k));
+        }
+
+        if ((long) n * m > MAX_LCS_CELLS) {
+            for (int k = 0; k < n; k++) {
+                ops.add(new Op('-', a[prefix + k], prefix + k, prefix));
+            }
+            for (int k = 0; k < m; k++) {
+                ops.add(new Op('+', b[prefix + k], prefix + n, prefix + k));
+            }
+        } else {
+            // lcs[i][j] = a[prefix+i..], b[prefix+j..] 의 LCS 길이
+            int[][] lcs = new int[n + 1][m + 1];
+            for (int i = n - 1; i >= 0; i--) {
+                for (int j = m - 1; j >= 0; j--) {
+                    lcs[i][j] = a[prefix + i].equals(b[prefix + j])
+                            ? lcs[i + 1][j + 1] + 1
+                            : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+                }
+            }
+            int i = 0;
+            int j = 0;
+            while (i < n || j < m) {
+                if (i < n && j < m && a[prefix + i].equals(b[prefix + j])) {
+                    ops.add(new Op(' ', a[prefix + i], prefix + i, prefix + j));
+                    i++;
+                    j++;
+                } else if (i < n && (j == m || lcs[i + 1][j] >= lcs[i][j + 1])) {
+                    ops.add(new Op('-', a[prefix + i], prefix + i, prefix + j));
+                    i++;
+                } else {
+                    ops.add(new Op('+', b[prefix + j], prefix + i, prefix + j));
+                    j++;
+                }
+            }
+        }
+
+        for (int k = 0; k < suffix; k++) {
+            ops.add(new Op(' ', a[a.length - suffix + k], a.length - suffix + k, b.length - suffix + k));
+        }
+        return ops;
+    }
+
+    private static String[] lines(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        String normalized = text.replace("\r\n", "\n");
+        if (normalized.endsWith("\n")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized.split("\n", -1);
+    }
+
+    // fromLine / toLine: 이 줄 앞까지 지나온 줄 수 (0부터)
+    private record Op(char type, String text, int fromLine, int toLine) {
+    }
+}
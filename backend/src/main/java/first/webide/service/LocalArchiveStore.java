@@ -0,0 +1,72 @@
+package first.webide.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * archive.directory 아래에 key 이름의 파일로 저장.
+ * 임시 파일에 쓴 뒤 이름을 바꾸므로 쓰는 도중 읽어도 반쯤 쓴 파일을 보지 않는다.
+ */
+@Component
+public class LocalArchiveStore implements ArchiveStore {
+
+    private final Path directory;
+
+    public LocalArchiveStore(@Value("${archive.directory:data/archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void put(String key, byte[] data) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".archive-", ".tmp");
+            try {
+                Files.write(temp, data);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        try {
+            return Optional.of(Files.readAllBytes(resolve(key)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // key 는 서비스가 만든 값("project-1.json.gz")만 쓰지만 디렉토리 밖으로 나가지 않는지 확인
+    private Path resolve(String key) {
+        Path path = directory.resolve(key).normalize();
+        if (!path.startsWith(directory.normalize())) {
+            throw new IllegalArgumentException("invalid archive key: " + key);
+        }
+        return path;
+    }
+}
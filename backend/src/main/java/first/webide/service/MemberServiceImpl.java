@@ -10,6 +10,7 @@ import first.webide.dto.response.MemberResponse;
 import first.webide.exception.BusinessException;
 import first.webide.exception.ErrorCode;
 import first.webide.repository.MemberRepository;
+import first.webide.repository.ProjectRepository;
 import first.webide.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,6 +21,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -27,6 +30,7 @@ public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final ProjectRepository projectRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final JwtTokenProvider jwtTokenProvider;
@@ -65,17 +69,18 @@ public class MemberServiceImpl implements MemberService {
             // loadUserByUsername 메서드가 실행됨
             Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            Member member = userDetails.getMember();
+            Long memberId = userDetails.getMemberId();
 
             // 3. 인증 정보를 기반으로 JWT 토큰 생성
             String accessToken = jwtTokenProvider.generateToken(authentication);
             String refreshTokenValue = jwtTokenProvider.generateRefreshToken(authentication);
 
             // 4. 리프레시 토큰 저장 또는 업데이트
-            refreshTokenRepository.findByMemberId(member.getId())
+            refreshTokenRepository.findByMemberId(memberId)
                     .ifPresentOrElse(
                             refreshToken -> refreshToken.updateToken(refreshTokenValue),
-                            () -> refreshTokenRepository.save(new RefreshToken(member, refreshTokenValue))
+                            () -> refreshTokenRepository.save(
+                                    new RefreshToken(memberRepository.getReferenceById(memberId), refreshTokenValue))
                     );
 
             return new LoginResponse("Bearer", accessToken, refreshTokenValue);
@@ -103,10 +108,9 @@ public class MemberServiceImpl implements MemberService {
         // 2. 리프레시 토큰으로 인증 정보 조회
         Authentication authentication = jwtTokenProvider.getAuthentication(refreshTokenValue);
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        Member member = userDetails.getMember();
 
         // 3. DB의 리프레시 토큰과 일치하는지 확인
-        RefreshToken refreshToken = refreshTokenRepository.findByMemberId(member.getId())
+        RefreshToken refreshToken = refreshTokenRepository.findByMemberId(userDetails.getMemberId())
                 .orElseThrow(() -> new BusinessException(ErrorCode.REFRESH_TOKEN_NOT_FOUND));
 
         if (!refreshToken.getToken().equals(refreshTokenValue)) {
@@ -121,9 +125,8 @@ public class MemberServiceImpl implements MemberService {
 
     @Override
     public MemberResponse getMemberInfo(String email) {
-        Member member = memberRepository.findByEmail(email)
+        return memberRepository.findResponseByEmail(email)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
-        return MemberResponse.from(member);
     }
 
     @Override
@@ -161,8 +164,8 @@ public class MemberServiceImpl implements MemberService {
         Member member = memberRepository.findByEmail(email)
                 .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
 
+        // 조회에서 바로 제외하고 프로젝트도 함께 삭제 표시. 실제 삭제는 DeletionPurgeService 가 나눠서 수행
         member.withdraw(request.getPassword(), passwordEncoder);
-
-        memberRepository.delete(member);
+        projectRepository.markDeletedAllByMemberId(member.getId(), LocalDateTime.now());
     }
 }
@@ -0,0 +1,44 @@
+package first.webide.service;
+
+/**
+ * 채점용 출력 비교. 줄바꿈(CRLF/LF), 줄 끝 공백, 마지막 빈 줄 차이는 무시한다.
+ */
+final class OutputDiff {
+
+    private OutputDiff() {
+    }
+
+    // 일치하면 null, 다르면 첫 번째로 다른 줄 설명
+    static String firstDifference(String expected, String actual) {
+        String[] expectedLines = normalize(expected);
+        String[] actualLines = normalize(actual);
+        int lines = Math.max(expectedLines.length, actualLines.length);
+        for (int i = 0; i < lines; i++) {
+            String e = i < expectedLines.length ? expectedLines[i] : null;
+            String a = i < actualLines.length ? actualLines[i] : null;
+            if (e == null || !e.equals(a)) {
+                return "line " + (i + 1) + ": expected " + quote(e) + " but was " + quote(a);
+            }
+        }
+        return null;
+    }
+
+    private static String[] normalize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String normalized = text.replace("\r\n", "\n").stripTrailing();
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        String[] lines = normalized.split("\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = lines[i].stripTrailing();
+        }
+        return lines;
+    }
+
+    private static String quote(String line) {
+        return line == null ? "<end of output>" : "\"" + line + "\"";
+    }
+}
@@ -0,0 +1,53 @@
+package first.webide.service;
+
+import first.webide.domain.Project;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 경로 기반 API (파일, 공동 편집) 의 프로젝트 권한 확인.
+ * 경로의 루트 디렉토리로 프로젝트를 한 번의 조회로 찾아 인증 정보의 회원 ID 와 비교한다.
+ * 통과하면 보관된 트리를 복원하고, 쓰기라면 프로젝트의 마지막 수정 시각을 갱신한다.
+ * 프로젝트 ID 를 돌려주므로 호출하는 쪽은 이어지는 파일 작업을 ShardRouter 로 그 프로젝트의 샤드에서 실행한다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ProjectAccessService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectArchiveService projectArchiveService;
+
+    // 소유자만 (생성, 수정, 삭제, 공동 편집)
+    public Long checkWritable(Long memberId, String path) {
+        Project project = getProjectOf(path);
+        if (!project.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
+        }
+        projectArchiveService.restoreIfArchived(project);
+        projectArchiveService.markActive(project);
+        return project.getId();
+    }
+
+    // 소유자 또는 공개 프로젝트
+    public Long checkReadable(Long memberId, String path) {
+        Project project = getProjectOf(path);
+        if (!project.isPublic() && !project.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
+        }
+        projectArchiveService.restoreIfArchived(project);
+        return project.getId();
+    }
+
+    private Project getProjectOf(String path) {
+        if (path == null || !path.startsWith("/")) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return projectRepository.findByRootPath(ProjectSourceCache.rootPathOf(path))
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+    }
+}
@@ -0,0 +1,293 @@
+package first.webide.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import first.webide.domain.FileNode;
+import first.webide.domain.FileType;
+import first.webide.domain.FileVersion;
+import first.webide.domain.Project;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import first.webide.repository.FileVersionRepository;
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 오래 수정되지 않은 프로젝트의 파일 트리를 보관소로 옮기고, 다음 접근 때 되돌린다.
+ * - 보관: archive.inactive-after 동안 수정되지 않은 프로젝트의 하위 노드와 저장 이력을 gzip JSON 하나로 묶어
+ *   ArchiveStore 에 쓰고 행은 지운다. 루트 디렉토리 한 행은 남겨 경로로 프로젝트를 찾고 이름을 선점한다.
+ * - 복원: 권한 확인(ProjectAccessService), 트리 조회, 실행, 포크 전에 restoreIfArchived 로 다시 넣는다.
+ * 포크 관계가 있는 트리는 다른 프로젝트가 읽고 있을 수 있으므로 보관하지 않는다.
+ * 보관은 루트 행을 잠그고 표시를 남기므로, 복원 확인과 보관 사이에 끼어든 쓰기와 포크는 PROJECT_ARCHIVING 으로 거절된다.
+ * 프로젝트 행 표시를 트리보다 먼저 커밋하므로, 중간에 실패해도 표시가 남아 다음 접근 때 복원(또는 표시 정리)이 불린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectArchiveService {
+
+    private final ProjectRepository projectRepository;
+    private final FileRepository fileRepository;
+    private final FileVersionRepository fileVersionRepository;
+    private final ArchiveStore archiveStore;
+    private final ProjectSourceCache projectSourceCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${archive.inactive-after:P30D}")
+    private Duration inactiveAfter;
+
+    @Value("${archive.batch-size:20}")
+    private int batchSize;
+
+    @Value("${archive.touch-interval:PT1H}")
+    private Duration touchInterval;
+
+    @Scheduled(fixedDelayString = "${archive.interval:PT1H}")
+    public void archiveInactive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(inactiveAfter);
+        // 포크 관계는 파일 테이블에 있으므로 샤드마다 모은다 (복사 전 포크는 첫 쓰기 때 풀리므로 많지 않음)
+        List<Long> forkedRootIds = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            forkedRootIds.addAll(shardRouter.onShard(shard, true, fileRepository::findForkRelatedRootIds));
+        }
+        if (forkedRootIds.isEmpty()) {
+            forkedRootIds.add(0L); // not in () 는 쓸 수 없으므로 없는 ID 하나
+        }
+        for (Long projectId : projectRepository.findArchivableIds(cutoff, forkedRootIds, PageRequest.of(0, batchSize))) {
+            try {
+                archive(projectId);
+            } catch (RuntimeException e) {
+                log.warn("Archiving project {} failed, retrying next run: {}", projectId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 프로젝트 하나를 보관. 그 사이 수정되었거나 포크가 생겼으면 보관하지 않는다.
+     *
+     * @return 보관했으면 true
+     */
+    public boolean archive(Long projectId) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(inactiveAfter);
+        // 되돌릴 때 같은 값으로 찾으므로 컬럼 정밀도(마이크로초)에 맞춘다
+        LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // 프로젝트 행의 보관 표시를 먼저 커밋한다. 샤딩 시 트리는 다른 DB 에서 따로 커밋되므로,
+        // 표시 없이 트리만 보관된 채 남으면 복원이 불리지 않아 모든 쓰기가 PROJECT_ARCHIVING 으로 막힌다
+        Integer marked = transactionTemplate.execute(status -> projectRepository.markArchived(projectId, archivedAt, cutoff));
+        if (marked == null || marked == 0) {
+            return false;
+        }
+        Boolean archived = transactionTemplate.execute(status -> {
+            Long rootDirId = projectRepository.findRootDirIdIncludingDeleted(projectId);
+            return rootDirId != null && shardRouter.write(projectId, () -> archiveTree(projectId, rootDirId));
+        });
+        if (!Boolean.TRUE.equals(archived)) {
+            // 트리를 건드리지 않았으므로 표시만 되돌린다.
+            // 예외로 끝난 경우는 트리가 커밋됐는지 알 수 없으므로 표시를 남겨 두고, 다음 접근 때 복원이 정리한다
+            transactionTemplate.executeWithoutResult(status -> projectRepository.unmarkArchived(projectId, archivedAt));
+        }
+        return Boolean.TRUE.equals(archived);
+    }
+
+    private boolean archiveTree(Long projectId, Long rootDirId) {
+        // 루트 행 잠금으로 이 트리의 쓰기(prepareWrite)와 포크를 줄 세운다.
+        // 잠근 뒤 포크가 없으면 그 사이 포크가 생길 수 없고, 이후 쓰기와 포크는 보관 표시를 보고 거절된다
+        FileNode root = fileRepository.lockById(rootDirId).orElse(null);
+        if (root == null || root.isArchived() || root.isVirtualFork()
+                || !fileRepository.findAllByForkSourceId(root.getId()).isEmpty()) {
+            return false;
+        }
+        // 표시 후 잠그기 전에 복원이 표시를 지웠으면 보관하지 않는다 (진행 중인 복원은 이 잠금을 기다렸다가 트리를 되돌림)
+        if (shardRouter.onHome(() -> projectRepository.findArchivedRootDirId(projectId)).isEmpty()) {
+            return false;
+        }
+
+        String prefix = root.getPath() + "/";
+        List<FileNode> nodes = fileRepository.findAllByPathStartingWithOrderByPathAsc(prefix);
+        List<Long> ids = nodes.stream().map(FileNode::getId).toList();
+        List<FileVersion> versions = ids.isEmpty()
+                ? List.of()
+                : fileVersionRepository.findAllByFileIdInOrderByFileIdAscVersionAsc(ids);
+
+        // 보관소에 먼저 쓰고 행을 지운다 (트랜잭션이 실패하면 보관 파일만 남고 다음 보관 때 덮어씀)
+        archiveStore.put(keyOf(projectId), write(ArchivedTree.of(prefix, nodes, versions)));
+        if (!ids.isEmpty()) {
+            fileVersionRepository.deleteAllByFileIdIn(ids);
+            fileRepository.detachAllByIdIn(ids);
+            fileRepository.deleteAllByIdInBatch(ids);
+        }
+        root.markArchived(true);
+        projectSourceCache.evict(root.getPath());
+        log.info("Archived project {} ({} nodes, {} versions)", projectId, nodes.size(), versions.size());
+        return true;
+    }
+
+    /**
+     * 보관된 프로젝트면 트리를 복원. 읽기 전용 트랜잭션 안에서 불려도 따로 커밋해 바로 보이게 한다.
+     */
+    public void restoreIfArchived(Project project) {
+        if (project.isArchived()) {
+            inNewTransaction(() -> restore(project.getId(), project.getRootDirId()));
+        }
+    }
+
+    // Project 를 읽지 않는 호출자용 (실행)
+    public void restoreIfArchived(Long projectId) {
+        projectRepository.findArchivedRootDirId(projectId)
+                .ifPresent(rootDirId -> inNewTransaction(() -> restore(projectId, rootDirId)));
+    }
+
+    /**
+     * 파일을 쓰기 전에 호출. 마지막 수정 시각이 archive.touch-interval 보다 오래됐을 때만 갱신한다.
+     */
+    public void markActive(Project project) {
+        LocalDateTime now = LocalDateTime.now();
+        if (project.getUpdatedAt() == null || project.getUpdatedAt().isBefore(now.minus(touchInterval))) {
+            inNewTransaction(() -> projectRepository.touch(project.getId(), now));
+        }
+    }
+
+    // 필요할 때만 트랜잭션을 연다 (대부분의 호출은 아무것도 하지 않음)
+    private void inNewTransaction(Runnable task) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> task.run());
+    }
+
+    private void restore(Long projectId, Long rootDirId) {
+        // 동시에 복원하려는 다른 요청은 여기서 기다렸다가 0 을 받고 그대로 진행
+        if (projectRepository.clearArchived(projectId, LocalDateTime.now()) == 0) {
+            return;
+        }
+        shardRouter.write(projectId, () -> restoreTree(projectId, rootDirId));
+    }
+
+    private void restoreTree(Long projectId, Long rootDirId) {
+        FileNode root = fileRepository.lockById(rootDirId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+        // 보관이 트리까지 가지 못했거나 트리 복원만 먼저 커밋된 경우: 프로젝트 표시만 지우면 된다
+        if (!root.isArchived()) {
+            return;
+        }
+        String key = keyOf(projectId);
+        ArchivedTree tree = archiveStore.get(key).map(this::read)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_ARCHIVE_UNAVAILABLE));
+        root.markArchived(false);
+
+        // 경로순으로 저장했으므로 부모가 항상 먼저 만들어진다
+        Map<String, FileNode> created = new HashMap<>();
+        created.put("", root);
+        Map<Long, FileNode> byArchivedId = new HashMap<>();
+        List<FileNode> nodes = new ArrayList<>(tree.nodes().size());
+        for (ArchivedNode archived : tree.nodes()) {
+            int slash = archived.path().lastIndexOf('/');
+            FileNode parent = created.get(slash < 0 ? "" : archived.path().substring(0, slash));
+            FileNode node = FileNode.create(parent, archived.name(), archived.type(), archived.content());
+            node.markHistoryPending(archived.historyPending());
+            created.put(archived.path(), node);
+            byArchivedId.put(archived.id(), node);
+            nodes.add(node);
+        }
+        fileRepository.saveAll(nodes);
+
+        List<FileVersion> versions = new ArrayList<>(tree.versions().size());
+        for (ArchivedVersion v : tree.versions()) {
+            FileNode file = byArchivedId.get(v.fileId());
+            if (file != null) {
+                versions.add(FileVersion.restore(file.getId(), v.version(), v.baseVersion(), v.prefixLength(),
+                        v.suffixLength(), v.data(), v.length(), v.createdAt()));
+            }
+        }
+        fileVersionRepository.saveAll(versions);
+        projectSourceCache.evict(root.getPath());
+
+        // 커밋된 뒤에만 보관 파일을 지운다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                archiveStore.delete(key);
+            }
+        });
+        log.info("Restored project {} ({} nodes, {} versions)", projectId, nodes.size(), versions.size());
+    }
+
+    static String keyOf(Long projectId) {
+        return "project-" + projectId + ".json.gz";
+    }
+
+    private byte[] write(ArchivedTree tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ArchivedTree read(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(in, ArchivedTree.class);
+        } catch (IOException e) {
+            log.error("Archive is unreadable", e);
+            throw new BusinessException(ErrorCode.PROJECT_ARCHIVE_UNAVAILABLE);
+        }
+    }
+
+    // 보관 형식. 경로는 루트 기준 상대 경로 ("src/Main.java")
+    record ArchivedTree(List<ArchivedNode> nodes, List<ArchivedVersion> versions) {
+
+        static ArchivedTree of(String prefix, List<FileNode> nodes, List<FileVersion> versions) {
+            return new ArchivedTree(
+                    nodes.stream()
+                            .map(n -> new ArchivedNode(n.getId(), n.getPath().substring(prefix.length()),
+                                    n.getName(), n.getType(), n.getContent(), n.isHistoryPending()))
+                            .toList(),
+                    versions.stream()
+                            .map(v -> new ArchivedVersion(v.getFileId(), v.getVersion(), v.getBaseVersion(),
+                                    v.getPrefixLength(), v.getSuffixLength(), v.getData(), v.getLength(),
+                                    v.getCreatedAt()))
+                            .toList());
+        }
+    }
+
+    record ArchivedNode(Long id, String path, String name, FileType type, String content, boolean historyPending) {
+    }
+
+    record ArchivedVersion(Long fileId, int version, int baseVersion, int prefixLength, int suffixLength,
+                           String data, int length, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,259 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.domain.Member;
+import first.webide.domain.Project;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import first.webide.repository.MemberRepository;
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프로젝트 포크 (copy-on-write).
+ * 포크는 루트 디렉토리 한 행만 만들고 원본 루트를 가리킨다. 하위 트리는 원본을 그대로 읽다가
+ * - 포크 쪽에 처음 쓸 때 (그 포크 하나만)
+ * - 원본 쪽이 처음 바뀌거나, 비공개로 바뀌거나, 삭제되거나, 다른 샤드로 옮겨지기 직전 (남은 포크 모두)
+ * 실제 행으로 복사한다. 원본이 바뀌어도 포크는 포크한 시점의 내용을 유지한다.
+ * 한 포크는 한 번만 복사되므로, 원본 쓰기가 복사 비용을 내는 것은 포크 뒤 첫 쓰기 한 번뿐이다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ProjectForkService {
+
+    private final ProjectRepository projectRepository;
+    private final MemberRepository memberRepository;
+    private final FileRepository fileRepository;
+    private final ProjectSourceCache projectSourceCache;
+    private final ProjectArchiveService projectArchiveService;
+    private final ShardRouter shardRouter;
+
+    @Transactional
+    public ProjectResponse fork(Long memberId, Long projectId) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
+        Project source = projectRepository.findById(projectId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
+        if (!source.isPublic() && !source.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
+        }
+        if (source.getRootDirId() == null) {
+            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+        }
+        // 포크는 원본 트리를 그대로 읽으므로 보관돼 있으면 먼저 복원
+        projectArchiveService.restoreIfArchived(source);
+
+        // 복사할 때 가장 긴 하위 경로도 경로 컬럼에 들어가도록 포크 이름 길이를 정한다
+        int maxNameLength = shardRouter.read(source.getId(), () -> maxForkNameLength(source.getRootDirId()));
+        String name = availableRootName(source.getName(), maxNameLength);
+        Project fork = projectRepository.save(Project.createProject(name, source.getDescription(), member));
+        // 원본 트리를 가리키므로 원본과 같은 샤드에 둔다
+        fork.placeOn(source.getShardId());
+        FileNode root = shardRouter.write(source.getId(), () -> {
+            // 원본 루트를 잠가 보관과 줄 세운다 (보관은 같은 잠금을 쥐고 포크가 없는지 확인)
+            FileNode sourceRoot = lockRoot(source.getRootDirId());
+            // 복사 전 포크를 다시 포크하면 같은 원본을 직접 가리킴 (내용이 같으므로)
+            FileNode origin = sourceRoot.isVirtualFork() ? lockRoot(sourceRoot.getForkSourceId()) : sourceRoot;
+            return fileRepository.save(FileNode.createForkRoot(name, origin.getId()));
+        });
+        fork.linkRootDirectory(root.getId(), root.getPath());
+        return ProjectResponse.from(fork);
+    }
+
+    /**
+     * 복사 전 포크라면 원본의 같은 위치 경로를, 아니면 그대로 돌려준다. (읽기 전용 조회용)
+     */
+    public String resolveReadPath(String path) {
+        String rootPath = ProjectSourceCache.rootPathOf(path);
+        FileNode root = fileRepository.findByPath(rootPath).orElse(null);
+        if (root == null || !root.isVirtualFork()) {
+            return path;
+        }
+        return fileRepository.findById(root.getForkSourceId())
+                .map(source -> source.getPath() + path.substring(rootPath.length()))
+                .orElse(path);
+    }
+
+    // 복사 전 포크 루트면 원본 루트, 아니면 자기 자신
+    public FileNode resolveRoot(FileNode root) {
+        if (!root.isVirtualFork()) {
+            return root;
+        }
+        return fileRepository.findById(root.getForkSourceId()).orElse(root);
+    }
+
+    /**
+     * path 가 속한 트리를 바꾸기 전에 (트랜잭션의 첫 조회로) 호출.
+     * 루트 행을 잠가 같은 프로젝트의 쓰기를 줄 세우고, 복사 전 포크면 지금 복사한다.
+     * 원본이면 이 트리를 읽는 복사 전 포크들을 바꾸기 전 내용으로 먼저 복사한다.
+     */
+    @Transactional
+    public void prepareWrite(String path) {
+        fileRepository.lockByPath(ProjectSourceCache.rootPathOf(path)).ifPresent(root -> {
+            rejectIfArchived(root);
+            if (root.isVirtualFork()) {
+                materialize(root);
+            } else {
+                materializeForksOf(root);
+            }
+        });
+    }
+
+    /**
+     * path 를 삭제하기 전에 호출. 복사 전 포크의 루트를 지울 때는 복사할 필요가 없고,
+     * 원본 루트를 지울 때는 그 트리를 읽는 포크들을 먼저 복사한다.
+     */
+    @Transactional
+    public void prepareDelete(String path) {
+        String rootPath = ProjectSourceCache.rootPathOf(path);
+        if (!rootPath.equals(path)) {
+            prepareWrite(path);
+            return;
+        }
+        materializeForks(rootPath);
+    }
+
+    /**
+     * 원본 트리를 읽는 복사 전 포크들을 지금 내용으로 복사한다.
+     * 비공개로 바꾸기 전에 호출해, 그 뒤의 비공개 수정이 포크 쪽에 보이지 않게 한다.
+     */
+    @Transactional
+    public void materializeForks(String rootPath) {
+        fileRepository.lockByPath(rootPath)
+                .filter(root -> !root.isVirtualFork())
+                .ifPresent(this::materializeForksOf);
+    }
+
+    /**
+     * 트리를 다른 샤드로 옮기기 전에 포크 관계를 모두 푼다.
+     * 복사 전 포크면 복사하고, 이 트리를 읽는 포크들도 복사한다. (복사 전 포크를 원본으로 하는 포크는 없음)
+     */
+    @Transactional
+    public void detachAll(String rootPath) {
+        fileRepository.lockByPath(rootPath).ifPresent(root -> {
+            if (root.isVirtualFork()) {
+                materialize(root);
+            } else {
+                materializeForksOf(root);
+            }
+        });
+    }
+
+    /**
+     * 원본 트리를 읽는 복사 전 포크를 하나만 복사한다. 트리를 배치로 나눠 지우는 정리 작업이
+     * 한 트랜잭션에 모든 포크를 복사하지 않도록, 배치마다 하나씩 호출한다.
+     *
+     * @return 복사한 행 수 (포크 루트 포함), 남은 포크가 없으면 0
+     */
+    @Transactional
+    public int materializeNextFork(String rootPath) {
+        FileNode sourceRoot = fileRepository.lockByPath(rootPath)
+                .filter(root -> !root.isVirtualFork())
+                .orElse(null);
+        if (sourceRoot == null) {
+            return 0;
+        }
+        for (String forkPath : fileRepository.findPathsByForkSourceId(sourceRoot.getId())) {
+            FileNode forkRoot = fileRepository.lockByPath(forkPath).filter(FileNode::isVirtualFork).orElse(null);
+            if (forkRoot != null) {
+                return materialize(forkRoot) + 1;
+            }
+        }
+        return 0;
+    }
+
+    private FileNode lockRoot(Long rootId) {
+        FileNode root = fileRepository.lockById(rootId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+        rejectIfArchived(root);
+        return root;
+    }
+
+    // 접근 확인 때 복원한 뒤 잠그기 전에 다시 보관된 경우. 다음 요청이 다시 복원한다
+    private static void rejectIfArchived(FileNode root) {
+        if (root.isArchived()) {
+            throw new BusinessException(ErrorCode.PROJECT_ARCHIVING);
+        }
+    }
+
+    // 원본 루트는 이미 잠근 상태. 포크 루트를 하나씩 잠가 그 사이 다른 요청이 복사했는지 다시 확인한다
+    private void materializeForksOf(FileNode sourceRoot) {
+        for (String forkPath : fileRepository.findPathsByForkSourceId(sourceRoot.getId())) {
+            fileRepository.lockByPath(forkPath)
+                    .filter(FileNode::isVirtualFork)
+                    .ifPresent(this::materialize);
+        }
+    }
+
+    // 잠근 포크 루트 아래에 원본의 현재 하위 트리를 한 번의 조회로 읽어 그대로 복사. 복사한 하위 노드 수를 돌려준다
+    private int materialize(FileNode forkRoot) {
+        FileNode sourceRoot = fileRepository.findById(forkRoot.getForkSourceId()).orElse(null);
+        forkRoot.detachFork();
+        if (sourceRoot == null) {
+            return 0;
+        }
+        List<FileNode> sources = fileRepository.findAllByPathStartingWithOrderByPathAsc(sourceRoot.getPath() + "/");
+        int growth = forkRoot.getPath().length() - sourceRoot.getPath().length();
+        if (sources.stream().anyMatch(source -> source.getPath().length() + growth > FileNode.MAX_PATH_LENGTH)) {
+            // 포크한 뒤 원본에 더 깊은 경로가 생겨 포크 경로로는 담을 수 없는 경우
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        Map<String, FileNode> copies = new HashMap<>();
+        copies.put(sourceRoot.getPath(), forkRoot);
+        List<FileNode> created = new ArrayList<>(sources.size());
+        for (FileNode source : sources) {
+            String parentPath = source.getPath().substring(0, source.getPath().lastIndexOf('/'));
+            FileNode parent = copies.get(parentPath);
+            FileNode copy = FileNode.create(parent, source.getName(), source.getType(), source.getContent());
+            copies.put(source.getPath(), copy);
+            created.add(copy);
+        }
+        fileRepository.saveAll(created);
+        projectSourceCache.evict(forkRoot.getPath());
+        log.debug("Materialized fork {} from {} ({} nodes)", forkRoot.getPath(), sourceRoot.getPath(), created.size());
+        return created.size();
+    }
+
+    // 포크 이름 최대 길이: 원본 하위 경로 중 가장 긴 것이 포크 경로로 바뀌어도 경로 컬럼에 들어가야 한다
+    private int maxForkNameLength(Long sourceRootId) {
+        String originPath = fileRepository.findOriginPathById(sourceRootId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+        Integer longest = fileRepository.findMaxPathLength(escapeLike(originPath) + "/%");
+        int room = FileNode.MAX_PATH_LENGTH - (longest != null ? longest : originPath.length());
+        return Math.min(originPath.length() - 1 + room, FileNode.MAX_PATH_LENGTH - 1);
+    }
+
+    // 루트 경로는 전역에서 유일해야 하므로 이름 뒤에 -fork, -fork-2 ... 를 붙인다 (모든 샤드의 루트 경로는 프로젝트 행에 있음)
+    // 길이를 넘으면 원래 이름 쪽을 잘라낸다
+    private String availableRootName(String name, int maxLength) {
+        String candidate = withSuffix(name, "-fork", maxLength);
+        for (int i = 2; projectRepository.countByRootPathIncludingDeleted("/" + candidate) > 0; i++) {
+            candidate = withSuffix(name, "-fork-" + i, maxLength);
+        }
+        return candidate;
+    }
+
+    private static String withSuffix(String name, String suffix, int maxLength) {
+        int keep = Math.min(name.length(), maxLength - suffix.length());
+        if (keep < 1) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return name.substring(0, keep) + suffix;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,28 @@
+package first.webide.service;
+
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 루트 디렉토리 이름이 바뀌면 project.root_path 도 바꾼다 (파일 경로 -> 프로젝트 조회용).
+ * 샤딩이 꺼져 있으면 이름 변경과 같은 트랜잭션에서, 켜져 있으면 홈 DB 에 따로 커밋한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectRootPathListener {
+
+    private final ProjectRepository projectRepository;
+    private final ShardRouter shardRouter;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRenamed(FileTreeChange change) {
+        if (change.type() != FileTreeChange.Type.RENAMED
+                || !change.oldPath().equals(ProjectSourceCache.rootPathOf(change.oldPath()))) {
+            return;
+        }
+        shardRouter.onHome(() -> projectRepository.updateRootPath(change.oldPath(), change.path()));
+    }
+}
@@ -0,0 +1,110 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.domain.FileType;
+import first.webide.dto.request.PistonRequest.FileEntry;
+import first.webide.dto.request.Project.RunProjectRequest;
+import first.webide.dto.response.CodeExecuteResponse;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저장된 프로젝트 파일 트리를 그대로 실행 엔진에 넘겨 실행한다.
+ * 원격 실행 동안 DB 커넥션을 잡고 있지 않도록 클래스 단위 트랜잭션은 두지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectRunService {
+
+    private final ProjectService projectService;
+    private final FileRepository fileRepository;
+    private final ProjectSourceCache projectSourceCache;
+    private final CodeExecuteService codeExecuteService;
+    private final ProjectForkService projectForkService;
+    private final ProjectArchiveService projectArchiveService;
+    private final ShardRouter shardRouter;
+
+    public CodeExecuteResponse run(Long memberId, Long projectId, RunProjectRequest request) {
+        ProjectResponse project = projectService.getProjectDetails(projectId);
+        if (!project.getIsPublic() && !project.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
+        }
+        if (project.getRootDirId() == null) {
+            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+        }
+        projectArchiveService.restoreIfArchived(projectId);
+        RootPaths root = shardRouter.read(projectId, () -> {
+            FileNode rootDir = fileRepository.findById(project.getRootDirId())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+            // 복사 전 포크는 원본 트리의 파일을 읽음 (상대 경로는 같음)
+            return new RootPaths(rootDir.getPath(), projectForkService.resolveRoot(rootDir).getPath());
+        });
+
+        String entryPoint = normalizeEntryPoint(root.path(), request.getEntryPoint());
+        List<FileEntry> sources = projectSourceCache.get(root.path(),
+                () -> shardRouter.read(projectId, () -> loadSources(root.sourcePath())));
+
+        // Piston 은 첫 번째 파일을 진입점으로 실행
+        List<FileEntry> files = new ArrayList<>(sources.size());
+        sources.stream().filter(f -> f.getName().equals(entryPoint)).findFirst()
+                .ifPresentOrElse(files::add, () -> {
+                    throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+                });
+        sources.stream().filter(f -> !f.getName().equals(entryPoint)).forEach(files::add);
+
+        String language = request.getLanguage() != null && !request.getLanguage().isBlank()
+                ? request.getLanguage()
+                : languageOf(entryPoint);
+
+        return codeExecuteService.execute(language, request.getVersion(), files, request.getArgs(), request.getInput());
+    }
+
+    // 루트 하위의 모든 파일을 한 번의 쿼리로 가져와 루트 기준 상대 경로로 변환
+    private List<FileEntry> loadSources(String rootPath) {
+        String prefix = rootPath + "/";
+        return fileRepository.findAllByPathStartingWithAndType(prefix, FileType.FILE).stream()
+                .map(file -> FileEntry.builder()
+                        .name(file.getPath().substring(prefix.length()))
+                        .content(file.getContent() == null ? "" : file.getContent())
+                        .build())
+                .toList();
+    }
+
+    // "src/Main.java" 또는 "/project/src/Main.java" 모두 허용
+    private String normalizeEntryPoint(String rootPath, String entryPoint) {
+        String normalized = entryPoint.strip();
+        if (normalized.startsWith(rootPath + "/")) {
+            normalized = normalized.substring(rootPath.length() + 1);
+        }
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.isEmpty() || normalized.contains("..") || normalized.contains("\\")) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return normalized;
+    }
+
+    private String languageOf(String entryPoint) {
+        String extension = entryPoint.substring(entryPoint.lastIndexOf('.') + 1).toLowerCase();
+        return switch (extension) {
+            case "java" -> "java";
+            case "py" -> "python";
+            case "js" -> "javascript";
+            case "c" -> "c";
+            case "cpp", "cc", "cxx" -> "cpp";
+            default -> throw new BusinessException(ErrorCode.UNSUPPORTED_LANGUAGE);
+        };
+    }
+
+    // 실행할 프로젝트의 루트 경로와 실제로 파일을 읽을 루트 경로 (복사 전 포크면 원본)
+    private record RootPaths(String path, String sourcePath) {
+    }
+}
@@ -4,6 +4,7 @@ import first.webide.dto.request.Project.CreateProjectRequest;
 import first.webide.dto.request.Project.UpdateProjectPublishRequest;
 import first.webide.dto.request.Project.UpdateProjectRequest;
 import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.ProjectFeedResponse;
 import first.webide.dto.response.ProjectHubResponse;
 import first.webide.dto.response.ProjectResponse;
 import org.springframework.data.domain.Page;
@@ -18,15 +19,19 @@ public interface ProjectService {
     List<ProjectResponse> getProjectsByMemberEmail(String memberEmail);
     ProjectResponse getProjectDetails(Long projectId);
 
+    // 수정/삭제는 인증 정보의 회원 ID 로 소유권을 확인 (프로젝트 조회 한 번)
     @Transactional
-    ProjectResponse updateProjectInfo(String memberEmail, Long projectId, UpdateProjectRequest request);
+    ProjectResponse updateProjectInfo(Long memberId, Long projectId, UpdateProjectRequest request);
 
-    void deleteProject(String memberEmail, Long projectId);
-    ProjectResponse updateProjectPublish(String memberEmail, Long projectId, UpdateProjectPublishRequest request);
+    void deleteProject(Long memberId, Long projectId);
+    ProjectResponse updateProjectPublish(Long memberId, Long projectId, UpdateProjectPublishRequest request);
     Page<ProjectHubResponse> getPublicProjects(Pageable pageable);
+
+    // 공개 프로젝트 피드 (커서 기반, 최근 수정순)
+    ProjectFeedResponse getPublicProjectFeed(String cursor, int size);
     
     // 프로젝트 루트 디렉토리 조회 (소유권 검사)
-    FileNodeResponse getProjectRootDirectory(String memberEmail, Long projectId);
+    FileNodeResponse getProjectRootDirectory(Long memberId, Long projectId);
     
     // 공개 프로젝트 루트 디렉토리 조회 (소유권 검사 없음)
     FileNodeResponse getPublicProjectRootDirectory(Long projectId);
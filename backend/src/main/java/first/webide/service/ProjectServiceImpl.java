@@ -7,6 +7,7 @@ import first.webide.dto.request.Project.CreateProjectRequest;
 import first.webide.dto.request.Project.UpdateProjectPublishRequest;
 import first.webide.dto.request.Project.UpdateProjectRequest;
 import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.ProjectFeedResponse;
 import first.webide.dto.response.ProjectHubResponse;
 import first.webide.dto.response.ProjectResponse;
 import first.webide.exception.BusinessException;
@@ -15,22 +16,36 @@ import first.webide.repository.FileRepository;
 import first.webide.repository.MemberRepository;
 import first.webide.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ProjectServiceImpl implements ProjectService {
 
+    private static final int MAX_FEED_SIZE = 100;
+
     private final ProjectRepository projectRepository;
     private final FileRepository fileRepository;
     private final MemberRepository memberRepository;
+    private final ProjectForkService projectForkService;
+    private final ProjectArchiveService projectArchiveService;
+    private final ShardRouter shardRouter;
 
     @Override
     @Transactional
@@ -42,40 +57,61 @@ public class ProjectServiceImpl implements ProjectService {
                 request.getProjectName(),
                 request.getDescription(),
                 member);
+        // 샤드의 루트는 먼저 커밋되므로, 홈의 uk_project_root_path 에 걸리기 전에 같은 이름을 막는다
+        if (projectRepository.countByRootPathIncludingDeleted("/" + project.getName()) > 0) {
+            throw new BusinessException(ErrorCode.FILE_ALREADY_EXISTS);
+        }
         Project savedProject = projectRepository.save(project);
+        int shard = shardRouter.shardForNewProject(savedProject.getId());
+        savedProject.placeOn(shard);
 
-        FileNode rootDir = FileNode.createRootDirectory(savedProject.getName());
-        FileNode savedRootDir = fileRepository.save(rootDir);
-        savedProject.linkRootDirectory(savedRootDir.getId());
+        FileNode savedRootDir = shardRouter.onShard(shard, false,
+                () -> fileRepository.save(FileNode.createRootDirectory(savedProject.getName())));
+        if (shardRouter.commitsSeparately(shard)) {
+            removeRootOnRollback(shard, savedRootDir.getId());
+        }
+        savedProject.linkRootDirectory(savedRootDir.getId(), savedRootDir.getPath());
         return ProjectResponse.from(savedProject);
     }
 
+    // 검사와 커밋 사이에 같은 이름이 먼저 들어오는 등 홈 커밋이 실패하면, 이미 커밋된 샤드의 루트를 지운다
+    private void removeRootOnRollback(int shard, Long rootDirId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    shardRouter.onShard(shard, false, () -> {
+                        fileRepository.deleteById(rootDirId);
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Failed to remove root {} of a rolled back project on shard {}", rootDirId, shard, e);
+                }
+            }
+        });
+    }
+
     @Override
     public List<ProjectResponse> getProjectsByMemberEmail(String memberEmail) {
-        Member member = memberRepository.findByEmail(memberEmail)
-                .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
-        List<Project> projects = projectRepository.findAllByMember(member);
-        return projects.stream()
-                .map(ProjectResponse::from)
-                .collect(Collectors.toList());
+        if (!memberRepository.existsByEmail(memberEmail)) {
+            throw new BusinessException(ErrorCode.MEMBER_NOT_FOUND);
+        }
+        return projectRepository.findResponsesByMemberEmail(memberEmail);
     }
 
     @Override
     public ProjectResponse getProjectDetails(Long projectId) {
-        Project project = projectRepository.findById(projectId)
+        return projectRepository.findResponseById(projectId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
-        
-        Member owner = project.getMember();
-        
-        return ProjectResponse.from(project, owner.getEmail());
     }
 
     @Transactional
     @Override
-    public ProjectResponse updateProjectInfo(String memberEmail, Long projectId, UpdateProjectRequest request){
-        Member member = memberRepository.findByEmail(memberEmail)
-                .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
-        Project project = getProjectAndCheckOwnership(member.getId(), projectId);
+    public ProjectResponse updateProjectInfo(Long memberId, Long projectId, UpdateProjectRequest request){
+        Project project = getProjectAndCheckOwnership(memberId, projectId);
 
         project.rename(request.getName());
         project.updateDescription(request.getDescription());
@@ -84,14 +120,10 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     @Transactional
-    public void deleteProject(String memberEmail, Long projectId) {
-        Member member = memberRepository.findByEmail(memberEmail)
-                .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
-        Project project = getProjectAndCheckOwnership(member.getId(), projectId);
-        if (project.getRootDirId() != null) {
-            fileRepository.deleteById(project.getRootDirId());
-        }
-        projectRepository.delete(project);
+    public void deleteProject(Long memberId, Long projectId) {
+        Project project = getProjectAndCheckOwnership(memberId, projectId);
+        // 바로 조회에서 제외하고, 파일 트리와 행은 DeletionPurgeService 가 나눠서 지운다
+        project.markDeleted();
     }
 
     @Override
@@ -104,37 +136,62 @@ public class ProjectServiceImpl implements ProjectService {
         });
     }
 
+    @Override
+    public ProjectFeedResponse getPublicProjectFeed(String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        // 한 개 더 읽어 다음 페이지가 있는지 판단 (COUNT 쿼리 없음)
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ProjectHubResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = projectRepository.findPublicFeed(page);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            rows = projectRepository.findPublicFeedAfter(after.updatedAt(), after.id(), page);
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<ProjectHubResponse> items = hasNext ? rows.subList(0, limit) : rows;
+        ProjectHubResponse last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return ProjectFeedResponse.builder()
+                .items(List.copyOf(items))
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new FeedCursor(last.getUpdatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
     @Override
     @Transactional
-    public ProjectResponse updateProjectPublish(String memberEmail, Long projectId, UpdateProjectPublishRequest request) {
-        Member member = memberRepository.findByEmail(memberEmail)
-                .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
-        Project project = getProjectAndCheckOwnership(member.getId(), projectId);
+    public ProjectResponse updateProjectPublish(Long memberId, Long projectId, UpdateProjectPublishRequest request) {
+        Project project = getProjectAndCheckOwnership(memberId, projectId);
         if (request.getIsPublic()) {
             project.publish();
         } else {
+            // 복사 전 포크가 비공개 이후의 수정을 읽지 않도록 지금 내용으로 복사해 둔다
+            if (project.getRootPath() != null) {
+                shardRouter.write(project.getId(), () -> projectForkService.materializeForks(project.getRootPath()));
+            }
             project.unpublish();
         }
         return ProjectResponse.from(project);
     }
 
+    // 보관된 트리를 별도 트랜잭션으로 복원한 뒤 읽으므로, 그 커밋이 보이도록 READ_COMMITTED
     @Override
-    public FileNodeResponse getProjectRootDirectory(String memberEmail, Long projectId) {
-        Member member = memberRepository.findByEmail(memberEmail)
-                .orElseThrow(() -> new BusinessException(ErrorCode.MEMBER_NOT_FOUND));
-        Project project = getProjectAndCheckOwnership(member.getId(), projectId);
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public FileNodeResponse getProjectRootDirectory(Long memberId, Long projectId) {
+        Project project = getProjectAndCheckOwnership(memberId, projectId);
+        projectArchiveService.restoreIfArchived(project);
         
         if (project.getRootDirId() == null) {
             throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
         }
         
-        FileNode rootDir = fileRepository.findById(project.getRootDirId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
-        
-        return FileNodeResponse.from(rootDir);
+        return shardRouter.read(project.getId(), () -> toTreeResponse(fileRepository.findById(project.getRootDirId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND))));
     }
 
     @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
     public FileNodeResponse getPublicProjectRootDirectory(Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
@@ -143,23 +200,50 @@ public class ProjectServiceImpl implements ProjectService {
         if (!project.isPublic()) {
             throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
         }
+        projectArchiveService.restoreIfArchived(project);
         
         if (project.getRootDirId() == null) {
             throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
         }
         
-        FileNode rootDir = fileRepository.findById(project.getRootDirId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
-        
-        return FileNodeResponse.from(rootDir);
+        return shardRouter.read(project.getId(), () -> toTreeResponse(fileRepository.findById(project.getRootDirId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND))));
+    }
+
+    // 복사 전 포크는 원본 트리를 포크 경로로 보여줌
+    private FileNodeResponse toTreeResponse(FileNode rootDir) {
+        if (!rootDir.isVirtualFork()) {
+            return FileNodeResponse.from(rootDir);
+        }
+        FileNode source = projectForkService.resolveRoot(rootDir);
+        return FileNodeResponse.mirror(source, rootDir.getId(), rootDir.getName(), rootDir.getPath());
     }
 
+    // (id, member_id) 조건으로 한 번에 조회. 없을 때만 어떤 오류인지 구분하려고 한 번 더 확인
     private Project getProjectAndCheckOwnership(Long memberId, Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
-        if (!project.getMember().getId().equals(memberId)) {
-            throw new BusinessException(ErrorCode.HANDLE_ACCESS_DENIED);
+        return projectRepository.findByIdAndMemberId(projectId, memberId)
+                .orElseThrow(() -> new BusinessException(projectRepository.existsById(projectId)
+                        ? ErrorCode.HANDLE_ACCESS_DENIED
+                        : ErrorCode.PROJECT_NOT_FOUND));
+    }
+
+    // 피드 커서: 마지막으로 받은 항목의 (updatedAt, id). 클라이언트에는 불투명한 문자열로 전달
+    private record FeedCursor(LocalDateTime updatedAt, Long id) {
+
+        String encode() {
+            String raw = updatedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+            }
         }
-        return project;
     }
 }
@@ -0,0 +1,168 @@
+package first.webide.service;
+
+import first.webide.config.ShardingProperties;
+import first.webide.domain.FileNode;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import first.webide.repository.FileVersionRepository;
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프로젝트의 파일 트리를 다른 샤드로 옮긴다 (서비스를 멈추지 않고).
+ * 1. 샤드 맵에 이동 중 표시 → 파일 쓰기는 PROJECT_MOVING 으로 거절, 읽기는 원래 샤드에서 계속
+ * 2. 포크 관계를 풀고(복사) 트리와 저장 이력을 ID 그대로 대상 샤드에 복사 (샤드마다 ID 범위가 달라 겹치지 않음)
+ * 3. 샤드 맵을 대상 샤드로 바꾸고, 옛 위치를 캐시한 인스턴스가 없어진 뒤 원래 샤드의 행을 나눠 지운다
+ * 다른 인스턴스가 바뀐 샤드 맵을 보도록 1, 3 뒤에 app.sharding.map-cache-ttl 만큼 기다린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectShardMover {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ShardMap shardMap;
+    private final ShardRouter shardRouter;
+    private final ShardingProperties properties;
+    private final ProjectRepository projectRepository;
+    private final FileRepository fileRepository;
+    private final FileVersionRepository fileVersionRepository;
+    private final ProjectForkService projectForkService;
+    private final ProjectArchiveService projectArchiveService;
+    private final ProjectSourceCache projectSourceCache;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 운영자가 AdminController(POST /api/admin/projects/{projectId}/shard)로 호출한다.
+     *
+     * @return 옮겼으면 true (이미 그 샤드에 있거나 다른 이동이 진행 중이면 false)
+     */
+    public boolean move(Long projectId, int target) {
+        if (!properties.isEnabled() || target < 0 || target >= shardMap.getShardCount()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        // 보관된 트리는 행으로 되돌린 뒤 옮긴다 (이동 중에는 보관하지 않음)
+        projectArchiveService.restoreIfArchived(projectId);
+        if (!shardMap.beginMove(projectId, target)) {
+            return false;
+        }
+        int source = shardMap.placementOf(projectId).shard();
+        Tree tree = Tree.EMPTY;
+        try {
+            settle();
+            tree = copy(projectId, source, target);
+            shardMap.completeMove(projectId, target);
+        } catch (RuntimeException e) {
+            deleteFrom(target, tree); // 복사는 끝났지만 샤드 맵을 바꾸지 못한 경우
+            shardMap.abortMove(projectId);
+            throw e;
+        }
+        log.info("Moved project {} from shard {} to {} ({} nodes, {} versions)",
+                projectId, source, target, tree.nodes().size(), tree.versions().size());
+
+        settle();
+        deleteFrom(source, tree);
+        if (tree.rootPath() != null) {
+            projectSourceCache.evict(tree.rootPath());
+        }
+        return true;
+    }
+
+    private Tree copy(Long projectId, int source, int target) {
+        Long rootDirId = projectRepository.findRootDirIdIncludingDeleted(projectId);
+        if (rootDirId == null) {
+            return Tree.EMPTY;
+        }
+        // 포크 관계가 있으면 다른 프로젝트가 이 트리를 읽고 있으므로 먼저 복사해 독립시킨다
+        String rootPath = shardRouter.onShard(source, false, () -> {
+            FileNode root = fileRepository.findById(rootDirId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.FILE_NOT_FOUND));
+            projectForkService.detachAll(root.getPath());
+            return root.getPath();
+        });
+        Tree tree = shardRouter.onShard(source, true, () -> read(rootDirId, rootPath));
+        // 한 트랜잭션으로 넣으므로 실패하면 대상 샤드에는 아무것도 남지 않는다
+        shardRouter.onShard(target, false, () -> {
+            insert("file_node", tree.nodes());
+            insert("file_version", tree.versions());
+            return null;
+        });
+        return tree;
+    }
+
+    // 경로순이라 부모가 자식보다 먼저 온다
+    private Tree read(Long rootDirId, String rootPath) {
+        String pattern = escapeLike(rootPath) + "/%";
+        List<Map<String, Object>> nodes = jdbcTemplate.queryForList(
+                "select * from file_node where id = ? or path like ? escape '!' order by path", rootDirId, pattern);
+        List<Map<String, Object>> versions = jdbcTemplate.queryForList(
+                "select v.* from file_version v join file_node f on f.id = v.file_id "
+                        + "where f.id = ? or f.path like ? escape '!'", rootDirId, pattern);
+        List<Long> nodeIds = nodes.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+        return new Tree(rootPath, nodes, versions, nodeIds);
+    }
+
+    // 컬럼을 그대로 복사 (ID 포함)
+    private void insert(String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())).stream()
+                    .map(row -> columns.stream().map(row::get).toArray())
+                    .toList();
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    // 자식부터 (경로 역순) 배치마다 짧은 트랜잭션으로
+    private void deleteFrom(int shard, Tree tree) {
+        List<Long> ids = new ArrayList<>(tree.nodeIds());
+        Collections.reverse(ids);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            shardRouter.onShard(shard, false, () -> {
+                fileVersionRepository.deleteAllByFileIdIn(batch);
+                fileRepository.detachAllByIdIn(batch);
+                fileRepository.deleteAllByIdInBatch(batch);
+                return null;
+            });
+        }
+    }
+
+    private void settle() {
+        Duration delay = properties.getMapCacheTtl();
+        if (delay.isZero() || delay.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving a project", e);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private record Tree(String rootPath, List<Map<String, Object>> nodes, List<Map<String, Object>> versions,
+                        List<Long> nodeIds) {
+        static final Tree EMPTY = new Tree(null, List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,94 @@
+package first.webide.service;
+
+import first.webide.dto.request.PistonRequest.FileEntry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 프로젝트 실행용 소스 스냅샷 캐시 (key: 루트 디렉토리 경로).
+ * FileService 의 변경 작업이 커밋되면 해당 루트의 스냅샷을 비운다.
+ */
+@Component
+public class ProjectSourceCache {
+
+    private static final int MAX_PROJECTS = 256;
+
+    private final Map<String, List<FileEntry>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<FileEntry>> eldest) {
+            return size() > MAX_PROJECTS;
+        }
+    };
+
+    // 비울 때마다 올리는 번호와 루트별로 마지막에 비운 번호.
+    // 읽기 시작한 뒤 그 루트가 비워졌으면 읽어 온 (옛) 내용은 캐시에 넣지 않는다
+    private long generation;
+    // 오래되어 잊은 기록 중 가장 큰 번호. 기록이 없는 루트는 이때 비워진 것으로 본다
+    private long forgottenGeneration;
+    private final Map<String, Long> evictedAt = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            if (size() > MAX_PROJECTS * 4) {
+                forgottenGeneration = eldest.getValue();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public List<FileEntry> get(String rootPath, Supplier<List<FileEntry>> loader) {
+        long startedAt;
+        synchronized (cache) {
+            List<FileEntry> cached = cache.get(rootPath);
+            if (cached != null) {
+                return cached;
+            }
+            startedAt = generation;
+        }
+        List<FileEntry> loaded = List.copyOf(loader.get());
+        synchronized (cache) {
+            if (evictedAt.getOrDefault(rootPath, forgottenGeneration) <= startedAt) {
+                cache.put(rootPath, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * path 가 속한 프로젝트의 스냅샷을 비운다. 트랜잭션 안이면 커밋 후에도 한 번 더 비워서
+     * 커밋 전에 다른 요청이 옛 내용을 다시 채워 넣는 경우를 막는다.
+     */
+    public void evict(String path) {
+        String rootPath = rootPathOf(path);
+        remove(rootPath);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(rootPath);
+                }
+            });
+        }
+    }
+
+    private void remove(String rootPath) {
+        synchronized (cache) {
+            cache.remove(rootPath);
+            // 다시 넣어 가장 최근 기록으로 (번호 순서와 삽입 순서가 같아야 가장 오래된 기록이 가장 작은 번호)
+            evictedAt.remove(rootPath);
+            evictedAt.put(rootPath, ++generation);
+        }
+    }
+
+    // "/project/src/Main.java" → "/project"
+    static String rootPathOf(String path) {
+        int next = path.indexOf('/', 1);
+        return next < 0 ? path : path.substring(0, next);
+    }
+}
@@ -0,0 +1,137 @@
+package first.webide.service;
+
+import first.webide.api.PistonApiClient;
+import first.webide.dto.response.RuntimeResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실행 엔진이 제공하는 언어/버전 목록 캐시.
+ * 시작 시와 이후 주기적으로 엔진의 /runtimes 를 받아와 요청의 언어/버전을 원격 호출 없이 검증하고,
+ * 버전이 없으면 최신 버전으로 채운다. 목록을 한 번도 받지 못했으면 기본 지원 언어만 확인하고
+ * 버전은 엔진에 맡긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RuntimeCatalog {
+
+    private static final Comparator<String> NEWEST_FIRST = RuntimeCatalog::compareVersions;
+
+    private final PistonApiClient pistonApiClient;
+
+    private volatile List<RuntimeResponse> runtimes = List.of();
+    // 언어 이름과 별칭 → 버전 목록 (최신순)
+    private volatile Map<String, List<String>> versionsByName;
+    // 언어 이름과 별칭 → 언어 이름 (허용 목록 확인용)
+    private volatile Map<String, String> languageByName = Map.of();
+
+    // 테스트처럼 엔진을 부르면 안 되는 환경에서는 끈다
+    @Value("${execution.runtimes.refresh-enabled:true}")
+    private boolean refreshEnabled;
+
+    @Scheduled(fixedDelayString = "${execution.runtimes.refresh-interval:PT10M}")
+    public void scheduledRefresh() {
+        if (refreshEnabled) {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        List<RuntimeResponse> fetched;
+        try {
+            fetched = pistonApiClient.getRuntimes();
+        } catch (Exception e) {
+            log.warn("Failed to fetch runtimes from execution engine: {}", e.getMessage());
+            return;
+        }
+        if (fetched == null || fetched.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> versions = new HashMap<>();
+        Map<String, String> languages = new HashMap<>();
+        for (RuntimeResponse runtime : fetched) {
+            List<String> names = new ArrayList<>();
+            names.add(runtime.getLanguage());
+            if (runtime.getAliases() != null) {
+                names.addAll(runtime.getAliases());
+            }
+            for (String name : names) {
+                versions.computeIfAbsent(name.toLowerCase(), key -> new ArrayList<>()).add(runtime.getVersion());
+                languages.putIfAbsent(name.toLowerCase(), runtime.getLanguage().toLowerCase());
+            }
+        }
+        versions.values().forEach(list -> list.sort(NEWEST_FIRST));
+
+        this.runtimes = List.copyOf(fetched);
+        this.languageByName = languages;
+        this.versionsByName = versions;
+        log.debug("Loaded {} runtimes from execution engine", fetched.size());
+    }
+
+    public List<RuntimeResponse> getRuntimes() {
+        return runtimes;
+    }
+
+    /**
+     * 언어/버전을 검증하고 실제로 요청할 버전을 돌려준다.
+     * - version 이 비었거나 "*" 이면 최신 버전
+     * - "3.10" / "3.x" 처럼 앞부분만 주면 그에 맞는 최신 버전
+     *
+     * 엔진이 제공하더라도 SUPPORTED_LANGUAGES 에 없는 언어(별칭이면 그 언어)는 항상 거절한다.
+     *
+     * @return 보낼 버전. 카탈로그가 아직 없으면 받은 version 그대로
+     */
+    public String resolveVersion(String language, String version) {
+        String name = language.toLowerCase();
+        Map<String, List<String>> current = versionsByName;
+        if (!CodeExecuteServiceImpl.SUPPORTED_LANGUAGES.contains(languageByName.getOrDefault(name, name))) {
+            throw new BusinessException(ErrorCode.UNSUPPORTED_LANGUAGE);
+        }
+        if (current == null) {
+            return version;
+        }
+
+        List<String> versions = current.get(name);
+        if (versions == null) {
+            throw new BusinessException(ErrorCode.UNSUPPORTED_LANGUAGE);
+        }
+        if (version == null || version.isBlank() || "*".equals(version)) {
+            return versions.get(0);
+        }
+        String prefix = version.trim().replaceAll("(\\.[xX*])+$", "");
+        return versions.stream()
+                .filter(candidate -> candidate.equals(prefix) || candidate.startsWith(prefix + "."))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(ErrorCode.UNSUPPORTED_VERSION));
+    }
+
+    // 숫자 단위로 비교, 큰 버전이 앞으로 ("3.10.0" > "3.9.4")
+    static int compareVersions(String a, String b) {
+        String[] left = a.split("[.+-]");
+        String[] right = b.split("[.+-]");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            String l = i < left.length ? left[i] : "0";
+            String r = i < right.length ? right[i] : "0";
+            int result = l.matches("\\d+") && r.matches("\\d+")
+                    ? Long.compare(Long.parseLong(r), Long.parseLong(l))
+                    : r.compareTo(l);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
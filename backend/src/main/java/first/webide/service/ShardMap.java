@@ -0,0 +1,102 @@
+package first.webide.service;
+
+import first.webide.config.ShardContext;
+import first.webide.config.ShardingProperties;
+import first.webide.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 프로젝트 -> 샤드 맵. 홈 DB 의 project.shard_id / moving_to_shard 가 원본이고,
+ * 파일 요청마다 읽지 않도록 app.sharding.map-cache-ttl 동안 메모리에 둔다.
+ * 어느 샤드 범위 안에서 불려도 항상 홈 DB 에 별도 트랜잭션으로 읽고 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShardMap {
+
+    // 캐시가 이보다 커지면 비운다 (만료된 항목을 따로 정리하지 않음)
+    private static final int MAX_CACHED = 10_000;
+
+    private final ProjectRepository projectRepository;
+    private final ShardingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    public int getShardCount() {
+        return properties.getShardCount();
+    }
+
+    /**
+     * @return 프로젝트의 현재 샤드와 이동 중 여부 (프로젝트가 없으면 홈 DB)
+     */
+    public Placement placementOf(Long projectId) {
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(projectId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.placement;
+        }
+        Placement placement = onHome(true, () -> projectRepository.findShardPlacement(projectId)
+                .map(found -> new Placement(found.getShardId(), found.getMovingToShard() != null))
+                .orElse(Placement.HOME));
+        if (cache.size() >= MAX_CACHED) {
+            cache.clear();
+        }
+        cache.put(projectId, new Cached(placement, now + properties.getMapCacheTtl().toMillis()));
+        return placement;
+    }
+
+    // 새 프로젝트의 샤드. 프로젝트 ID 로 고르게 나눈다
+    public int placeNewProject(Long projectId) {
+        return (int) Math.floorMod(projectId, (long) getShardCount());
+    }
+
+    /**
+     * 이동 시작 표시. 이후 (다른 인스턴스는 캐시가 만료된 뒤부터) 이 프로젝트의 파일 쓰기는 거절된다.
+     *
+     * @return 표시했으면 true (이미 옮기는 중이거나 같은 샤드면 false)
+     */
+    boolean beginMove(Long projectId, int target) {
+        checkShard(target);
+        boolean begun = onHome(false, () -> projectRepository.beginMove(projectId, target)) > 0;
+        cache.remove(projectId);
+        return begun;
+    }
+
+    void completeMove(Long projectId, int target) {
+        onHome(false, () -> projectRepository.completeMove(projectId, target));
+        cache.remove(projectId);
+    }
+
+    void abortMove(Long projectId) {
+        onHome(false, () -> projectRepository.abortMove(projectId));
+        cache.remove(projectId);
+    }
+
+    void checkShard(int shard) {
+        if (shard < 0 || shard >= getShardCount()) {
+            throw new IllegalArgumentException("Unknown shard " + shard);
+        }
+    }
+
+    private <T> T onHome(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(readOnly);
+        return ShardContext.callOn(ShardContext.HOME, () -> template.execute(status -> work.get()));
+    }
+
+    public record Placement(int shard, boolean moving) {
+        static final Placement HOME = new Placement(ShardContext.HOME, false);
+    }
+
+    private record Cached(Placement placement, long expiresAt) {
+    }
+}
@@ -0,0 +1,107 @@
+package first.webide.service;
+
+import first.webide.config.ShardContext;
+import first.webide.config.ShardingProperties;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * 파일 트리(FileRepository, FileVersionRepository)를 다루는 작업을 프로젝트의 샤드에서 실행한다.
+ * 샤딩이 꺼져 있으면 작업을 그대로 호출하므로 호출하는 쪽 트랜잭션에 참여한다.
+ * 켜져 있으면 샤드를 지정하고 별도 트랜잭션을 열어, 작업 안의 저장소 호출이 모두 그 샤드로 간다.
+ * - 한 작업 안에서는 한 프로젝트(와 같은 샤드에 있는 포크 원본)의 파일만 다룬다
+ * - 엔티티의 지연 로딩은 작업 안에서 끝내야 한다 (응답 DTO 변환까지 작업에 포함)
+ */
+@Service
+@RequiredArgsConstructor
+public class ShardRouter {
+
+    private final ShardMap shardMap;
+    private final ShardingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public <T> T read(Long projectId, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        return onShard(shardMap.placementOf(projectId).shard(), true, work);
+    }
+
+    // 다른 샤드로 옮기는 중이면 PROJECT_MOVING
+    public <T> T write(Long projectId, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        ShardMap.Placement placement = shardMap.placementOf(projectId);
+        if (placement.moving()) {
+            throw new BusinessException(ErrorCode.PROJECT_MOVING);
+        }
+        return onShard(placement.shard(), false, work);
+    }
+
+    public void write(Long projectId, Runnable work) {
+        write(projectId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // 프로젝트 행 등 홈 DB 에만 있는 테이블을 샤드 작업 중에 바꿀 때
+    public <T> T onHome(Supplier<T> work) {
+        return onShard(ShardContext.HOME, false, work);
+    }
+
+    /**
+     * 지정한 샤드에서 실행 (새 프로젝트의 루트 생성, 프로젝트 이동).
+     * 이미 그 샤드의 트랜잭션 안이면 참여하고, 아니면 바깥 트랜잭션을 잠시 멈추고 새로 연다.
+     * 트랜잭션 밖이면 요청 범위 EntityManager(open-in-view)도 잠시 떼어 둔다.
+     * 그 EntityManager 는 홈 DB 커넥션을 요청이 끝날 때까지 잡고 있어, 새 트랜잭션이 그대로 쓰면 샤드로 가지 못한다.
+     */
+    public <T> T onShard(int shard, boolean readOnly, Supplier<T> work) {
+        if (!commitsSeparately(shard)) {
+            return work.get();
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(readOnly);
+        EntityManagerHolder requestScoped = TransactionSynchronizationManager.isActualTransactionActive()
+                ? null
+                : (EntityManagerHolder) TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            return ShardContext.callOn(shard, () -> template.execute(status -> work.get()));
+        } finally {
+            if (requestScoped != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestScoped);
+            }
+        }
+    }
+
+    // 지정한 샤드의 작업이 지금 트랜잭션과 따로 커밋되는지 (onShard 가 새 트랜잭션을 여는지)
+    public boolean commitsSeparately(int shard) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        Integer current = ShardContext.current();
+        int active = current != null ? current : ShardContext.HOME;
+        return active != shard || !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    // 새 프로젝트의 파일 트리를 둘 샤드 (꺼져 있으면 홈 DB)
+    public int shardForNewProject(Long projectId) {
+        return properties.isEnabled() ? shardMap.placeNewProject(projectId) : ShardContext.HOME;
+    }
+
+    public int getShardCount() {
+        return properties.isEnabled() ? shardMap.getShardCount() : 1;
+    }
+}
@@ -0,0 +1,72 @@
+-- 기존 엔티티 기준 초기 스키마 (H2: 로컬/테스트용)
+
+create sequence member_seq start with 1 increment by 50;
+create sequence project_seq start with 1 increment by 50;
+create sequence file_node_seq start with 1 increment by 50;
+create sequence file_version_seq start with 1 increment by 50;
+create sequence refresh_token_seq start with 1 increment by 50;
+
+create table member (
+    id           bigint       not null,
+    email        varchar(50)  not null,
+    password     varchar(100) not null,
+    username     varchar(15)  not null,
+    role         enum ('ADMIN','USER'),
+    created_date timestamp(6),
+    primary key (id),
+    constraint uk_member_email unique (email),
+    constraint uk_member_username unique (username)
+);
+
+create table project (
+    id          bigint       not null,
+    name        varchar(255) not null,
+    description varchar(255),
+    member_id   bigint       not null,
+    root_dir_id bigint,
+    is_public   boolean      not null,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    primary key (id),
+    constraint fk_project_member foreign key (member_id) references member (id)
+);
+
+create index idx_project_public_updated on project (is_public, updated_at, id);
+
+create table file_node (
+    id             bigint      not null,
+    name           varchar(50) not null,
+    path           varchar(50) not null,
+    type           enum ('DIRECTORY','FILE') not null,
+    content        clob,
+    parent_id      bigint,
+    fork_source_id bigint,
+    primary key (id),
+    constraint uk_file_node_path unique (path),
+    constraint fk_file_node_parent foreign key (parent_id) references file_node (id)
+);
+
+create index idx_file_node_fork_source on file_node (fork_source_id);
+
+create table file_version (
+    id            bigint  not null,
+    file_id       bigint  not null,
+    version       integer not null,
+    base_version  integer not null,
+    prefix_length integer not null,
+    suffix_length integer not null,
+    data          clob,
+    length        integer not null,
+    created_at    timestamp(6),
+    primary key (id),
+    constraint uk_file_version_file_version unique (file_id, version)
+);
+
+create table refresh_token (
+    refresh_token_id bigint not null,
+    member_id        bigint,
+    token            varchar(255),
+    primary key (refresh_token_id),
+    constraint uk_refresh_token_member unique (member_id),
+    constraint fk_refresh_token_member foreign key (member_id) references member (id)
+);
@@ -0,0 +1,8 @@
+-- 조회 경로별 인덱스
+-- file_node (parent_id, name): 자식 목록(findByParent...), 이름 중복 검사(existsByParentAndName)
+-- project (member_id): 회원별 프로젝트 목록. is_public 조회는 idx_project_public_updated 의 선두 컬럼으로 처리
+-- refresh_token (token): 토큰 재발급(findByToken)
+
+create index idx_file_node_parent_name on file_node (parent_id, name);
+create index idx_project_member on project (member_id);
+create index idx_refresh_token_token on refresh_token (token);
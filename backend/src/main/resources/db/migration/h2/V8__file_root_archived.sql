@@ -0,0 +1,2 @@
+-- 보관된 트리의 루트 디렉토리 표시. 루트 행을 잠근 쓰기/포크가 보관 중인 트리를 건드리지 않게 한다
+alter table file_node add column archived boolean default false not null;
@@ -0,0 +1,2 @@
+-- 이력 없이 저장된 내용이 있는 파일 (공동 편집 중간 저장). 다음 이력은 마지막 버전 내용과 비교해 남긴다
+alter table file_node add column history_pending boolean default false not null;
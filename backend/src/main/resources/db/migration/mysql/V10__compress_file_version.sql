@@ -0,0 +1,9 @@
+-- 이력 내용(스냅샷 전체 내용, 델타의 새 텍스트)도 파일 내용과 같이 바이트로 저장하고 행마다 형식을 기록
+-- 기존 이력은 NONE 으로 옮긴다
+alter table file_version
+    add column data_codec enum ('NONE','GZIP','DEFLATE'),
+    add column data_bytes longblob;
+
+update file_version set data_bytes = convert(data using utf8mb4), data_codec = 'NONE' where data is not null;
+
+alter table file_version drop column data;
@@ -0,0 +1,86 @@
+-- 기존 엔티티 기준 초기 스키마 (MySQL)
+-- 이전까지 Hibernate 가 만든 스키마가 있는 DB 에도 적용할 수 있도록 IF NOT EXISTS 로 작성
+-- (spring.flyway.baseline-on-migrate / baseline-version: 0)
+
+create table if not exists member (
+    id           bigint       not null,
+    email        varchar(50)  not null,
+    password     varchar(100) not null,
+    username     varchar(15)  not null,
+    role         enum ('ADMIN','USER'),
+    created_date datetime(6),
+    primary key (id),
+    constraint uk_member_email unique (email),
+    constraint uk_member_username unique (username)
+) engine=InnoDB;
+
+create table if not exists project (
+    id          bigint       not null,
+    name        varchar(255) not null,
+    description varchar(255),
+    member_id   bigint       not null,
+    root_dir_id bigint,
+    is_public   bit          not null,
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    primary key (id),
+    index idx_project_public_updated (is_public, updated_at, id),
+    constraint fk_project_member foreign key (member_id) references member (id)
+) engine=InnoDB;
+
+create table if not exists file_node (
+    id             bigint      not null,
+    name           varchar(50) not null,
+    path           varchar(50) not null,
+    type           enum ('DIRECTORY','FILE') not null,
+    content        longtext,
+    parent_id      bigint,
+    fork_source_id bigint,
+    primary key (id),
+    constraint uk_file_node_path unique (path),
+    index idx_file_node_fork_source (fork_source_id),
+    constraint fk_file_node_parent foreign key (parent_id) references file_node (id)
+) engine=InnoDB;
+
+create table if not exists file_version (
+    id            bigint  not null,
+    file_id       bigint  not null,
+    version       integer not null,
+    base_version  integer not null,
+    prefix_length integer not null,
+    suffix_length integer not null,
+    data          longtext,
+    length        integer not null,
+    created_at    datetime(6),
+    primary key (id),
+    constraint uk_file_version_file_version unique (file_id, version)
+) engine=InnoDB;
+
+create table if not exists refresh_token (
+    refresh_token_id bigint not null,
+    member_id        bigint,
+    token            varchar(255),
+    primary key (refresh_token_id),
+    constraint uk_refresh_token_member unique (member_id),
+    constraint fk_refresh_token_member foreign key (member_id) references member (id)
+) engine=InnoDB;
+
+-- MySQL 에는 시퀀스가 없어 Hibernate 는 *_seq 테이블 한 행(next_val)으로 대신한다.
+-- IDENTITY 시절 행이 남아 있는 DB 에서도 ID 가 겹치지 않도록 기존 최대 ID + 할당 크기(50) + 1 이상으로 맞춘다.
+create table if not exists member_seq (next_val bigint) engine=InnoDB;
+create table if not exists project_seq (next_val bigint) engine=InnoDB;
+create table if not exists file_node_seq (next_val bigint) engine=InnoDB;
+create table if not exists file_version_seq (next_val bigint) engine=InnoDB;
+create table if not exists refresh_token_seq (next_val bigint) engine=InnoDB;
+
+insert into member_seq (next_val) select 1 from dual where not exists (select * from member_seq);
+insert into project_seq (next_val) select 1 from dual where not exists (select * from project_seq);
+insert into file_node_seq (next_val) select 1 from dual where not exists (select * from file_node_seq);
+insert into file_version_seq (next_val) select 1 from dual where not exists (select * from file_version_seq);
+insert into refresh_token_seq (next_val) select 1 from dual where not exists (select * from refresh_token_seq);
+
+update member_seq set next_val = greatest(next_val, (select coalesce(max(id) + 51, 1) from member));
+update project_seq set next_val = greatest(next_val, (select coalesce(max(id) + 51, 1) from project));
+update file_node_seq set next_val = greatest(next_val, (select coalesce(max(id) + 51, 1) from file_node));
+update file_version_seq set next_val = greatest(next_val, (select coalesce(max(id) + 51, 1) from file_version));
+update refresh_token_seq set next_val = greatest(next_val, (select coalesce(max(refresh_token_id) + 51, 1) from refresh_token));
@@ -0,0 +1,9 @@
+-- 조회 경로별 인덱스
+-- file_node (parent_id, name): 자식 목록(findByParent...), 이름 중복 검사(existsByParentAndName)
+-- project (member_id): 회원별 프로젝트 목록. is_public 조회는 idx_project_public_updated 의 선두 컬럼으로 처리
+-- refresh_token (token): 토큰 재발급(findByToken)
+-- (parent_id, member_id 의 외래 키용 자동 인덱스는 새 인덱스로 대체됨)
+
+create index idx_file_node_parent_name on file_node (parent_id, name);
+create index idx_project_member on project (member_id);
+create index idx_refresh_token_token on refresh_token (token);
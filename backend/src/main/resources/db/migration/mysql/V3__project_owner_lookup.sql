@@ -0,0 +1,5 @@
+-- 파일 API 권한 확인: 파일 경로의 루트 디렉토리로 프로젝트를 찾음 (findByRootPath)
+create index idx_project_root_dir on project (root_dir_id);
+
+-- 토큰에 jti, mid 클레임이 추가되어 255자를 넘음
+alter table refresh_token modify token varchar(512);
@@ -0,0 +1,6 @@
+-- 삭제 표시 (조회에서 제외, 실제 삭제는 정리 작업이 나눠서 수행)
+alter table member add column deleted_at datetime(6);
+alter table project add column deleted_at datetime(6);
+
+create index idx_member_deleted on member (deleted_at);
+create index idx_project_deleted on project (deleted_at);
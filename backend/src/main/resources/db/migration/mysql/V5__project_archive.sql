@@ -0,0 +1,4 @@
+-- 오래 수정되지 않은 프로젝트의 파일 트리를 보관소로 옮긴 시각 (복원되면 null)
+alter table project add column archived_at datetime(6);
+
+create index idx_project_archived_updated on project (archived_at, updated_at);
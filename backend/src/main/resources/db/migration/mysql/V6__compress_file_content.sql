@@ -0,0 +1,9 @@
+-- 파일 내용을 바이트로 저장하고 행마다 형식(압축 여부)을 기록
+-- 기존 내용은 NONE 으로 옮기고, 다음에 저장될 때 설정에 따라 압축된다
+alter table file_node
+    add column content_codec enum ('NONE','GZIP','DEFLATE'),
+    add column content_data longblob;
+
+update file_node set content_data = convert(content using utf8mb4), content_codec = 'NONE' where content is not null;
+
+alter table file_node drop column content;
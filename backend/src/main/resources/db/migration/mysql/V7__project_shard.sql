@@ -0,0 +1,8 @@
+-- 파일 트리 샤딩: 프로젝트의 샤드(0 은 홈 DB)와 이동 중인 대상 샤드, 파일 테이블 없이 경로로 프로젝트를 찾기 위한 루트 경로
+alter table project add column shard_id integer default 0 not null;
+alter table project add column moving_to_shard integer;
+alter table project add column root_path varchar(255);
+
+update project p set root_path = (select f.path from file_node f where f.id = p.root_dir_id);
+
+create unique index uk_project_root_path on project (root_path);
@@ -0,0 +1,168 @@
+package first.webide.api;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.config.PistonProperties;
+import first.webide.dto.request.PistonRequest;
+import first.webide.dto.response.PistonResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class PistonApiClientTest {
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private PistonProperties pistonProperties;
+    private ExecutionProperties executionProperties;
+    private PistonEndpointPool endpointPool;
+    private PistonApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        pistonProperties = new PistonProperties();
+        pistonProperties.setBaseUrl("http://piston.test");
+        executionProperties = new ExecutionProperties();
+        executionProperties.getOutput().setMaxSize(DataSize.ofBytes(10));
+        createClient();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void createClient() {
+        endpointPool = new PistonEndpointPool(pistonProperties, restTemplate, mock(ObjectProvider.class));
+        client = new PistonApiClient(restTemplate, pistonProperties, executionProperties, endpointPool);
+    }
+
+    private PistonResponse execute(String responseBody) {
+        server.expect(requestTo("http://piston.test/execute"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
+        return client.executeCode(PistonRequest.builder().language("python").build());
+    }
+
+    @Test
+    @DisplayName("상한 이내의 출력은 그대로, output 필드는 읽지 않음")
+    void readsRunResult() {
+        PistonResponse response = execute("""
+                {"language":"python","version":"3.10.0","compile":{"stdout":""},
+                 "run":{"stdout":"hi\\n","stderr":"","code":0,"signal":null,"output":"hi\\n"}}
+                """);
+
+        assertThat(response.getLanguage()).isEqualTo("python");
+        assertThat(response.getVersion()).isEqualTo("3.10.0");
+        assertThat(response.getRun().getStdout()).isEqualTo("hi\n");
+        assertThat(response.getRun().getCode()).isZero();
+        assertThat(response.getRun().getOutput()).isNull();
+        assertThat(response.getRun().isTruncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("상한을 넘는 출력은 잘리고 표시가 붙음 (멀티바이트 문자는 중간에서 자르지 않음)")
+    void truncatesLargeOutput() {
+        PistonResponse response = execute("""
+                {"run":{"output":"skipped","stdout":"%s","stderr":"가나다라","code":1,"signal":"SIGKILL"}}
+                """.formatted("x".repeat(1000)));
+
+        PistonResponse.RunResult run = response.getRun();
+        assertThat(run.isTruncated()).isTrue();
+        assertThat(run.getStdout()).isEqualTo("x".repeat(10) + BoundedOutputBuffer.truncationMarker(10));
+        assertThat(run.getStderr()).isEqualTo("가나다" + BoundedOutputBuffer.truncationMarker(10));
+        assertThat(run.getCode()).isEqualTo(1);
+        assertThat(run.getSignal()).isEqualTo("SIGKILL");
+    }
+
+    @Test
+    @DisplayName("출력이 아무리 길어도 상한만큼만 담고, 출력 뒤에 오는 종료 코드까지 읽는다")
+    void streamsOutputWithoutBufferingWholeValue() {
+        // 2억 자: 통째로 문자열로 만들면 테스트 힙을 넘는다
+        long length = 200_000_000L;
+        byte[] head = "{\"run\":{\"stdout\":\"".getBytes(StandardCharsets.UTF_8);
+        byte[] tail = "\",\"stderr\":\"a\\\"b\\u00e9\",\"code\":3,\"signal\":null,\"output\":\"\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+        InputStream body = new InputStream() {
+            private long position;
+
+            @Override
+            public int read() {
+                long index = position++;
+                if (index < head.length) {
+                    return head[(int) index];
+                }
+                index -= head.length;
+                if (index < length) {
+                    return 'x';
+                }
+                index -= length;
+                return index < tail.length ? tail[(int) index] : -1;
+            }
+
+            @Override
+            public int read(byte[] target, int offset, int count) {
+                int n = 0;
+                while (n < count) {
+                    int b = read();
+                    if (b < 0) {
+                        return n == 0 ? -1 : n;
+                    }
+                    target[offset + n++] = (byte) b;
+                }
+                return n;
+            }
+        };
+        server.expect(requestTo("http://piston.test/execute"))
+                .andRespond(withSuccess(new InputStreamResource(body), MediaType.APPLICATION_JSON));
+
+        PistonResponse.RunResult run = client.executeCode(PistonRequest.builder().language("python").build()).getRun();
+
+        assertThat(run.isTruncated()).isTrue();
+        assertThat(run.getStdout()).isEqualTo("x".repeat(10) + BoundedOutputBuffer.truncationMarker(10));
+        assertThat(run.getStderr()).isEqualTo("a\"b\u00e9");
+        assertThat(run.getCode()).isEqualTo(3);
+        assertThat(run.getSignal()).isNull();
+    }
+
+    @Test
+    @DisplayName("엔진이 503 이면 다른 엔드포인트로 넘겨서 실행")
+    void failsOverToAnotherEndpoint() {
+        pistonProperties.setEndpoints(List.of("http://a.test", "http://b.test/"));
+        createClient();
+        // b 를 바쁘게 만들어 첫 선택이 a 가 되도록 함
+        PistonEndpointPool.Endpoint a = endpointPool.getEndpoints().get(0);
+        PistonEndpointPool.Endpoint b = endpointPool.acquire(Set.of(a));
+
+        server.expect(requestTo("http://a.test/execute"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(requestTo("http://b.test/execute"))
+                .andRespond(withSuccess("{\"run\":{\"stdout\":\"ok\",\"code\":0}}", MediaType.APPLICATION_JSON));
+
+        PistonResponse response = client.executeCode(PistonRequest.builder().language("python").build());
+
+        server.verify();
+        assertThat(response.getRun().getStdout()).isEqualTo("ok");
+        endpointPool.release(b, true);
+        assertThat(a.getOutstanding()).isZero();
+        assertThat(b.getOutstanding()).isZero();
+    }
+}
@@ -0,0 +1,67 @@
+package first.webide.api;
+
+import first.webide.config.PistonProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PistonEndpointPoolTest {
+
+    private PistonEndpointPool pool;
+    private PistonEndpointPool.Endpoint a;
+    private PistonEndpointPool.Endpoint b;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        PistonProperties properties = new PistonProperties();
+        properties.setEndpoints(List.of("http://a.test", "http://b.test"));
+        properties.getBalancing().setFailureThreshold(2);
+        properties.getBalancing().setOpenDuration(Duration.ofMinutes(1));
+        pool = new PistonEndpointPool(properties, new RestTemplate(), mock(ObjectProvider.class));
+        a = pool.getEndpoints().get(0);
+        b = pool.getEndpoints().get(1);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 적은 엔드포인트를 고른다")
+    void choosesLessLoadedEndpoint() {
+        PistonEndpointPool.Endpoint busy = pool.acquire(Set.of(b));
+        assertThat(busy).isSameAs(a);
+
+        for (int i = 0; i < 10; i++) {
+            PistonEndpointPool.Endpoint chosen = pool.acquire(Set.of());
+            assertThat(chosen).isSameAs(b);
+            pool.release(chosen, true);
+        }
+    }
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 닿으면 차단되고, 성공하면 복구된다")
+    void opensAfterConsecutiveFailures() {
+        pool.release(pool.acquire(Set.of(b)), false);
+        pool.release(pool.acquire(Set.of(b)), false);
+
+        for (int i = 0; i < 10; i++) {
+            PistonEndpointPool.Endpoint chosen = pool.acquire(Set.of());
+            assertThat(chosen).isSameAs(b);
+            pool.release(chosen, true);
+        }
+
+        // 모두 제외되지 않는 한 차단된 엔드포인트라도 마지막 수단으로 선택됨
+        PistonEndpointPool.Endpoint fallback = pool.acquire(Set.of(b));
+        assertThat(fallback).isSameAs(a);
+        pool.release(fallback, true);
+
+        assertThat(pool.acquire(Set.of(a, b))).isNull();
+    }
+}
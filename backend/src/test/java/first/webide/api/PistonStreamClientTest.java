@@ -0,0 +1,165 @@
+package first.webide.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import first.webide.config.PistonProperties;
+import first.webide.dto.request.PistonRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 연결 대신 HttpClient 를 목으로 바꿔, 엔진이 보내는 메시지를 WebSocket.Listener 에 직접 넣어 본다.
+ */
+class PistonStreamClientTest {
+
+    private PistonEndpointPool endpointPool;
+    private PistonStreamClient client;
+    private WebSocket.Builder builder;
+    private WebSocket webSocket;
+    private PistonStreamClient.Listener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        PistonProperties pistonProperties = new PistonProperties();
+        pistonProperties.setBaseUrl("http://piston.test");
+        endpointPool = new PistonEndpointPool(pistonProperties, new RestTemplate(), mock(ObjectProvider.class));
+        client = new PistonStreamClient(new ObjectMapper(), pistonProperties, endpointPool);
+
+        HttpClient httpClient = mock(HttpClient.class);
+        builder = mock(WebSocket.Builder.class);
+        webSocket = mock(WebSocket.class);
+        listener = mock(PistonStreamClient.Listener.class);
+        when(httpClient.newWebSocketBuilder()).thenReturn(builder);
+        when(builder.connectTimeout(any())).thenReturn(builder);
+        when(builder.buildAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(webSocket));
+        when(webSocket.sendText(anyString(), anyBoolean())).thenReturn(CompletableFuture.completedFuture(webSocket));
+        ReflectionTestUtils.setField(client, "httpClient", httpClient);
+    }
+
+    private PistonStreamClient.Session connect(String stdin) {
+        return client.connect(PistonRequest.builder().language("python").stdin(stdin).build(), listener);
+    }
+
+    // 연결 후 엔진 쪽 리스너를 열어 둔다
+    private WebSocket.Listener open() {
+        ArgumentCaptor<WebSocket.Listener> relay = ArgumentCaptor.forClass(WebSocket.Listener.class);
+        verify(builder).buildAsync(eq(URI.create("ws://piston.test/connect")), relay.capture());
+        relay.getValue().onOpen(webSocket);
+        return relay.getValue();
+    }
+
+    // 보낸 메시지에 주어진 조각이 모두 들어 있는지
+    private static CharSequence containing(String... parts) {
+        return argThat(text -> Arrays.stream(parts).allMatch(text.toString()::contains));
+    }
+
+    @Test
+    @DisplayName("출력 조각은 받은 순서대로 넘기고, 리스너가 끝낸 뒤에만 다음 메시지를 요청한다")
+    void relaysChunksInOrderWithBackpressure() throws Exception {
+        connect("input");
+        WebSocket.Listener relay = open();
+
+        relay.onText(webSocket, "{\"type\":\"runtime\",\"language\":\"python\",\"version\":\"3.10.0\"}", true);
+        relay.onText(webSocket, "{\"type\":\"data\",\"stream\":\"stdout\",\"data\":\"a\"}", true);
+        relay.onText(webSocket, "{\"type\":\"data\",\"stream\":\"stderr\",", false);
+        relay.onText(webSocket, "\"data\":\"b\"}", true);
+        relay.onText(webSocket, "{\"type\":\"data\",\"stream\":\"stdout\",\"data\":\"c\"}", true);
+        relay.onText(webSocket, "{\"type\":\"exit\",\"stage\":\"run\",\"code\":0,\"signal\":null}", true);
+
+        InOrder order = inOrder(webSocket, listener);
+        order.verify(webSocket).sendText(containing("\"type\":\"init\"", "\"version\":\"*\""), eq(true));
+        order.verify(webSocket).request(1);
+        // runtime 확인 뒤에 stdin 을 보냄
+        order.verify(webSocket).sendText(containing("\"stream\":\"stdin\"", "\"data\":\"input\""), eq(true));
+        order.verify(webSocket).request(1);
+        order.verify(listener).onOutput("stdout", "a");
+        // 나뉘어 온 메시지는 조각마다 하나씩 요청해 모은 뒤 넘김
+        order.verify(webSocket, times(2)).request(1);
+        order.verify(listener).onOutput("stderr", "b");
+        order.verify(webSocket).request(1);
+        order.verify(listener).onOutput("stdout", "c");
+        order.verify(webSocket).request(1);
+        order.verify(listener).onExit("run", 0, null);
+        order.verify(webSocket).sendClose(WebSocket.NORMAL_CLOSURE, "");
+        order.verifyNoMoreInteractions();
+
+        // 종료 뒤에는 더 요청하지 않고, 엔드포인트도 돌려줌
+        verify(webSocket, times(6)).request(1);
+        verify(listener, never()).onError(any());
+        assertThat(endpointPool.getEndpoints().get(0).getOutstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("컴파일 단계가 실패하면 run 단계를 기다리지 않고 종료 이벤트를 한 번만 보낸다")
+    void compileFailureIsTerminal() throws Exception {
+        connect(null);
+        WebSocket.Listener relay = open();
+
+        relay.onText(webSocket, "{\"type\":\"exit\",\"stage\":\"compile\",\"code\":1,\"signal\":null}", true);
+        relay.onClose(webSocket, WebSocket.NORMAL_CLOSURE, "");
+
+        verify(listener).onExit("compile", 1, null);
+        verify(listener, never()).onError(any());
+        verify(webSocket, times(1)).request(1);
+    }
+
+    @Test
+    @DisplayName("취소하면 연결을 끊고, 그 뒤에 온 메시지는 넘기지 않는다")
+    void cancelAbortsConnection() throws Exception {
+        PistonStreamClient.Session session = connect(null);
+        WebSocket.Listener relay = open();
+        relay.onText(webSocket, "{\"type\":\"data\",\"stream\":\"stdout\",\"data\":\"a\"}", true);
+
+        session.cancel();
+        relay.onText(webSocket, "{\"type\":\"data\",\"stream\":\"stdout\",\"data\":\"late\"}", true);
+        relay.onClose(webSocket, 1006, "aborted");
+
+        verify(webSocket).abort();
+        verify(listener).onOutput("stdout", "a");
+        verify(listener, never()).onOutput("stdout", "late");
+        verify(listener, never()).onExit(any(), any(), any());
+        verify(listener, never()).onError(any());
+        // 열 때 한 번, 첫 출력 뒤 한 번
+        verify(webSocket, times(2)).request(1);
+        assertThat(endpointPool.getEndpoints().get(0).getOutstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("종료 메시지 없이 연결이 닫히면 오류로 끝낸다")
+    void closeBeforeExitIsError() throws Exception {
+        connect(null);
+        WebSocket.Listener relay = open();
+
+        relay.onClose(webSocket, 1011, "engine crashed");
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(listener).onError(error.capture());
+        assertThat(error.getValue()).hasMessageContaining("1011");
+        verify(listener, never()).onExit(any(), any(), any());
+    }
+}
@@ -0,0 +1,100 @@
+package first.webide.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextOperationTest {
+
+    @Test
+    @DisplayName("retain/insert/delete 적용 및 JSON 왕복")
+    void applyAndJson() {
+        TextOperation operation = TextOperation.fromJson(List.of(6, "Java", -5, 1));
+
+        assertThat(operation.apply("Hello World!")).isEqualTo("Hello Java!");
+        assertThat(operation.getBaseLength()).isEqualTo(12);
+        assertThat(operation.getTargetLength()).isEqualTo(11);
+        assertThat(operation.toJson()).containsExactly(6, "Java", -5, 1);
+    }
+
+    @Test
+    @DisplayName("같은 위치의 삽입/삭제는 삽입이 앞에 오도록 정규화")
+    void insertBeforeDelete() {
+        TextOperation operation = new TextOperation().retain(1).delete(2).insert("x");
+
+        assertThat(operation.toJson()).containsExactly(1, "x", -2);
+    }
+
+    @Test
+    @DisplayName("문서 길이가 맞지 않으면 적용하지 않음")
+    void rejectsWrongBaseLength() {
+        TextOperation operation = new TextOperation().retain(3);
+
+        assertThatThrownBy(() -> operation.apply("ab")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextOperation.fromJson(List.of(0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("동시 편집: 같은 위치 삽입은 먼저 변환 인자로 들어온 쪽이 앞")
+    void transformConcurrentInserts() {
+        String document = "ab";
+        TextOperation a = new TextOperation().retain(1).insert("X").retain(1);
+        TextOperation b = new TextOperation().retain(1).insert("Y").retain(1);
+
+        TextOperation[] primes = TextOperation.transform(a, b);
+
+        assertThat(primes[1].apply(a.apply(document))).isEqualTo("aXYb");
+        assertThat(primes[0].apply(b.apply(document))).isEqualTo("aXYb");
+    }
+
+    @Test
+    @DisplayName("무작위 연산 쌍에 대해 변환 후 결과가 항상 수렴")
+    void transformConverges() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            String document = randomString(random, 20);
+            TextOperation a = randomOperation(random, document);
+            TextOperation b = randomOperation(random, document);
+
+            TextOperation[] primes = TextOperation.transform(a, b);
+
+            assertThat(primes[1].apply(a.apply(document)))
+                    .isEqualTo(primes[0].apply(b.apply(document)));
+        }
+    }
+
+    private static TextOperation randomOperation(Random random, String document) {
+        TextOperation operation = new TextOperation();
+        int index = 0;
+        while (index < document.length()) {
+            int length = 1 + random.nextInt(Math.min(5, document.length() - index));
+            switch (random.nextInt(3)) {
+                case 0 -> operation.retain(length);
+                case 1 -> operation.delete(length);
+                default -> {
+                    operation.insert(randomString(random, 4));
+                    operation.retain(length);
+                }
+            }
+            index += length;
+        }
+        if (random.nextBoolean()) {
+            operation.insert(randomString(random, 3));
+        }
+        return operation;
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
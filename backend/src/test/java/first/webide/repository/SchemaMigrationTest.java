@@ -0,0 +1,164 @@
+package first.webide.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.EntityType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마이그레이션으로 만든 스키마가 엔티티와 일치하는지 확인.
+ * 실제 설정(프로필 포함) 그대로 ddl-auto=validate 로 뜨므로 테이블/컬럼/타입/시퀀스가 다르면 컨텍스트부터 뜨지 않는다.
+ */
+@SpringBootTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Environment environment;
+
+    @Test
+    @DisplayName("어떤 프로필도 ddl-auto 를 덮어써 마이그레이션으로 만든 스키마를 다시 만들지 않는다")
+    void hibernateOnlyValidatesSchema() {
+        assertThat(environment.getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("validate");
+    }
+
+    @Test
+    @DisplayName("모든 마이그레이션이 적용되어 있다")
+    void migrationsApplied() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("엔티티에 선언한 인덱스와 유니크 제약이 모두 마이그레이션에 있다")
+    void declaredIndexesExist() throws SQLException {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            String tableName = table != null && !table.name().isEmpty() ? table.name() : snakeCase(entity.getName());
+            List<List<String>> indexes = indexesOf(tableName);
+
+            List<List<String>> declared = new ArrayList<>();
+            if (table != null) {
+                for (Index index : table.indexes()) {
+                    declared.add(columns(index.columnList().split(",")));
+                }
+                for (UniqueConstraint unique : table.uniqueConstraints()) {
+                    declared.add(columns(unique.columnNames()));
+                }
+            }
+            for (Field field : type.getDeclaredFields()) {
+                Column column = field.getAnnotation(Column.class);
+                if (column != null && column.unique()) {
+                    declared.add(List.of(column.name().isEmpty() ? snakeCase(field.getName()) : column.name()));
+                }
+            }
+
+            for (List<String> columns : declared) {
+                assertThat(indexes).as("%s %s", tableName, columns).contains(columns);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("저장소 조회 조건이 모두 인덱스로 처리된다 (전체 스캔 없음)")
+    void lookupsUseIndexes() {
+        List<String> lookups = List.of(
+                // FileRepository
+                "select * from file_node where path = '/p/a'",
+                "select * from file_node where parent_id = 1 order by type, name",
+                "select * from file_node where parent_id is null",
+                "select count(*) from file_node where parent_id = 1 and name = 'a'",
+                "select * from file_node where path like '/p/%' and type = 'FILE'",
+                "select * from file_node where path like '/p/%' order by path",
+                "select * from file_node where fork_source_id = 1",
+                "select id from file_node where fork_source_id is not null",
+                // FileVersionRepository
+                "select * from file_version where file_id = 1 order by version desc limit 1",
+                "select * from file_version where file_id = 1 and version = 2",
+                "select * from file_version where file_id = 1 and version between 1 and 5 order by version",
+                "delete from file_version where file_id in (1, 2)",
+                // MemberRepository
+                "select * from member where email = 'a@a'",
+                "select * from member where username = 'a'",
+                "select id from member where deleted_at is not null order by deleted_at limit 500",
+                // ProjectRepository
+                "select * from project where member_id = 1",
+                "select * from project where id = 1 and member_id = 2",
+                "select * from project where root_path = '/p'",
+                "select count(*) from project where root_path = '/p'",
+                "select id from project where deleted_at is not null order by deleted_at limit 1",
+                "select id from project where archived_at is null and moving_to_shard is null "
+                        + "and updated_at < timestamp '2025-01-01 00:00:00' and root_dir_id not in (1, 2) "
+                        + "order by updated_at limit 20",
+                "select * from project where is_public = true order by updated_at desc, id desc limit 20",
+                "select * from project where is_public = true and (updated_at < timestamp '2025-01-01 00:00:00' "
+                        + "or (updated_at = timestamp '2025-01-01 00:00:00' and id < 10)) "
+                        + "order by updated_at desc, id desc limit 20",
+                // RefreshTokenRepository
+                "select * from refresh_token where token = 't'",
+                "select * from refresh_token where member_id = 1",
+                "delete from refresh_token where member_id = 1");
+
+        for (String sql : lookups) {
+            String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+            assertThat(plan).as(sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    // 테이블의 인덱스별 컬럼 목록 (순서대로, 소문자)
+    private List<List<String>> indexesOf(String tableName) throws SQLException {
+        Map<String, Map<Short, String>> indexes = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, tableName.toUpperCase(), false, false)) {
+                while (rs.next()) {
+                    if (rs.getString("INDEX_NAME") == null) {
+                        continue;
+                    }
+                    indexes.computeIfAbsent(rs.getString("INDEX_NAME"), k -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+        }
+        return indexes.values().stream().map(columns -> List.copyOf(columns.values())).toList();
+    }
+
+    private static List<String> columns(String[] names) {
+        return Arrays.stream(names).map(String::trim).map(String::toLowerCase).toList();
+    }
+
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
@@ -0,0 +1,139 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.dto.request.BatchExecuteRequest;
+import first.webide.dto.request.BatchExecuteRequest.TestCase;
+import first.webide.dto.response.BatchExecuteResponse;
+import first.webide.dto.response.CodeExecuteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchExecuteServiceTest {
+
+    @Mock
+    private CodeExecuteService codeExecuteService;
+
+    private final ExecutionProperties properties = new ExecutionProperties();
+
+    @SuppressWarnings("unchecked")
+    private ExecutionScheduler newScheduler() {
+        return new ExecutionScheduler(properties, mock(ObjectProvider.class));
+    }
+
+    private BatchExecuteService newService(ExecutionScheduler scheduler) {
+        return new BatchExecuteService(codeExecuteService, scheduler, properties);
+    }
+
+    @Test
+    @DisplayName("모든 케이스를 실행하고 기대 출력과 비교해 채점한다")
+    void executeBatch_GradesEachCase() {
+        // given : 입력을 두 배로 출력하는 프로그램
+        when(codeExecuteService.execute(eq("python"), any(), anyList(), any(), any()))
+                .thenAnswer(invocation -> {
+                    String stdin = invocation.getArgument(4);
+                    int value = Integer.parseInt(stdin.trim());
+                    return CodeExecuteResponse.success((value * 2) + "\r\n", 5);
+                });
+        List<TestCase> cases = List.of(
+                new TestCase("1\n", "2\n"),
+                new TestCase("2\n", "5"),
+                new TestCase("3\n", null),
+                new TestCase("4\n", "8   \n\n"));
+        BatchExecuteRequest request = new BatchExecuteRequest(
+                "python", "print(int(input()) * 2)", null, "3.10.0", null, cases);
+
+        BatchExecuteService batchExecuteService = newService(newScheduler());
+
+        // when
+        BatchExecuteResponse response = batchExecuteService.execute(request);
+
+        // then
+        verify(codeExecuteService, times(4)).execute(eq("python"), any(), anyList(), any(), any());
+        assertThat(response.getTotal()).isEqualTo(4);
+        assertThat(response.getPassed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchExecuteResponse.CaseResult::getIndex)
+                .containsExactly(0, 1, 2, 3);
+        assertThat(response.getResults()).extracting(BatchExecuteResponse.CaseResult::getPassed)
+                .containsExactly(true, false, null, true);
+        assertThat(response.getResults().get(1).getDiff()).isEqualTo("line 1: expected \"5\" but was \"4\"");
+    }
+
+    @Test
+    @DisplayName("실행에 실패한 케이스는 불합격 처리한다")
+    void executeBatch_FailedRunIsNotPassed() {
+        when(codeExecuteService.execute(any(), any(), anyList(), any(), any()))
+                .thenReturn(CodeExecuteResponse.failure("boom", 1));
+        BatchExecuteRequest request = new BatchExecuteRequest(
+                "python", "raise Exception()", null, null, null, List.of(new TestCase("", "1")));
+
+        BatchExecuteResponse response = newService(newScheduler()).execute(request);
+
+        assertThat(response.getPassed()).isZero();
+        assertThat(response.getResults().get(0).isSuccess()).isFalse();
+        assertThat(response.getResults().get(0).getError()).isEqualTo("boom");
+    }
+
+    @Test
+    @DisplayName("실행 중 예외가 난 케이스는 실패 결과로 남기고 나머지 케이스는 그대로 채점한다")
+    void executeBatch_ExceptionBecomesFailedCase() {
+        when(codeExecuteService.execute(any(), any(), anyList(), any(), any()))
+                .thenAnswer(invocation -> {
+                    if ("boom".equals(invocation.getArgument(4))) {
+                        throw new IllegalStateException("engine down");
+                    }
+                    return CodeExecuteResponse.success("ok\n", 1);
+                });
+        List<TestCase> cases = List.of(new TestCase("a", "ok"), new TestCase("boom", "ok"), new TestCase("b", "ok"));
+        BatchExecuteRequest request = new BatchExecuteRequest("python", "print('ok')", null, null, null, cases);
+
+        BatchExecuteResponse response = newService(newScheduler()).execute(request);
+
+        assertThat(response.getPassed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchExecuteResponse.CaseResult::getPassed)
+                .containsExactly(true, false, true);
+        assertThat(response.getResults().get(1).getError()).contains("engine down");
+    }
+
+    @Test
+    @DisplayName("보조 워커는 스케줄러의 빈 자리만큼만 늘어나 전역 동시 실행 상한을 넘지 않는다")
+    void executeBatch_StaysWithinSchedulerLimit() {
+        properties.getScheduler().setMaxConcurrent(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(codeExecuteService.execute(any(), any(), anyList(), any(), any()))
+                .thenAnswer(invocation -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return CodeExecuteResponse.success("ok\n", 20);
+                });
+        List<TestCase> cases = IntStream.range(0, 12).mapToObj(i -> new TestCase("", "ok")).toList();
+        BatchExecuteRequest request = new BatchExecuteRequest("python", "print('ok')", null, null, null, cases);
+        ExecutionScheduler scheduler = newScheduler();
+
+        // 컨트롤러처럼 요청 스레드가 자리 하나를 잡고 실행
+        BatchExecuteResponse response = scheduler.run("member:a", () -> newService(scheduler).execute(request));
+
+        assertThat(response.getPassed()).isEqualTo(12);
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+        assertThat(scheduler.getRunning()).isZero();
+    }
+}
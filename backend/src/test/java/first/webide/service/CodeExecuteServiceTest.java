@@ -1,19 +1,42 @@
 package first.webide.service;
 
+import first.webide.api.BoundedOutputBuffer;
 import first.webide.api.PistonApiClient;
+import first.webide.api.PistonStreamClient;
+import first.webide.config.ExecutionProperties;
 import first.webide.dto.request.CodeExecuteRequest;
 import first.webide.dto.response.CodeExecuteResponse;
 import first.webide.dto.response.PistonResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @ExtendWith(MockitoExtension.class) // Mockito 확장 기능을 사용하도록 설정
 class CodeExecuteServiceTest {
@@ -24,6 +47,23 @@ class CodeExecuteServiceTest {
     @Mock // 스프링 컨텍스트와 무관한 순수한 Mockito 가짜 객체를 생성합니다.
     private PistonApiClient pistonApiClient;
 
+    @Mock
+    private JavaCompileChecker javaCompileChecker;
+
+    @Mock
+    private RuntimeCatalog runtimeCatalog;
+
+    @Mock
+    private PistonStreamClient pistonStreamClient;
+
+    @Spy
+    private ExecutionProperties executionProperties = new ExecutionProperties();
+
+    @Mock
+    private PistonStreamClient.Session session;
+
+    private MvcResult streamResult;
+
     @Test
     @DisplayName("코드 실행 성공 케이스")
     void executeCode_Success() {
@@ -92,4 +132,108 @@ class CodeExecuteServiceTest {
         assertThat(response.getError()).contains(exceptionMessage);
         assertThat(response.getExecutionTime()).isGreaterThanOrEqualTo(0);
     }
+
+    /**
+     * 스트리밍 실행을 시작하고 엔진 쪽 리스너를 돌려준다.
+     * SseEmitter 는 MVC 가 응답에 연결해야 이벤트를 내보내므로 MockMvc 로 요청을 흘린다.
+     */
+    private PistonStreamClient.Listener startStream() throws Exception {
+        when(pistonStreamClient.connect(any(), any())).thenReturn(session);
+        streamResult = streamMvc().perform(post("/stream")).andExpect(request().asyncStarted()).andReturn();
+        ArgumentCaptor<PistonStreamClient.Listener> listener = ArgumentCaptor.forClass(PistonStreamClient.Listener.class);
+        verify(pistonStreamClient).connect(any(), listener.capture());
+        return listener.getValue();
+    }
+
+    private MockMvc streamMvc() {
+        CodeExecuteRequest request = new CodeExecuteRequest("python", "print('hi')", "3.10.0", null, null, null);
+        return MockMvcBuilders.standaloneSetup(new StreamController(codeExecuteService, request)).build();
+    }
+
+    // 브라우저 연결 끊김/타임아웃을 컨테이너가 알리는 것처럼 비동기 리스너를 호출
+    private void fireAsync(AsyncEventType type) throws IOException {
+        MockAsyncContext context = (MockAsyncContext) streamResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            switch (type) {
+                case TIMEOUT -> listener.onTimeout(new AsyncEvent(context));
+                case ERROR -> listener.onError(new AsyncEvent(context, new IOException("Broken pipe")));
+                case COMPLETE -> listener.onComplete(new AsyncEvent(context));
+            }
+        }
+    }
+
+    private enum AsyncEventType { TIMEOUT, ERROR, COMPLETE }
+
+    @Test
+    @DisplayName("스트리밍 실행은 출력 조각을 받은 순서대로 보내고 종료 코드 이벤트로 끝낸다")
+    void executeStream_SendsChunksInOrderThenExit() throws Exception {
+        PistonStreamClient.Listener listener = startStream();
+
+        listener.onOutput("stdout", "one\n");
+        listener.onOutput("stderr", "warn\n");
+        listener.onOutput("stdout", "two\n");
+        listener.onExit("run", 3, null);
+
+        String body = streamResult.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        int one = body.indexOf("event:stdout\ndata:{\"stream\":\"stdout\",\"data\":\"one\\n\"");
+        int warn = body.indexOf("event:stderr\ndata:{\"stream\":\"stderr\",\"data\":\"warn\\n\"");
+        int two = body.indexOf("\"data\":\"two\\n\"");
+        int exit = body.indexOf("event:exit\n");
+        assertThat(one).isNotNegative();
+        assertThat(warn).isGreaterThan(one);
+        assertThat(two).isGreaterThan(warn);
+        assertThat(exit).isGreaterThan(two);
+        assertThat(body.substring(exit)).contains("\"stage\":\"run\"", "\"code\":3");
+        assertThat(body.lastIndexOf("event:")).isEqualTo(exit);
+
+        // 스트림이 닫히면 원격 실행도 정리
+        fireAsync(AsyncEventType.COMPLETE);
+        verify(session).cancel();
+    }
+
+    @Test
+    @DisplayName("출력 상한을 넘으면 잘린 출력과 종료 이벤트를 보내고 더 보내지 않는다")
+    void executeStream_TruncatesAtLimit() throws Exception {
+        executionProperties.getOutput().setMaxSize(DataSize.ofBytes(4));
+        PistonStreamClient.Listener listener = startStream();
+
+        listener.onOutput("stdout", "abcdef");
+        listener.onOutput("stdout", "late");
+        listener.onExit("run", 0, null);
+
+        String body = streamResult.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).contains("\"data\":\"abcd" + BoundedOutputBuffer.truncationMarker(4).replace("\n", "\\n"));
+        assertThat(body).doesNotContain("late");
+        assertThat(body.split("event:exit", -1)).hasSize(2);
+        assertThat(body.substring(body.indexOf("event:exit"))).contains("\"truncated\":true");
+    }
+
+    @Test
+    @DisplayName("브라우저 쪽 타임아웃이나 오류가 나면 원격 실행을 끊는다")
+    void executeStream_CancelsOnTimeoutOrError() throws Exception {
+        startStream();
+        fireAsync(AsyncEventType.TIMEOUT);
+        verify(session, atLeastOnce()).cancel();
+
+        clearInvocations(pistonStreamClient, session);
+        startStream();
+        fireAsync(AsyncEventType.ERROR);
+        verify(session, atLeastOnce()).cancel();
+    }
+
+    @RestController
+    static class StreamController {
+        private final CodeExecuteServiceImpl codeExecuteService;
+        private final CodeExecuteRequest request;
+
+        StreamController(CodeExecuteServiceImpl codeExecuteService, CodeExecuteRequest request) {
+            this.codeExecuteService = codeExecuteService;
+            this.request = request;
+        }
+
+        @PostMapping("/stream")
+        SseEmitter stream() {
+            return codeExecuteService.executeStream(request);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package first.webide.service;
+
+import first.webide.domain.TextOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollabDocumentTest {
+
+    @Test
+    @DisplayName("이전 리비전 기준 연산은 그 사이 반영된 연산에 맞춰 변환해서 적용")
+    void transformsAgainstHistory() {
+        CollabDocument document = new CollabDocument(1L, 1L, "/p/A.java", "hello");
+
+        // 두 사용자가 모두 리비전 0 을 보고 편집
+        document.receive(0, new TextOperation().insert(">> ").retain(5));
+        TextOperation applied = document.receive(0, new TextOperation().retain(5).insert("!"));
+
+        assertThat(document.getContent()).isEqualTo(">> hello!");
+        assertThat(document.getRevision()).isEqualTo(2);
+        assertThat(applied.toJson()).containsExactly(8, "!");
+    }
+
+    @Test
+    @DisplayName("서버보다 앞선 리비전이나 보관 범위 밖 리비전은 거절")
+    void rejectsUnknownRevision() {
+        CollabDocument document = new CollabDocument(1L, 1L, "/p/A.java", "");
+
+        assertThatThrownBy(() -> document.receive(1, new TextOperation().insert("x")))
+                .isInstanceOf(CollabDocument.StaleRevisionException.class);
+
+        for (int i = 0; i <= CollabDocument.MAX_HISTORY * 2; i++) {
+            document.receive(i, new TextOperation().retain(i).insert("x"));
+        }
+        assertThatThrownBy(() -> document.receive(0, new TextOperation().insert("y")))
+                .isInstanceOf(CollabDocument.StaleRevisionException.class);
+    }
+
+    @Test
+    @DisplayName("바뀐 내용이 있을 때만 저장용 스냅샷을 만든다")
+    void snapshotsOnlyWhenChanged() {
+        CollabDocument document = new CollabDocument(1L, 1L, "/p/A.java", "a");
+        assertThat(document.snapshotIfChanged()).isNull();
+
+        document.receive(0, new TextOperation().retain(1).insert("b"));
+        CollabDocument.Snapshot snapshot = document.snapshotIfChanged();
+
+        assertThat(snapshot.content()).isEqualTo("ab");
+        assertThat(snapshot.revision()).isEqualTo(1);
+        assertThat(document.snapshotIfChanged()).isNull();
+
+        document.markUnsaved();
+        assertThat(document.snapshotIfChanged()).isNotNull();
+    }
+}
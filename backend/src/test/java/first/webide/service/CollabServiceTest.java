@@ -0,0 +1,139 @@
+package first.webide.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import first.webide.domain.FileNode;
+import first.webide.domain.FileType;
+import first.webide.dto.request.FileNode.CollabOperationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CollabServiceTest {
+
+    private static final String PATH = "/p/A.java";
+
+    @Mock
+    private FileService fileService;
+    @Mock
+    private ShardRouter shardRouter;
+
+    private CollabService collabService;
+    private final AtomicReference<String> stored = new AtomicReference<>("abc");
+    private FileNode file;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        collabService = new CollabService(fileService, shardRouter, new ObjectMapper());
+        when(shardRouter.read(eq(1L), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        when(fileService.getFile(PATH)).thenAnswer(invocation -> fileWith(stored.get()));
+    }
+
+    @Test
+    @DisplayName("마지막 참여자가 나가며 저장하는 동안 들어온 참여자는 저장이 끝난 내용으로 시작한다")
+    @SuppressWarnings("unchecked")
+    void join_WaitsForClosingDocumentToPersist() throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch finishSave = new CountDownLatch(1);
+        when(shardRouter.write(eq(1L), any(Supplier.class))).thenAnswer(invocation -> {
+            saving.countDown();
+            finishSave.await(5, TimeUnit.SECONDS);
+            return ((Supplier<?>) invocation.getArgument(1)).get();
+        });
+        when(fileService.getPath(1L)).thenReturn(PATH);
+        when(fileService.updateContent(eq(1L), eq(PATH), anyString(), eq(true))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(2));
+            return file;
+        });
+
+        WebSocketSession first = session("s1");
+        collabService.join(first, 1L, PATH, "alice");
+        collabService.receive("s1", new CollabOperationRequest("op", 0, List.of(3, "x")));
+
+        CompletableFuture<Void> leaving = CompletableFuture.runAsync(() -> collabService.leave("s1"));
+        assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+
+        WebSocketSession second = session("s2");
+        CompletableFuture<Void> joining = CompletableFuture.runAsync(() -> collabService.join(second, 1L, PATH, "bob"));
+        Thread.sleep(100);
+        verify(second, never()).sendMessage(any());
+
+        finishSave.countDown();
+        leaving.get(5, TimeUnit.SECONDS);
+        joining.get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<TextMessage> init = ArgumentCaptor.forClass(TextMessage.class);
+        verify(second, timeout(1000)).sendMessage(init.capture());
+        assertThat(init.getValue().getPayload()).contains("\"content\":\"abcx\"");
+        assertThat(collabService.getOpenDocumentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주기 저장은 version-interval 마다만 이력을 남기고, 마지막 참여자가 나갈 때는 항상 남긴다")
+    @SuppressWarnings("unchecked")
+    void flush_RecordsVersionOncePerInterval() {
+        ReflectionTestUtils.setField(collabService, "versionInterval", Duration.ofMinutes(5));
+        when(shardRouter.write(eq(1L), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        when(fileService.getPath(1L)).thenReturn(PATH);
+        when(fileService.updateContent(eq(1L), eq(PATH), anyString(), anyBoolean())).thenAnswer(invocation -> file);
+
+        collabService.join(session("s1"), 1L, PATH, "alice");
+        collabService.receive("s1", new CollabOperationRequest("op", 0, List.of(3, "x")));
+        collabService.flush();
+        collabService.receive("s1", new CollabOperationRequest("op", 1, List.of(4, "y")));
+        ReflectionTestUtils.setField(collabService, "versionInterval", Duration.ZERO);
+        collabService.flush();
+        collabService.receive("s1", new CollabOperationRequest("op", 2, List.of(5, "z")));
+        ReflectionTestUtils.setField(collabService, "versionInterval", Duration.ofMinutes(5));
+        collabService.leave("s1");
+
+        InOrder saves = inOrder(fileService);
+        saves.verify(fileService).updateContent(1L, PATH, "abcx", false);
+        saves.verify(fileService).updateContent(1L, PATH, "abcxy", true);
+        saves.verify(fileService).updateContent(1L, PATH, "abcxyz", true);
+    }
+
+    private FileNode fileWith(String content) {
+        FileNode root = FileNode.createRootDirectory("p");
+        file = FileNode.create(root, "A.java", FileType.FILE, content);
+        ReflectionTestUtils.setField(file, "id", 1L);
+        return file;
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+}
@@ -0,0 +1,168 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.domain.FileType;
+import first.webide.domain.Member;
+import first.webide.dto.request.Member.DeleteMemberRequest;
+import first.webide.dto.request.Member.SignUpRequest;
+import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.repository.FileRepository;
+import first.webide.repository.FileVersionRepository;
+import first.webide.repository.MemberRepository;
+import first.webide.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class DeletionPurgeServiceTest {
+
+    @Autowired
+    private DeletionPurgeService deletionPurgeService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private ProjectForkService projectForkService;
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private FileVersionRepository fileVersionRepository;
+    @Autowired
+    private EntityManager em;
+
+    private Member owner;
+    private ProjectResponse project;
+
+    @BeforeEach
+    void setUp() {
+        memberService.signUp(new SignUpRequest("purge@test.com", "password1234", "purger"));
+        owner = memberRepository.findByEmail("purge@test.com").orElseThrow();
+        project = projectService.createProject(owner.getEmail(), CreateProjectRequest.builder()
+                .projectName("purgeMe")
+                .description("to be purged")
+                .build());
+        fileService.createDirectory("/purgeMe", "src");
+        fileService.createDirectory("/purgeMe/src", "pkg");
+        for (int i = 0; i < 5; i++) {
+            fileService.createFile("/purgeMe/src/pkg", "F" + i + ".java", "class F" + i + " {}");
+        }
+        fileService.createFile("/purgeMe", "README.md", "readme");
+        // 한 배치에 트리 일부만 지워지도록
+        ReflectionTestUtils.setField(deletionPurgeService, "batchSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(deletionPurgeService, "batchSize", 500);
+    }
+
+    @Test
+    @DisplayName("삭제한 프로젝트는 바로 보이지 않고, 정리 배치가 트리를 나눠 지운 뒤 행을 삭제한다")
+    void deleteProject_PurgedInBatches() {
+        // given
+        List<Long> fileIds = fileRepository.findAllByPathStartingWithAndType("/purgeMe/", FileType.FILE).stream()
+                .map(FileNode::getId)
+                .toList();
+
+        // when
+        projectService.deleteProject(owner.getId(), project.getId());
+        em.flush();
+        em.clear();
+
+        // then: 조회에서는 바로 빠지고 트리는 아직 남아 있음
+        assertThat(projectRepository.findById(project.getId())).isEmpty();
+        assertThat(fileRepository.findByPath("/purgeMe")).isPresent();
+
+        int batches = purgeAll();
+
+        assertThat(batches).isGreaterThan(2);
+        assertThat(fileRepository.findByPath("/purgeMe")).isEmpty();
+        assertThat(fileRepository.findAllByPathStartingWithOrderByPathAsc("/purgeMe/")).isEmpty();
+        assertThat(projectRepository.findRootDirIdIncludingDeleted(project.getId())).isNull();
+        for (Long fileId : fileIds) {
+            assertThat(fileVersionRepository.findAllByFileIdOrderByVersionDesc(fileId)).isEmpty();
+        }
+
+        // 정리가 끝나면 같은 이름으로 다시 만들 수 있다
+        ProjectResponse again = projectService.createProject(owner.getEmail(), CreateProjectRequest.builder()
+                .projectName("purgeMe")
+                .description("again")
+                .build());
+        assertThat(again.getId()).isNotEqualTo(project.getId());
+    }
+
+    @Test
+    @DisplayName("삭제한 원본을 정리해도 포크는 포크한 시점의 내용을 유지한다")
+    void purgeSource_KeepsFork() {
+        projectForkService.fork(owner.getId(), project.getId());
+        projectForkService.fork(owner.getId(), project.getId());
+        projectService.deleteProject(owner.getId(), project.getId());
+        em.flush();
+        em.clear();
+
+        // 첫 배치는 포크 하나만 복사하고 원본 행은 건드리지 않는다
+        deletionPurgeService.purgeBatch();
+        em.flush();
+        em.clear();
+        assertThat(fileRepository.findByPath("/purgeMe-fork").orElseThrow().isVirtualFork()).isFalse();
+        assertThat(fileRepository.findByPath("/purgeMe-fork-2").orElseThrow().isVirtualFork()).isTrue();
+        assertThat(fileRepository.findAllByPathStartingWithOrderByPathAsc("/purgeMe/")).hasSize(8);
+
+        purgeAll();
+
+        assertThat(fileRepository.findByPath("/purgeMe")).isEmpty();
+        assertThat(fileService.getContent("/purgeMe-fork/src/pkg/F0.java")).isEqualTo("class F0 {}");
+        assertThat(fileService.getContent("/purgeMe-fork-2/src/pkg/F0.java")).isEqualTo("class F0 {}");
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원은 프로젝트가 모두 정리된 뒤 삭제되고, 이메일과 이름은 바로 다시 쓸 수 있다")
+    void deleteMember_PurgedAfterProjects() {
+        // when
+        memberService.deleteMember(owner.getEmail(), new DeleteMemberRequest("password1234"));
+        em.flush();
+        em.clear();
+
+        // then
+        assertThat(memberRepository.findByEmail("purge@test.com")).isEmpty();
+        assertThat(projectRepository.findById(project.getId())).isEmpty();
+        memberService.signUp(new SignUpRequest("purge@test.com", "password1234", "purger"));
+
+        purgeAll();
+        em.clear();
+
+        assertThat(memberRepository.findPurgeableIds(10)).isEmpty();
+        assertThat(projectRepository.findRootDirIdIncludingDeleted(project.getId())).isNull();
+        assertThat(memberRepository.findById(owner.getId())).isEmpty();
+        assertThat(memberRepository.findByEmail("purge@test.com")).isPresent();
+    }
+
+    private int purgeAll() {
+        int batches = 0;
+        while (deletionPurgeService.purgeBatch() > 0) {
+            batches++;
+            assertThat(batches).isLessThan(100);
+        }
+        return batches;
+    }
+}
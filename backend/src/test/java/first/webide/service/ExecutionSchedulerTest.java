@@ -0,0 +1,119 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.exception.ExecutionRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ExecutionSchedulerTest {
+
+    private ExecutionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExecutionProperties();
+        properties.getScheduler().setMaxConcurrent(1);
+        properties.getScheduler().setMaxQueued(10);
+        properties.getScheduler().setMaxQueuedPerClient(3);
+        properties.getScheduler().setMaxWait(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ExecutionScheduler newScheduler() {
+        return new ExecutionScheduler(properties, mock(ObjectProvider.class));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("대기 중인 요청은 클라이언트별로 번갈아 가며 입장한다")
+    void admitsClientsRoundRobin() throws Exception {
+        ExecutionScheduler scheduler = newScheduler();
+        ExecutionScheduler.Permit blocker = scheduler.acquire("a");
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        // a 가 먼저 3개를 줄 세운 뒤 b 가 1개를 넣는다
+        for (String client : List.of("a", "a", "a", "b")) {
+            int queuedBefore = scheduler.getQueued();
+            pool.submit(() -> scheduler.run(client, () -> order.add(client)));
+            waitUntil(() -> scheduler.getQueued() == queuedBefore + 1);
+        }
+
+        blocker.release();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // b 는 a 의 나머지 요청보다 먼저 차례를 받는다
+        assertThat(order).containsExactly("a", "b", "a", "a");
+        assertThat(scheduler.getRunning()).isZero();
+        assertThat(scheduler.getQueued()).isZero();
+    }
+
+    @Test
+    @DisplayName("클라이언트별 대기 한도를 넘으면 Retry-After 와 함께 즉시 거절한다")
+    void rejectsWhenClientQueueIsFull() throws Exception {
+        properties.getScheduler().setMaxQueuedPerClient(1);
+        ExecutionScheduler scheduler = newScheduler();
+        ExecutionScheduler.Permit blocker = scheduler.acquire("a");
+
+        CountDownLatch done = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> scheduler.run("a", () -> {
+            done.countDown();
+            return null;
+        }));
+        waiter.start();
+        waitUntil(() -> scheduler.getQueued() == 1);
+
+        assertThatThrownBy(() -> scheduler.acquire("a"))
+                .isInstanceOf(ExecutionRejectedException.class)
+                .satisfies(e -> assertThat(((ExecutionRejectedException) e).getRetryAfterSeconds()).isPositive());
+
+        // 다른 클라이언트는 여전히 줄을 설 수 있다
+        Thread other = new Thread(() -> scheduler.run("b", () -> null));
+        other.start();
+        waitUntil(() -> scheduler.getQueued() == 2);
+
+        blocker.release();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        waiter.join(5000);
+        other.join(5000);
+        assertThat(scheduler.getRunning()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간 안에 차례가 오지 않으면 거절하고 대기열에서 빠진다")
+    void rejectsAfterMaxWait() {
+        properties.getScheduler().setMaxWait(Duration.ofMillis(100));
+        ExecutionScheduler scheduler = newScheduler();
+        ExecutionScheduler.Permit blocker = scheduler.acquire("a");
+
+        assertThatThrownBy(() -> scheduler.acquire("b"))
+                .isInstanceOf(ExecutionRejectedException.class);
+        assertThat(scheduler.getQueued()).isZero();
+
+        blocker.release();
+        assertThat(scheduler.getRunning()).isZero();
+    }
+}
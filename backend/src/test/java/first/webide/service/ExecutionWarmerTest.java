@@ -0,0 +1,98 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.dto.request.PistonRequest.FileEntry;
+import first.webide.dto.response.CodeExecuteResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionWarmerTest {
+
+    @Mock
+    private CodeExecuteService codeExecuteService;
+
+    private final ExecutionProperties properties = new ExecutionProperties();
+    private ExecutionWarmer warmer;
+
+    @AfterEach
+    void tearDown() {
+        if (warmer != null) {
+            warmer.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ExecutionScheduler newScheduler() {
+        return new ExecutionScheduler(properties, mock(ObjectProvider.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ExecutionWarmer newWarmer(ExecutionScheduler scheduler) {
+        properties.getWarmup().setSize(Map.of("java", 2));
+        warmer = new ExecutionWarmer(codeExecuteService, scheduler, properties, mock(ObjectProvider.class));
+        return warmer;
+    }
+
+    @Test
+    @DisplayName("워밍업 실행은 스케줄러 자리를 받아 돌고, 끝나면 자리를 돌려준다")
+    void warmUp_TakesSchedulerPermits() {
+        ExecutionScheduler scheduler = newScheduler();
+        when(codeExecuteService.execute(any(), any(), anyList(), any(), any()))
+                .thenReturn(CodeExecuteResponse.success("", 1));
+        ExecutionWarmer warmer = newWarmer(scheduler);
+        int expected = CodeExecuteServiceImpl.SUPPORTED_LANGUAGES.size() + 1; // java 만 2
+
+        assertThat(warmer.warmUp()).isEqualTo(expected);
+        assertThat(warmer.warmUp()).isEqualTo(expected); // 같은 스레드 풀을 다시 씀
+
+        verify(codeExecuteService, times(expected * 2)).execute(any(), any(), anyList(), any(), any());
+        assertThat(scheduler.getRunning()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 언어의 자리마다 코드가 달라 단일 실행으로 합쳐지지 않는다")
+    @SuppressWarnings("unchecked")
+    void warmUp_SendsDistinctCodePerSlot() {
+        when(codeExecuteService.execute(any(), any(), anyList(), any(), any()))
+                .thenReturn(CodeExecuteResponse.success("", 1));
+        newWarmer(newScheduler()).warmUp();
+
+        ArgumentCaptor<List<FileEntry>> files = ArgumentCaptor.forClass(List.class);
+        verify(codeExecuteService, times(2)).execute(eq("java"), any(), files.capture(), any(), any());
+        assertThat(files.getAllValues()).extracting(entry -> entry.get(0).getContent()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("실행 자리가 없으면 사용자 실행을 밀어내지 않고 워밍업을 건너뛴다")
+    void warmUp_SkipsWhenSchedulerIsFull() {
+        properties.getScheduler().setMaxConcurrent(1);
+        ExecutionScheduler scheduler = newScheduler();
+        ExecutionScheduler.Permit user = scheduler.acquire("member:user");
+        ExecutionWarmer warmer = newWarmer(scheduler);
+
+        assertThat(warmer.warmUp()).isZero();
+
+        user.release();
+        verify(codeExecuteService, times(0)).execute(any(), any(), anyList(), any(), any());
+        assertThat(scheduler.getRunning()).isZero();
+    }
+}
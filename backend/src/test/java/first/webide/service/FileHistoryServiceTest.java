@@ -0,0 +1,133 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.domain.FileVersion;
+import first.webide.dto.response.FileDiffResponse;
+import first.webide.dto.response.FileVersionResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class FileHistoryServiceTest {
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private FileHistoryService fileHistoryService;
+
+    @Autowired
+    private FileVersionRepository fileVersionRepository;
+
+    private FileNode file;
+
+    @BeforeEach
+    void setUp() {
+        fileService.createRootDirectory("historyRoot");
+        file = fileService.createFile("/historyRoot", "Main.java", "class Main {}\n");
+    }
+
+    @Test
+    @DisplayName("저장할 때마다 버전이 쌓이고 모든 버전을 그대로 복원한다")
+    void record_RestoresEveryVersion() {
+        List<String> contents = new ArrayList<>();
+        contents.add("class Main {}\n");
+        StringBuilder body = new StringBuilder("class Main {\n");
+        for (int i = 0; i < 45; i++) {
+            body.append("    int f").append(i).append(" = ").append(i).append(";\n");
+            String content = body + "}\n";
+            fileService.updateContent(file.getPath(), content);
+            contents.add(content);
+        }
+
+        List<FileVersionResponse> versions = fileHistoryService.getVersions(file.getPath());
+        assertThat(versions).hasSize(contents.size());
+        assertThat(versions.get(0).getVersion()).isEqualTo(contents.size());
+        for (int v = 1; v <= contents.size(); v++) {
+            assertThat(fileHistoryService.getVersion(file.getPath(), v).getContent())
+                    .isEqualTo(contents.get(v - 1));
+        }
+
+        // 대부분은 델타로 저장되고 스냅샷은 주기마다만 생긴다
+        long snapshots = fileVersionRepository.findAllByFileIdOrderByVersionDesc(file.getId()).stream()
+                .filter(FileVersion::isSnapshot)
+                .count();
+        assertThat(snapshots).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("내용이 같으면 버전을 만들지 않는다")
+    void record_SkipsUnchangedContent() {
+        fileService.updateContent(file.getPath(), "class Main {}\n");
+
+        assertThat(fileHistoryService.getVersions(file.getPath())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("두 버전을 줄 단위로 비교한다")
+    void diff_Success() {
+        fileService.updateContent(file.getPath(), "class Main {\n    void run() {}\n}\n");
+
+        FileDiffResponse diff = fileHistoryService.diff(file.getPath(), 1, 2);
+
+        assertThat(diff.getAdded()).isEqualTo(3);
+        assertThat(diff.getRemoved()).isEqualTo(1);
+        assertThat(diff.getDiff()).isEqualTo("""
+                --- Main.java@1
+                +++ Main.java@2
+                @@ -1,1 +1,3 @@
+                -class Main {}
+                +class Main {
+                +    void run() {}
+                +}
+                """);
+    }
+
+    @Test
+    @DisplayName("없는 버전을 조회하면 예외 발생")
+    void getVersion_NotFound() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> fileHistoryService.getVersion(file.getPath(), 99));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.FILE_VERSION_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("디렉토리를 삭제하면 하위 파일의 이력도 함께 삭제된다")
+    void delete_RemovesHistory() {
+        fileService.updateContent(file.getPath(), "class Main { }\n");
+        Long fileId = file.getId();
+
+        fileService.delete("/historyRoot");
+
+        assertThat(fileVersionRepository.findAllByFileIdOrderByVersionDesc(fileId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이력 없이 저장한 내용은 다음 이력에서 마지막 버전과 비교해 한 번에 남긴다")
+    void skippedSaves_CoalescedIntoNextVersion() {
+        fileService.updateContent(file.getPath(), "class Main { int a; }\n", false);
+        fileService.updateContent(file.getPath(), "class Main { int a; int b; }\n", false);
+        fileService.updateContent(file.getPath(), "class Main { int a; int b; int c; }\n");
+
+        List<FileVersionResponse> versions = fileHistoryService.getVersions(file.getPath());
+        assertThat(versions).extracting(FileVersionResponse::getVersion).containsExactly(2, 1);
+        assertThat(fileHistoryService.getVersion(file.getPath(), 1).getContent()).isEqualTo("class Main {}\n");
+        assertThat(fileHistoryService.getVersion(file.getPath(), 2).getContent())
+                .isEqualTo("class Main { int a; int b; int c; }\n");
+        assertThat(file.isHistoryPending()).isFalse();
+    }
+}
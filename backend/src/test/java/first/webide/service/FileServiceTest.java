@@ -210,6 +210,35 @@ class FileServiceTest {
         assertThat(fileRepository.findByPath(filePath)).isEmpty();
     }
 
+    @Test
+    @DisplayName("큰 파일 내용은 압축해서 저장하고 읽을 때 그대로 돌려준다")
+    void content_CompressedAtRest() {
+        // Given
+        String large = "public class Main {\n    int value;\n}\n".repeat(500);
+        FileNode big = fileService.createFile(rootDir.getPath(), "Big.java", "x");
+        FileNode small = fileService.createFile(rootDir.getPath(), "Small.java", "class Small {}");
+
+        // When
+        fileService.updateContent(big.getPath(), large);
+        em.flush();
+        em.clear();
+
+        // Then
+        Object[] bigRow = (Object[]) em.createNativeQuery(
+                        "select content_codec, octet_length(content_data) from file_node where path = :path")
+                .setParameter("path", big.getPath())
+                .getSingleResult();
+        assertThat(bigRow[0]).isEqualTo("GZIP");
+        assertThat(((Number) bigRow[1]).intValue()).isLessThan(large.length() / 4);
+        assertThat(fileService.getContent(big.getPath())).isEqualTo(large);
+
+        Object smallCodec = em.createNativeQuery("select content_codec from file_node where path = :path")
+                .setParameter("path", small.getPath())
+                .getSingleResult();
+        assertThat(smallCodec).isEqualTo("NONE");
+        assertThat(fileService.getContent(small.getPath())).isEqualTo("class Small {}");
+    }
+
     @Test
     @DisplayName("존재하지 않는 파일 삭제 시 예외 발생")
     void delete_Fail_NotFound() {
@@ -0,0 +1,143 @@
+package first.webide.service;
+
+import first.webide.domain.FileType;
+import first.webide.dto.response.FileTreeEventResponse;
+import first.webide.repository.FileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class FileTreeEventBroadcasterTest {
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private FileRepository fileRepository;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    private FileTreeEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new FileTreeEventBroadcaster(projectService, fileRepository, shardRouter);
+        broadcaster.subscribe("/project", null);
+    }
+
+    @Test
+    @DisplayName("같은 파일의 연속 저장은 하나로 합쳐지고 순서대로 번호가 붙는다")
+    void flush_CoalescesUpdates() {
+        broadcaster.onChange(FileTreeChange.created("/project/Main.java", FileType.FILE));
+        broadcaster.onChange(FileTreeChange.updated("/project/Main.java"));
+        broadcaster.onChange(FileTreeChange.updated("/project/Main.java"));
+        broadcaster.onChange(FileTreeChange.updated("/project/Main.java"));
+        broadcaster.onChange(FileTreeChange.renamed("/project/Util.java", "/project/Utils.java", FileType.FILE));
+        broadcaster.flush();
+
+        List<FileTreeEventResponse> history = broadcaster.streamOf("/project").history();
+        assertThat(history).extracting(FileTreeEventResponse::getType)
+                .containsExactly("CREATED", "UPDATED", "RENAMED");
+        assertThat(history).extracting(e -> e.getId().substring(e.getId().lastIndexOf('-') + 1))
+                .containsExactly("1", "2", "3");
+        assertThat(history.get(2).getOldPath()).isEqualTo("/project/Util.java");
+    }
+
+    @Test
+    @DisplayName("전송 전에 삭제된 파일의 내용 변경은 보내지 않는다")
+    void flush_DropsUpdatesOfDeletedPath() {
+        broadcaster.onChange(FileTreeChange.updated("/project/src/A.java"));
+        broadcaster.onChange(FileTreeChange.deleted("/project/src", FileType.DIRECTORY));
+        broadcaster.flush();
+
+        assertThat(broadcaster.streamOf("/project").history())
+                .extracting(FileTreeEventResponse::getType)
+                .containsExactly("DELETED");
+    }
+
+    @Test
+    @DisplayName("구독자가 없는 프로젝트의 변경은 기록하지 않는다")
+    void onChange_IgnoresUnsubscribedProject() {
+        broadcaster.onChange(FileTreeChange.updated("/other/Main.java"));
+        broadcaster.flush();
+
+        assertThat(broadcaster.streamOf("/other")).isNull();
+    }
+
+    @Test
+    @DisplayName("기록에 남아 있는 ID 부터만 이어 받을 수 있다")
+    void canResumeFrom_WithinHistory() {
+        for (int i = 0; i < FileTreeEventBroadcaster.HISTORY_SIZE + 10; i++) {
+            broadcaster.onChange(FileTreeChange.created("/project/f" + i, FileType.FILE));
+            broadcaster.flush();
+        }
+        FileTreeEventBroadcaster.Stream stream = broadcaster.streamOf("/project");
+        String lastId = stream.history().get(stream.history().size() - 1).getId();
+
+        assertThat(stream.parseSequence(lastId)).isEqualTo(FileTreeEventBroadcaster.HISTORY_SIZE + 10L);
+        assertThat(stream.canResumeFrom(10)).isTrue();
+        assertThat(stream.canResumeFrom(9)).isFalse();
+        assertThat(stream.canResumeFrom(FileTreeEventBroadcaster.HISTORY_SIZE + 11L)).isFalse();
+        // 서버 재시작 등으로 다른 스트림에서 받은 ID
+        assertThat(stream.parseSequence("1700000000000.1-5")).isNull();
+    }
+
+    @Test
+    @DisplayName("전송이 멈춘 구독자가 있어도 flush 는 바로 끝나고 다른 구독자는 순서대로 받는다")
+    void flush_DoesNotWaitForSlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        broadcaster.subscribe("/slow", null, new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws java.io.IOException {
+                try {
+                    release.await(5, TimeUnit.SECONDS); // 받는 쪽이 읽지 않아 쓰기가 막힌 연결
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(4);
+        broadcaster.subscribe("/slow", null, new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                String text = items.stream().map(item -> String.valueOf(item.getData())).reduce("", String::concat);
+                Matcher name = Pattern.compile("event:(\\w+)").matcher(text);
+                received.add(name.find() ? name.group(1) : "comment");
+                delivered.countDown();
+            }
+        });
+
+        try {
+            broadcaster.onChange(FileTreeChange.created("/slow/A.java", FileType.FILE));
+            CompletableFuture.runAsync(broadcaster::flush).get(1, TimeUnit.SECONDS);
+            broadcaster.onChange(FileTreeChange.created("/slow/B.java", FileType.FILE));
+            CompletableFuture.runAsync(broadcaster::flush).get(1, TimeUnit.SECONDS);
+            CompletableFuture.runAsync(broadcaster::heartbeat).get(1, TimeUnit.SECONDS);
+
+            assertThat(delivered.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(received).containsExactly("ready", "change", "change", "comment");
+        } finally {
+            release.countDown();
+        }
+    }
+}
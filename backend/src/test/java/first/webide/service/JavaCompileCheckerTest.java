@@ -0,0 +1,130 @@
+package first.webide.service;
+
+import first.webide.config.ExecutionProperties;
+import first.webide.dto.request.PistonRequest.FileEntry;
+import first.webide.dto.response.CompileDiagnostic;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaCompileCheckerTest {
+
+    private final JavaCompileChecker checker = new JavaCompileChecker(enabled());
+
+    private static ExecutionProperties enabled() {
+        ExecutionProperties properties = new ExecutionProperties();
+        properties.getPrecompile().setEnabled(true);
+        properties.getPrecompile().setTimeout(Duration.ofSeconds(30)); // 첫 컴파일은 javac 를 불러오느라 느림
+        return properties;
+    }
+
+    private static List<FileEntry> source(String name, String content) {
+        return List.of(FileEntry.builder().name(name).content(content).build());
+    }
+
+    @Test
+    @DisplayName("정상 코드는 오류 없음 (public 클래스 이름과 파일 이름이 달라도 허용)")
+    void validSource() {
+        List<CompileDiagnostic> diagnostics = checker.check(source("Main.java",
+                "public class Hello { public static void main(String[] args) { System.out.println(1); } }"), "15.0.2");
+
+        assertThat(diagnostics).isEmpty();
+    }
+
+    @Test
+    @DisplayName("컴파일 오류는 파일/줄/열 정보와 함께 반환")
+    void compileError() {
+        List<CompileDiagnostic> diagnostics = checker.check(source("Main.java",
+                "public class Main {\n    public static void main(String[] args) {\n        int x = \"a\"\n    }\n}"), "15.0.2");
+
+        assertThat(diagnostics).isNotEmpty();
+        CompileDiagnostic first = diagnostics.get(0);
+        assertThat(first.getFile()).isEqualTo("Main.java");
+        assertThat(first.getLine()).isEqualTo(3);
+        assertThat(first.getColumn()).isPositive();
+        assertThat(first.toString()).startsWith("Main.java:3: error: ");
+    }
+
+    @Test
+    @DisplayName("같은 소스는 다시 컴파일하지 않고 캐시된 결과를 사용")
+    void cachedBySourceHash() {
+        List<FileEntry> files = source("Main.java", "class Main { void f() { undefined(); } }");
+
+        List<CompileDiagnostic> first = checker.check(files, "15.0.2");
+        List<CompileDiagnostic> second = checker.check(source("Main.java", "class Main { void f() { undefined(); } }"), "15.0.2");
+
+        assertThat(first).isNotEmpty();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Java 파일이 아니면 검사하지 않음")
+    void nonJavaFiles() {
+        assertThat(checker.check(source("main.py", "print(("), "15.0.2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요청한 런타임 버전으로 컴파일한다 (--release)")
+    void compilesForRequestedRelease() {
+        List<FileEntry> files = source("Main.java", "class Main { void f() { var x = 1; } }");
+
+        assertThat(checker.check(files, "1.8.0")).isNotEmpty(); // var 는 Java 10 부터
+        assertThat(checker.check(files, "15.0.2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("서버 javac 가 모르는 버전이거나 기능이 꺼져 있으면 검사하지 않고 엔진에 맡긴다")
+    void skipsUnsupportedVersionOrDisabled() {
+        List<FileEntry> broken = source("Main.java", "class Main { void f() { undefined(); } }");
+
+        assertThat(checker.check(broken, "99.0.0")).isEmpty();
+        assertThat(checker.check(broken, null)).isEmpty();
+        assertThat(new JavaCompileChecker(new ExecutionProperties()).check(broken, "15.0.2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 컴파일 스레드 풀을 만들지 않는다")
+    void disabledCreatesNoThreads() {
+        JavaCompileChecker disabled = new JavaCompileChecker(new ExecutionProperties());
+
+        assertThat(ReflectionTestUtils.getField(disabled, "compilers")).isNull();
+        disabled.shutdown();
+    }
+
+    @Test
+    @DisplayName("시간을 넘긴 컴파일은 인터럽트를 무시하는 javac 도 단계 사이에서 멈춰 스레드를 돌려준다")
+    void timedOutCompilationStops() throws Exception {
+        ExecutionProperties properties = enabled();
+        properties.getPrecompile().setThreads(1);
+        properties.getPrecompile().setTimeout(Duration.ofMillis(1));
+        JavaCompileChecker slow = new JavaCompileChecker(properties);
+        // 파일마다 단계가 바뀌므로 그 사이에서 멈출 수 있다
+        List<FileEntry> files = new ArrayList<>();
+        for (int file = 0; file < 100; file++) {
+            StringBuilder content = new StringBuilder("class C" + file + " {\n");
+            for (int i = 0; i < 40; i++) {
+                content.append("  int f").append(i).append("() { return ").append(i).append(" + f").append(i).append("(); }\n");
+            }
+            files.add(FileEntry.builder().name("C" + file + ".java").content(content.append("}\n").toString()).build());
+        }
+        checker.check(files, "15.0.2"); // javac 를 미리 불러 둠
+
+        assertThat(slow.check(files, "15.0.2")).isEmpty();
+
+        ThreadPoolExecutor compilers = (ThreadPoolExecutor) ReflectionTestUtils.getField(slow, "compilers");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (compilers.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(compilers.getActiveCount()).isZero();
+        slow.shutdown();
+    }
+}
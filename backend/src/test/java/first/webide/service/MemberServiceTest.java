@@ -1,9 +1,12 @@
 package first.webide.service;
 
+import first.webide.config.auth.UserDetailsImpl;
+import first.webide.config.jwt.JwtTokenProvider;
 import first.webide.domain.Member;
 import first.webide.domain.RefreshToken;
 import first.webide.dto.request.Member.*;
 import first.webide.dto.response.LoginResponse;
+import first.webide.dto.response.MemberResponse;
 import first.webide.exception.BusinessException;
 import first.webide.repository.MemberRepository;
 import first.webide.repository.RefreshTokenRepository;
@@ -34,6 +37,9 @@ class MemberServiceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
     @AfterEach
     void tearDown() {
         refreshTokenRepository.deleteAllInBatch();
@@ -55,6 +61,22 @@ class MemberServiceTest {
         assertThat(foundMember.getUsername()).isEqualTo(request.getUsername());
     }
 
+    @DisplayName("회원 정보를 조회한다.")
+    @Test
+    void getMemberInfo() {
+        // given
+        memberService.signUp(new SignUpRequest("info@test.com", "password1234", "infoUser"));
+
+        // when
+        MemberResponse response = memberService.getMemberInfo("info@test.com");
+
+        // then
+        assertThat(response.getEmail()).isEqualTo("info@test.com");
+        assertThat(response.getUsername()).isEqualTo("infoUser");
+        assertThatThrownBy(() -> memberService.getMemberInfo("none@test.com"))
+                .isInstanceOf(BusinessException.class);
+    }
+
     @DisplayName("중복된 이메일로 회원가입 시 예외가 발생한다.")
     @Test
     void signUpWithDuplicateEmail() {
@@ -105,6 +127,24 @@ class MemberServiceTest {
         assertThat(refreshToken.getToken()).isEqualTo(token.getRefreshToken());
     }
 
+    @DisplayName("액세스 토큰만으로 회원 ID 를 포함한 인증 정보를 만든다.")
+    @Test
+    void authenticationFromToken() {
+        // given
+        memberService.signUp(new SignUpRequest("test@test.com", "password1234", "tester"));
+        LoginResponse token = memberService.login(new LoginRequest("test@test.com", "password1234"));
+        Member member = memberRepository.findByEmail("test@test.com").get();
+
+        // when
+        UserDetailsImpl userDetails = (UserDetailsImpl) jwtTokenProvider.getAuthentication(token.getAccessToken())
+                .getPrincipal();
+
+        // then
+        assertThat(userDetails.getMemberId()).isEqualTo(member.getId());
+        assertThat(userDetails.getUsername()).isEqualTo("test@test.com");
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("USER");
+    }
+
     @DisplayName("잘못된 비밀번호로 로그인 시 예외가 발생한다.")
     @Test
     void loginWithWrongPassword() {
@@ -0,0 +1,86 @@
+package first.webide.service;
+
+import first.webide.domain.Member;
+import first.webide.domain.MemberRole;
+import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.request.Project.UpdateProjectPublishRequest;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class ProjectAccessServiceTest {
+
+    @Autowired
+    private ProjectAccessService projectAccessService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Long ownerId;
+    private Long otherId;
+    private ProjectResponse project;
+
+    @BeforeEach
+    void setUp() {
+        Member owner = memberRepository.save(Member.builder()
+                .email("owner@test").password("test").username("owner").role(MemberRole.USER).build());
+        Member other = memberRepository.save(Member.builder()
+                .email("other@test").password("test").username("other").role(MemberRole.USER).build());
+        ownerId = owner.getId();
+        otherId = other.getId();
+        project = projectService.createProject(owner.getEmail(), CreateProjectRequest.builder()
+                .projectName("guarded")
+                .build());
+        fileService.createFile("/guarded", "Main.java", "class Main {}");
+    }
+
+    @Test
+    @DisplayName("소유자는 프로젝트의 모든 경로를 읽고 쓸 수 있다")
+    void owner() {
+        assertThatCode(() -> {
+            projectAccessService.checkWritable(ownerId, "/guarded");
+            projectAccessService.checkWritable(ownerId, "/guarded/Main.java");
+            projectAccessService.checkReadable(ownerId, "/guarded/Main.java");
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("다른 회원은 비공개 프로젝트를 읽을 수 없고, 공개 프로젝트는 읽기만 할 수 있다")
+    void otherMember() {
+        BusinessException denied = assertThrows(BusinessException.class,
+                () -> projectAccessService.checkReadable(otherId, "/guarded/Main.java"));
+        assertThat(denied.getErrorCode()).isEqualTo(ErrorCode.HANDLE_ACCESS_DENIED);
+
+        projectService.updateProjectPublish(ownerId, project.getId(), new UpdateProjectPublishRequest(true));
+
+        assertThatCode(() -> projectAccessService.checkReadable(otherId, "/guarded/Main.java"))
+                .doesNotThrowAnyException();
+        BusinessException writeDenied = assertThrows(BusinessException.class,
+                () -> projectAccessService.checkWritable(otherId, "/guarded/Main.java"));
+        assertThat(writeDenied.getErrorCode()).isEqualTo(ErrorCode.HANDLE_ACCESS_DENIED);
+    }
+
+    @Test
+    @DisplayName("프로젝트에 속하지 않은 경로는 찾을 수 없음")
+    void unknownRoot() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> projectAccessService.checkReadable(ownerId, "/nothing/Main.java"));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.FILE_NOT_FOUND);
+    }
+}
@@ -0,0 +1,189 @@
+package first.webide.service;
+
+import first.webide.domain.Member;
+import first.webide.dto.request.Member.DeleteMemberRequest;
+import first.webide.dto.request.Member.SignUpRequest;
+import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.FileVersionResponse;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.FileRepository;
+import first.webide.repository.MemberRepository;
+import first.webide.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 복원은 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션 없이 실제로 커밋하고, 끝나면 탈퇴 + 정리로 지운다.
+ */
+@SpringBootTest(properties = "archive.directory=build/test-archive")
+class ProjectArchiveServiceTest {
+
+    @Autowired
+    private ProjectArchiveService projectArchiveService;
+    @Autowired
+    private ProjectAccessService projectAccessService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private ProjectForkService projectForkService;
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private FileHistoryService fileHistoryService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private DeletionPurgeService deletionPurgeService;
+    @Autowired
+    private ArchiveStore archiveStore;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String email;
+    private Long memberId;
+    private String name;
+    private ProjectResponse project;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        email = "archive-" + suffix + "@test.com";
+        memberService.signUp(new SignUpRequest(email, "password1234", "arc-" + suffix));
+        Member member = memberRepository.findByEmail(email).orElseThrow();
+        memberId = member.getId();
+        name = "cold-" + suffix;
+        project = projectService.createProject(email, CreateProjectRequest.builder()
+                .projectName(name)
+                .description("inactive")
+                .build());
+        fileService.createDirectory("/" + name, "src");
+        fileService.createFile("/" + name + "/src", "Main.java", "class Main {}");
+        fileService.updateContent("/" + name + "/src/Main.java", "class Main { int x; }");
+        fileService.createFile("/" + name, "README.md", "readme");
+        // 방금 만든 프로젝트도 보관 대상이 되도록
+        ReflectionTestUtils.setField(projectArchiveService, "inactiveAfter", Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(projectArchiveService, "inactiveAfter", Duration.ofDays(30));
+        memberService.deleteMember(email, new DeleteMemberRequest("password1234"));
+        while (deletionPurgeService.purgeBatch() > 0) {
+            // 탈퇴한 회원의 프로젝트와 회원 행을 모두 지울 때까지
+        }
+    }
+
+    @Test
+    @DisplayName("보관하면 루트 디렉토리만 남고, 다음 접근 때 트리와 이력이 그대로 복원된다")
+    void archiveAndRestore() {
+        // when
+        boolean archived = projectArchiveService.archive(project.getId());
+
+        // then
+        assertThat(archived).isTrue();
+        assertThat(fileRepository.findByPath("/" + name)).isPresent();
+        assertThat(fileRepository.findAllByPathStartingWithOrderByPathAsc("/" + name + "/")).isEmpty();
+        assertThat(archiveStore.get(ProjectArchiveService.keyOf(project.getId()))).isPresent();
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().isArchived()).isTrue();
+
+        // when: 권한 확인을 거치는 다음 접근
+        projectAccessService.checkReadable(memberId, "/" + name + "/src/Main.java");
+
+        // then
+        assertThat(fileService.getContent("/" + name + "/src/Main.java")).isEqualTo("class Main { int x; }");
+        assertThat(fileService.getContent("/" + name + "/README.md")).isEqualTo("readme");
+        List<FileVersionResponse> versions = fileHistoryService.getVersions("/" + name + "/src/Main.java");
+        assertThat(versions).extracting(FileVersionResponse::getVersion).containsExactly(2, 1);
+        assertThat(fileHistoryService.getVersion("/" + name + "/src/Main.java", 1).getContent())
+                .isEqualTo("class Main {}");
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().isArchived()).isFalse();
+        assertThat(archiveStore.get(ProjectArchiveService.keyOf(project.getId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보관된 프로젝트의 트리 조회도 복원 후 전체 트리를 돌려준다")
+    void rootDirectoryRestoresTree() {
+        projectArchiveService.archive(project.getId());
+
+        FileNodeResponse tree = projectService.getProjectRootDirectory(memberId, project.getId());
+
+        assertThat(tree.getChildren()).extracting(FileNodeResponse::getName)
+                .containsExactlyInAnyOrder("src", "README.md");
+        FileNodeResponse src = tree.getChildren().stream()
+                .filter(child -> child.getName().equals("src"))
+                .findFirst().orElseThrow();
+        assertThat(src.getChildren()).extracting(FileNodeResponse::getPath)
+                .containsExactly("/" + name + "/src/Main.java");
+    }
+
+    @Test
+    @DisplayName("최근 수정되었거나 포크 관계가 있는 프로젝트는 보관하지 않는다")
+    void skipsActiveOrForkedProjects() {
+        ReflectionTestUtils.setField(projectArchiveService, "inactiveAfter", Duration.ofDays(30));
+        assertThat(projectArchiveService.archive(project.getId())).isFalse();
+
+        ReflectionTestUtils.setField(projectArchiveService, "inactiveAfter", Duration.ZERO);
+        ProjectResponse fork = projectForkService.fork(memberId, project.getId());
+        assertThat(projectArchiveService.archive(project.getId())).isFalse();
+        assertThat(projectArchiveService.archive(fork.getId())).isFalse();
+        // 먼저 커밋한 보관 표시는 되돌린다
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().isArchived()).isFalse();
+        assertThat(projectRepository.findById(fork.getId()).orElseThrow().isArchived()).isFalse();
+        assertThat(fileService.getContent("/" + fork.getName() + "/src/Main.java")).isEqualTo("class Main { int x; }");
+    }
+
+    @Test
+    @DisplayName("복원 여부를 확인한 뒤 보관된 트리에 들어온 쓰기는 거절되고, 다시 접근하면 복원 후 반영된다")
+    void writeAfterArchive_Rejected() {
+        projectAccessService.checkWritable(memberId, "/" + name);
+        projectArchiveService.archive(project.getId());
+
+        // 권한 확인(복원)과 쓰기 사이에 보관된 경우
+        BusinessException archiving = assertThrows(BusinessException.class,
+                () -> fileService.createFile("/" + name, "README.md", "lost"));
+        assertThat(archiving.getErrorCode()).isEqualTo(ErrorCode.PROJECT_ARCHIVING);
+
+        projectAccessService.checkWritable(memberId, "/" + name);
+        fileService.createFile("/" + name, "NOTES.md", "notes");
+        assertThat(fileService.getContent("/" + name + "/README.md")).isEqualTo("readme");
+        assertThat(fileService.getContent("/" + name + "/NOTES.md")).isEqualTo("notes");
+    }
+
+    @Test
+    @DisplayName("표시만 커밋되고 트리 보관이 끝나지 않았어도 다음 접근 때 표시가 정리되고 쓰기가 된다")
+    void markedWithoutTree_Recovers() {
+        transactionTemplate.executeWithoutResult(status ->
+                projectRepository.markArchived(project.getId(), LocalDateTime.now(), LocalDateTime.now()));
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().isArchived()).isTrue();
+
+        projectAccessService.checkWritable(memberId, "/" + name);
+        fileService.createFile("/" + name, "NOTES.md", "notes");
+
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().isArchived()).isFalse();
+        assertThat(fileService.getContent("/" + name + "/src/Main.java")).isEqualTo("class Main { int x; }");
+        assertThat(fileService.getContent("/" + name + "/NOTES.md")).isEqualTo("notes");
+    }
+}
@@ -0,0 +1,179 @@
+package first.webide.service;
+
+import first.webide.domain.FileNode;
+import first.webide.domain.Member;
+import first.webide.domain.MemberRole;
+import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.request.Project.UpdateProjectPublishRequest;
+import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.repository.FileRepository;
+import first.webide.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ProjectForkServiceTest {
+
+    @Autowired
+    private ProjectForkService projectForkService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManager em;
+
+    private String ownerEmail;
+    private Long ownerId;
+    private ProjectResponse source;
+
+    @BeforeEach
+    void setUp() {
+        Member owner = memberRepository.save(Member.builder()
+                .email("owner@test").password("test").username("owner").role(MemberRole.USER)
+                .build());
+        ownerEmail = owner.getEmail();
+        ownerId = owner.getId();
+        source = projectService.createProject(ownerEmail, CreateProjectRequest.builder()
+                .projectName("forkSrc")
+                .description("source")
+                .build());
+        fileService.createDirectory("/forkSrc", "src");
+        fileService.createFile("/forkSrc/src", "Main.java", "class Main {}");
+    }
+
+    @Test
+    @DisplayName("포크는 파일을 복사하지 않고 원본 트리를 그대로 보여준다")
+    void fork_ReadsThroughSource() {
+        ProjectResponse fork = projectForkService.fork(ownerId, source.getId());
+
+        assertThat(fork.getName()).isEqualTo("forkSrc-fork");
+        assertThat(fileRepository.findAllByPathStartingWithOrderByPathAsc("/forkSrc-fork/")).isEmpty();
+        assertThat(fileService.getContent("/forkSrc-fork/src/Main.java")).isEqualTo("class Main {}");
+
+        FileNodeResponse tree = projectService.getProjectRootDirectory(ownerId, fork.getId());
+        assertThat(tree.getPath()).isEqualTo("/forkSrc-fork");
+        assertThat(tree.getChildren().get(0).getChildren().get(0).getPath()).isEqualTo("/forkSrc-fork/src/Main.java");
+    }
+
+    @Test
+    @DisplayName("포크에 처음 쓸 때 트리가 복사되고 원본은 바뀌지 않는다")
+    void write_MaterializesFork() {
+        projectForkService.fork(ownerId, source.getId());
+
+        fileService.updateContent("/forkSrc-fork/src/Main.java", "class Forked {}");
+
+        FileNode forkRoot = fileRepository.findByPath("/forkSrc-fork").orElseThrow();
+        assertThat(forkRoot.isVirtualFork()).isFalse();
+        assertThat(fileRepository.findAllByPathStartingWithOrderByPathAsc("/forkSrc-fork/")).hasSize(2);
+        assertThat(fileService.getContent("/forkSrc-fork/src/Main.java")).isEqualTo("class Forked {}");
+        assertThat(fileService.getContent("/forkSrc/src/Main.java")).isEqualTo("class Main {}");
+    }
+
+    @Test
+    @DisplayName("원본 쪽 첫 쓰기 전에 포크를 복사해, 포크는 포크한 시점의 내용을 유지한다")
+    void sourceWrite_MaterializesForksFirst() {
+        ProjectResponse fork = projectForkService.fork(ownerId, source.getId());
+        ProjectResponse forkOfFork = projectForkService.fork(ownerId, fork.getId());
+
+        fileService.updateContent("/forkSrc/src/Main.java", "class Changed {}");
+        fileService.createFile("/forkSrc/src", "Added.java", "class Added {}");
+
+        assertThat(fileRepository.findByPath("/forkSrc-fork").orElseThrow().isVirtualFork()).isFalse();
+        assertThat(fileService.getContent("/forkSrc-fork/src/Main.java")).isEqualTo("class Main {}");
+        assertThat(fileService.getContent("/forkSrc-fork-fork/src/Main.java")).isEqualTo("class Main {}");
+        assertThat(fileRepository.findByPath("/forkSrc-fork-fork/src/Added.java")).isEmpty();
+        assertThat(forkOfFork.getName()).isEqualTo("forkSrc-fork-fork");
+    }
+
+    @Test
+    @DisplayName("비공개로 바꾸기 전에 포크를 복사해, 이후의 비공개 수정은 포크에서 보이지 않는다")
+    void unpublish_MaterializesForks() {
+        projectService.updateProjectPublish(ownerId, source.getId(), new UpdateProjectPublishRequest(true));
+        projectForkService.fork(ownerId, source.getId());
+
+        projectService.updateProjectPublish(ownerId, source.getId(), new UpdateProjectPublishRequest(false));
+
+        assertThat(fileRepository.findByPath("/forkSrc-fork").orElseThrow().isVirtualFork()).isFalse();
+        assertThat(fileService.getContent("/forkSrc-fork/src/Main.java")).isEqualTo("class Main {}");
+    }
+
+    @Test
+    @DisplayName("원본 트리를 통째로 지우기 전에 남은 포크를 복사한다")
+    void sourceRootDelete_MaterializesForks() {
+        projectForkService.fork(ownerId, source.getId());
+
+        fileService.delete("/forkSrc");
+
+        assertThat(fileRepository.findByPath("/forkSrc-fork").orElseThrow().isVirtualFork()).isFalse();
+        assertThat(fileService.getContent("/forkSrc-fork/src/Main.java")).isEqualTo("class Main {}");
+    }
+
+    @Test
+    @DisplayName("편집하려고 파일을 열기만 해서는 복사하지 않고, 응답에 원본 노드의 id 를 내보내지 않는다")
+    void read_DoesNotMaterializeOrLeakSourceIds() {
+        ProjectResponse fork = projectForkService.fork(ownerId, source.getId());
+
+        FileNode file = fileService.getFile("/forkSrc-fork/src/Main.java");
+        assertThat(file.getPath()).isEqualTo("/forkSrc/src/Main.java");
+        assertThat(fileRepository.findByPath("/forkSrc-fork").orElseThrow().isVirtualFork()).isTrue();
+
+        FileNodeResponse tree = projectService.getProjectRootDirectory(ownerId, fork.getId());
+        assertThat(tree.getId()).isEqualTo(fork.getRootDirId());
+        assertThat(tree.getChildren().get(0).getId()).isNull();
+        assertThat(tree.getChildren().get(0).getChildren().get(0).getId()).isNull();
+    }
+
+    @Test
+    @DisplayName("포크 이름은 복사한 경로가 경로 길이 제한을 넘지 않도록 원래 이름을 잘라 만든다")
+    void fork_TruncatesLongName() {
+        String longName = "p".repeat(40); // 가장 긴 하위 경로 /ppp...p/A.java 가 48자 → 포크 이름은 42자까지
+        ProjectResponse longSource = projectService.createProject(ownerEmail, CreateProjectRequest.builder()
+                .projectName(longName)
+                .build());
+        fileService.createFile("/" + longName, "A.java", "class A {}");
+
+        ProjectResponse fork = projectForkService.fork(ownerId, longSource.getId());
+        ProjectResponse second = projectForkService.fork(ownerId, longSource.getId());
+
+        assertThat(fork.getName()).isEqualTo("p".repeat(37) + "-fork");
+        assertThat(second.getName()).isEqualTo("p".repeat(35) + "-fork-2");
+        fileService.updateContent("/" + fork.getName() + "/A.java", "class B {}");
+        assertThat(fileService.getContent("/" + fork.getName() + "/A.java")).isEqualTo("class B {}");
+    }
+
+    @Test
+    @DisplayName("포크 트리 복사는 행마다 INSERT 하지 않고 배치로 보낸다")
+    void materialize_BatchesInserts() {
+        for (int i = 0; i < 200; i++) {
+            fileService.createFile("/forkSrc/src", "F" + i + ".java", "class F" + i + " {}");
+        }
+        projectForkService.fork(ownerId, source.getId());
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        fileService.createFile("/forkSrc-fork", "README.md", "fork");
+        em.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(204); // README 의 첫 버전 이력 포함
+        // 202개 노드 + README: 50개 단위 배치 INSERT 와 시퀀스 조회, 몇 번의 SELECT 정도만
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(40);
+    }
+}
@@ -0,0 +1,119 @@
+package first.webide.service;
+
+import first.webide.api.PistonApiClient;
+import first.webide.domain.Member;
+import first.webide.domain.MemberRole;
+import first.webide.dto.request.PistonRequest;
+import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.request.Project.RunProjectRequest;
+import first.webide.dto.response.CodeExecuteResponse;
+import first.webide.dto.response.PistonResponse;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+class ProjectRunServiceTest {
+
+    @Autowired
+    private ProjectRunService projectRunService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @MockitoBean
+    private PistonApiClient pistonApiClient;
+
+    private Long memberId;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .email("run@test")
+                .password("test")
+                .username("runner")
+                .role(MemberRole.USER)
+                .build());
+        memberId = member.getId();
+
+        ProjectResponse project = projectService.createProject(member.getEmail(), CreateProjectRequest.builder()
+                .projectName("runProject")
+                .build());
+        projectId = project.getId();
+
+        fileService.createDirectory("/runProject", "src");
+        fileService.createFile("/runProject/src", "Util.java", "class Util {}");
+        fileService.createFile("/runProject/src", "Main.java", "class Main {}");
+    }
+
+    @Test
+    @DisplayName("저장된 파일 트리를 진입점 파일이 먼저 오도록 실행 엔진에 전달한다")
+    void runProject_SendsStoredFilesWithEntryPointFirst() {
+        // given
+        PistonResponse.RunResult runResult = new PistonResponse.RunResult("ok", "", 0, null, "ok");
+        when(pistonApiClient.executeCode(any())).thenReturn(new PistonResponse("java", "15.0.2", runResult));
+
+        RunProjectRequest request = RunProjectRequest.builder()
+                .entryPoint("src/Main.java")
+                .build();
+
+        // when
+        CodeExecuteResponse response = projectRunService.run(memberId, projectId, request);
+
+        // then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getOutput()).isEqualTo("ok");
+
+        ArgumentCaptor<PistonRequest> captor = ArgumentCaptor.forClass(PistonRequest.class);
+        verify(pistonApiClient).executeCode(captor.capture());
+        PistonRequest sent = captor.getValue();
+        assertThat(sent.getLanguage()).isEqualTo("java");
+        assertThat(sent.getFiles()).extracting(PistonRequest.FileEntry::getName)
+                .containsExactly("src/Main.java", "src/Util.java");
+        assertThat(sent.getFiles().get(0).getContent()).isEqualTo("class Main {}");
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 진입점이면 예외 발생")
+    void runProject_Fail_EntryPointNotFound() {
+        RunProjectRequest request = RunProjectRequest.builder()
+                .entryPoint("src/Nope.java")
+                .build();
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> projectRunService.run(memberId, projectId, request));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.FILE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 비공개 프로젝트는 실행할 수 없다")
+    void runProject_Fail_NotOwner() {
+        RunProjectRequest request = RunProjectRequest.builder()
+                .entryPoint("src/Main.java")
+                .build();
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> projectRunService.run(memberId + 1, projectId, request));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.HANDLE_ACCESS_DENIED);
+    }
+}
@@ -6,12 +6,16 @@ import first.webide.domain.Project;
 import first.webide.dto.request.Project.CreateProjectRequest;
 import first.webide.dto.request.Project.UpdateProjectPublishRequest;
 import first.webide.dto.request.Project.UpdateProjectRequest;
+import first.webide.dto.response.ProjectFeedResponse;
 import first.webide.dto.response.ProjectHubResponse;
 import first.webide.dto.response.ProjectResponse;
 import first.webide.exception.BusinessException;
 import first.webide.exception.ErrorCode;
 import first.webide.repository.MemberRepository;
 import first.webide.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,12 +26,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Transactional
 class ProjectServiceImplTest {
 
@@ -37,8 +43,11 @@ class ProjectServiceImplTest {
     private MemberRepository memberRepository;
     @Autowired
     private ProjectService projectService;
+    @Autowired
+    private EntityManager em;
 
     private String memberEmail;
+    private Long memberId;
     private Project savedProject;
 
 
@@ -54,6 +63,7 @@ class ProjectServiceImplTest {
 
         Member savedMember = memberRepository.save(member);
         memberEmail = savedMember.getEmail();
+        memberId = savedMember.getId();
 
 
         // 테스트용 프로젝트 생성
@@ -88,7 +98,7 @@ class ProjectServiceImplTest {
                 "update project", "update Description");
 
         //when
-        ProjectResponse response = projectService.updateProjectInfo(memberEmail, savedProject.getId(), updateReq);
+        ProjectResponse response = projectService.updateProjectInfo(memberId, savedProject.getId(), updateReq);
 
         // then
         assertThat(response).isNotNull();
@@ -108,7 +118,7 @@ class ProjectServiceImplTest {
         UpdateProjectRequest updateReq = new UpdateProjectRequest("update project", "update Description");
 
         // when
-        BusinessException exception = assertThrows(BusinessException.class, () ->projectService.updateProjectInfo(memberEmail, projectId, updateReq));
+        BusinessException exception = assertThrows(BusinessException.class, () ->projectService.updateProjectInfo(memberId, projectId, updateReq));
 
         // then
         assertThat(exception).isNotNull();
@@ -127,18 +137,36 @@ class ProjectServiceImplTest {
                 .build();
 
         Member savedMember2 = memberRepository.save(Member2);
-        String member2Email = savedMember2.getEmail();
 
         UpdateProjectRequest updateReq = new UpdateProjectRequest("test2", "update test2");
 
         // when
         BusinessException exception = assertThrows(BusinessException.class,
-                () ->projectService.updateProjectInfo(member2Email, savedProject.getId(), updateReq));
+                () ->projectService.updateProjectInfo(savedMember2.getId(), savedProject.getId(), updateReq));
 
         // then
         assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.HANDLE_ACCESS_DENIED);
     }
 
+    @Test
+    @DisplayName("소유권 확인은 (id, member_id) 조회 한 번으로 끝난다")
+    void ownershipCheckedInSingleQuery() {
+        // given
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        ProjectResponse response = projectService.updateProjectPublish(memberId, savedProject.getId(),
+                new UpdateProjectPublishRequest(true));
+
+        // then
+        assertThat(response.getIsPublic()).isTrue();
+        assertThat(response.getMemberId()).isEqualTo(memberId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("공개된 프로젝트 목록 조회 성공")
     void getPublicProjects() {
@@ -159,7 +187,7 @@ class ProjectServiceImplTest {
             ProjectResponse created = projectService.createProject(savedMember.getEmail(), request);
 
             UpdateProjectPublishRequest publishRequest = new UpdateProjectPublishRequest(true);
-            projectService.updateProjectPublish(savedMember.getEmail(),created.getId(), publishRequest);
+            projectService.updateProjectPublish(savedMember.getId(), created.getId(), publishRequest);
         }
 
         // when
@@ -171,6 +199,68 @@ class ProjectServiceImplTest {
         assertThat(publicProjects.getContent()).hasSize(3);
     }
 
+    @Test
+    @DisplayName("공개 프로젝트 피드를 커서로 끝까지 중복 없이 최근 수정순으로 조회")
+    void getPublicProjectFeed() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            CreateProjectRequest request = CreateProjectRequest.builder()
+                    .projectName("Feed Project " + i)
+                    .description("Description " + i)
+                    .build();
+            ProjectResponse created = projectService.createProject(memberEmail, request);
+            projectService.updateProjectPublish(memberId, created.getId(), new UpdateProjectPublishRequest(true));
+        }
+
+        // when
+        List<ProjectHubResponse> collected = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ProjectFeedResponse page = projectService.getPublicProjectFeed(cursor, 2);
+            collected.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // then
+        assertThat(pages).isEqualTo(3);
+        assertThat(collected).hasSize(5);
+        assertThat(collected).extracting(ProjectHubResponse::getId).doesNotHaveDuplicates();
+        assertThat(collected).extracting(ProjectHubResponse::getOwnerUsername).containsOnly("test");
+        for (int i = 1; i < collected.size(); i++) {
+            ProjectHubResponse prev = collected.get(i - 1);
+            ProjectHubResponse next = collected.get(i);
+            assertThat(!next.getUpdatedAt().isAfter(prev.getUpdatedAt())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("내 프로젝트 목록과 상세 정보 조회 (소유자 이메일 포함)")
+    void getProjectsAndDetails() {
+        // when
+        List<ProjectResponse> projects = projectService.getProjectsByMemberEmail(memberEmail);
+        ProjectResponse details = projectService.getProjectDetails(savedProject.getId());
+
+        // then
+        assertThat(projects).extracting(ProjectResponse::getId).containsExactly(savedProject.getId());
+        assertThat(details.getName()).isEqualTo("test project");
+        assertThat(details.getMemberEmail()).isEqualTo(memberEmail);
+        assertThat(details.getIsPublic()).isFalse();
+        assertThat(details.getRootDirId()).isEqualTo(savedProject.getRootDirId());
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> projectService.getProjectDetails(-1L));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PROJECT_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("잘못된 피드 커서는 예외 발생")
+    void getPublicProjectFeed_InvalidCursor() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> projectService.getPublicProjectFeed("not-a-cursor", 10));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT_VALUE);
+    }
+
     @Test
     @DisplayName("프로젝트 공개 상태 업데이트 성공")
     void updateProjectPublish() {
@@ -183,7 +273,7 @@ class ProjectServiceImplTest {
 
         //when
         UpdateProjectPublishRequest updateReq = new UpdateProjectPublishRequest(true);
-        ProjectResponse updated = projectService.updateProjectPublish(memberEmail, created.getId(), updateReq);
+        ProjectResponse updated = projectService.updateProjectPublish(memberId, created.getId(), updateReq);
 
         //then
         assertThat(updated).isNotNull();
@@ -207,9 +297,13 @@ class ProjectServiceImplTest {
         Long projectId = created.getId();
 
         // when
-        projectService.deleteProject(memberEmail, projectId);
+        projectService.deleteProject(memberId, projectId);
+        em.flush();
+        em.clear();
 
         // then
         assertThat(projectRepository.findById(projectId)).isEmpty();
+        assertThat(projectService.getProjectsByMemberEmail(memberEmail))
+                .extracting(ProjectResponse::getId).doesNotContain(projectId);
     }
 }
\ No newline at end of file
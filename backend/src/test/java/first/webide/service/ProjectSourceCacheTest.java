@@ -0,0 +1,47 @@
+package first.webide.service;
+
+import first.webide.dto.request.PistonRequest.FileEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectSourceCacheTest {
+
+    private final ProjectSourceCache cache = new ProjectSourceCache();
+
+    @Test
+    @DisplayName("읽는 도중 비워진 루트의 내용은 캐시에 넣지 않고 다음 조회 때 다시 읽는다")
+    void evictDuringLoad_DropsStaleSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+
+        List<FileEntry> stale = cache.get("/p", () -> {
+            loads.incrementAndGet();
+            cache.evict("/p/Main.java"); // 읽는 사이 다른 요청의 저장이 커밋됨
+            return List.of(new FileEntry("Main.java", "old"));
+        });
+        List<FileEntry> fresh = cache.get("/p", () -> {
+            loads.incrementAndGet();
+            return List.of(new FileEntry("Main.java", "new"));
+        });
+
+        assertThat(stale).extracting(FileEntry::getContent).containsExactly("old");
+        assertThat(fresh).extracting(FileEntry::getContent).containsExactly("new");
+        assertThat(cache.get("/p", () -> List.of())).isSameAs(fresh);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("다른 루트를 비운 것은 읽어 온 내용을 캐시에 넣는 데 영향이 없다")
+    void evictOtherRoot_KeepsSnapshot() {
+        List<FileEntry> loaded = cache.get("/p", () -> {
+            cache.evict("/q/Main.java");
+            return List.of(new FileEntry("Main.java", "p"));
+        });
+
+        assertThat(cache.get("/p", () -> List.of())).isSameAs(loaded);
+    }
+}
@@ -0,0 +1,90 @@
+package first.webide.service;
+
+import first.webide.api.PistonApiClient;
+import first.webide.dto.response.RuntimeResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RuntimeCatalogTest {
+
+    @InjectMocks
+    private RuntimeCatalog runtimeCatalog;
+
+    @Mock
+    private PistonApiClient pistonApiClient;
+
+    private void load() {
+        when(pistonApiClient.getRuntimes()).thenReturn(List.of(
+                new RuntimeResponse("python", "3.9.4", List.of("py")),
+                new RuntimeResponse("python", "3.10.0", List.of("py")),
+                new RuntimeResponse("java", "15.0.2", List.of())));
+        runtimeCatalog.refresh();
+    }
+
+    @Test
+    @DisplayName("버전을 생략하면 최신 버전, 앞부분만 주면 맞는 최신 버전으로 채운다")
+    void resolvesVersion() {
+        load();
+
+        assertThat(runtimeCatalog.resolveVersion("python", null)).isEqualTo("3.10.0");
+        assertThat(runtimeCatalog.resolveVersion("py", "*")).isEqualTo("3.10.0");
+        assertThat(runtimeCatalog.resolveVersion("python", "3.9")).isEqualTo("3.9.4");
+        assertThat(runtimeCatalog.resolveVersion("python", "3.x")).isEqualTo("3.10.0");
+        assertThat(runtimeCatalog.resolveVersion("Java", "15.0.2")).isEqualTo("15.0.2");
+        assertThat(runtimeCatalog.getRuntimes()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("엔진에 없는 언어/버전은 원격 호출 없이 거절")
+    void rejectsUnknownRuntime() {
+        load();
+
+        assertThatThrownBy(() -> runtimeCatalog.resolveVersion("python", "2.7"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.UNSUPPORTED_VERSION);
+        assertThatThrownBy(() -> runtimeCatalog.resolveVersion("cobol", null))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.UNSUPPORTED_LANGUAGE);
+    }
+
+    @Test
+    @DisplayName("목록을 받지 못했으면 기본 지원 언어만 확인하고 버전은 그대로 전달")
+    void fallsBackBeforeFirstLoad() {
+        when(pistonApiClient.getRuntimes()).thenThrow(new IllegalStateException("down"));
+        runtimeCatalog.refresh();
+
+        assertThat(runtimeCatalog.resolveVersion("python", "3.10.0")).isEqualTo("3.10.0");
+        assertThatThrownBy(() -> runtimeCatalog.resolveVersion("cobol", null))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("엔진에 있더라도 허용 목록에 없는 언어는 이름과 별칭 모두 거절")
+    void rejectsEngineLanguageOutsideAllowList() {
+        when(pistonApiClient.getRuntimes()).thenReturn(List.of(
+                new RuntimeResponse("python", "3.10.0", List.of("py")),
+                new RuntimeResponse("bash", "5.2.0", List.of("sh"))));
+        runtimeCatalog.refresh();
+
+        assertThat(runtimeCatalog.resolveVersion("py", null)).isEqualTo("3.10.0");
+        assertThatThrownBy(() -> runtimeCatalog.resolveVersion("bash", null))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.UNSUPPORTED_LANGUAGE);
+        assertThatThrownBy(() -> runtimeCatalog.resolveVersion("sh", "5"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.UNSUPPORTED_LANGUAGE);
+    }
+}
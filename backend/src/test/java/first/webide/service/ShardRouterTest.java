@@ -0,0 +1,271 @@
+package first.webide.service;
+
+import first.webide.config.ShardRoutingDataSource;
+import first.webide.domain.Project;
+import first.webide.dto.request.Member.DeleteMemberRequest;
+import first.webide.dto.request.Member.SignUpRequest;
+import first.webide.dto.request.Project.CreateProjectRequest;
+import first.webide.dto.response.FileNodeResponse;
+import first.webide.dto.response.FileVersionResponse;
+import first.webide.dto.response.ProjectResponse;
+import first.webide.exception.BusinessException;
+import first.webide.exception.ErrorCode;
+import first.webide.repository.MemberRepository;
+import first.webide.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 인메모리 H2 두 개를 샤드 1, 2 로 붙여(홈 DB 가 샤드 0) 라우팅과 이동을 확인한다.
+ * 샤드 작업은 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션 없이 실제로 커밋하고, 끝나면 탈퇴 + 정리로 지운다.
+ */
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard-test-1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard-test-2;DB_CLOSE_DELAY=-1",
+        "app.sharding.map-cache-ttl=0s"
+})
+class ShardRouterTest {
+
+    @Autowired
+    private ShardRouter shardRouter;
+    @Autowired
+    private ShardMap shardMap;
+    @Autowired
+    private ProjectShardMover projectShardMover;
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+    @Autowired
+    private ProjectAccessService projectAccessService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private ProjectForkService projectForkService;
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private FileHistoryService fileHistoryService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private DeletionPurgeService deletionPurgeService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String suffix;
+    private String email;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        email = "shard-" + suffix + "@test.com";
+        memberService.signUp(new SignUpRequest(email, "password1234", "shd-" + suffix));
+        memberId = memberRepository.findByEmail(email).orElseThrow().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberService.deleteMember(email, new DeleteMemberRequest("password1234"));
+        while (deletionPurgeService.purgeBatch() > 0) {
+            // 탈퇴한 회원의 프로젝트(각 샤드의 파일 트리 포함)와 회원 행을 모두 지울 때까지
+        }
+    }
+
+    @Test
+    @DisplayName("프로젝트마다 정해진 샤드에만 파일 트리가 저장되고, 경로로 찾은 프로젝트의 샤드에서 읽힌다")
+    void routesFileTreeToProjectShard() {
+        List<ProjectResponse> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            projects.add(createProjectWithFile("p" + i + "-" + suffix));
+        }
+
+        assertThat(projects).extracting(this::shardOf).containsExactlyInAnyOrder(0, 1, 2);
+        for (ProjectResponse project : projects) {
+            String path = "/" + project.getName() + "/Main.java";
+            int shard = shardOf(project);
+            for (int other = 0; other < 3; other++) {
+                assertThat(countOn(other, path)).as("shard %d", other).isEqualTo(other == shard ? 1 : 0);
+            }
+            Long projectId = projectAccessService.checkReadable(memberId, path);
+            assertThat(projectId).isEqualTo(project.getId());
+            assertThat(shardRouter.read(projectId, () -> fileService.getContent(path)))
+                    .isEqualTo("class Main { int x; }");
+        }
+    }
+
+    @Test
+    @DisplayName("요청 범위 EntityManager(open-in-view)가 홈 DB 커넥션을 잡고 있어도 파일 작업은 프로젝트 샤드로 간다")
+    void routesPastRequestScopedEntityManager() {
+        ProjectResponse project = createProjectWithFile("osiv-" + suffix);
+        if (shardOf(project) == 0) {
+            projectShardMover.move(project.getId(), 1);
+        }
+        String parent = "/" + project.getName();
+
+        // OpenEntityManagerInViewInterceptor 와 같이 요청 스레드에 EntityManager 를 묶는다
+        EntityManagerHolder holder = new EntityManagerHolder(entityManagerFactory.createEntityManager());
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        try {
+            Long projectId = projectAccessService.checkWritable(memberId, parent);
+            shardRouter.write(projectId, () -> fileService.createFile(parent, "Osiv.java", "o"));
+            assertThat(TransactionSynchronizationManager.getResource(entityManagerFactory)).isSameAs(holder);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            holder.getEntityManager().close();
+        }
+        assertThat(countOn(shardOf(project), parent + "/Osiv.java")).isEqualTo(1);
+        assertThat(countOn(0, parent + "/Osiv.java")).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 샤드로 옮기면 트리와 이력이 ID 그대로 옮겨지고 원래 샤드에서는 지워진다")
+    void moveProject() {
+        ProjectResponse project = createProjectWithFile("mv-" + suffix);
+        String path = "/" + project.getName() + "/Main.java";
+        int source = shardOf(project);
+        int target = (source + 1) % 3;
+        Long fileId = shardRouter.read(project.getId(), () -> fileService.getFile(path).getId());
+
+        assertThat(projectShardMover.move(project.getId(), target)).isTrue();
+
+        assertThat(shardOf(project)).isEqualTo(target);
+        assertThat(countOn(source, path)).isZero();
+        assertThat(countOn(target, path)).isEqualTo(1);
+        assertThat(shardRouter.read(project.getId(), () -> fileService.getFile(path).getId())).isEqualTo(fileId);
+        List<FileVersionResponse> versions = shardRouter.read(project.getId(),
+                () -> fileHistoryService.getVersions(path));
+        assertThat(versions).extracting(FileVersionResponse::getVersion).containsExactly(2, 1);
+        FileNodeResponse tree = projectService.getProjectRootDirectory(memberId, project.getId());
+        assertThat(tree.getChildren()).extracting(FileNodeResponse::getName).containsExactly("Main.java");
+
+        // 옮긴 뒤의 쓰기는 대상 샤드로
+        shardRouter.write(project.getId(), () -> fileService.createFile("/" + project.getName(), "B.java", "b"));
+        assertThat(countOn(target, "/" + project.getName() + "/B.java")).isEqualTo(1);
+        assertThat(projectShardMover.move(project.getId(), target)).isFalse();
+
+        // 없는 샤드는 요청 오류
+        BusinessException unknown = assertThrows(BusinessException.class,
+                () -> projectShardMover.move(project.getId(), 3));
+        assertThat(unknown.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT_VALUE);
+    }
+
+    @Test
+    @DisplayName("옮기는 동안 쓰기는 거절되고 읽기는 원래 샤드에서 계속된다")
+    void writesRejectedWhileMoving() {
+        ProjectResponse project = createProjectWithFile("busy-" + suffix);
+        String path = "/" + project.getName() + "/Main.java";
+        shardMap.beginMove(project.getId(), (shardOf(project) + 1) % 3);
+        try {
+            BusinessException moving = assertThrows(BusinessException.class,
+                    () -> shardRouter.write(project.getId(), () -> fileService.updateContent(path, "x")));
+            assertThat(moving.getErrorCode()).isEqualTo(ErrorCode.PROJECT_MOVING);
+            assertThat(shardRouter.read(project.getId(), () -> fileService.getContent(path)))
+                    .isEqualTo("class Main { int x; }");
+        } finally {
+            shardMap.abortMove(project.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("포크는 원본과 같은 샤드에 두고, 원본을 옮기기 전에 포크를 복사해 둔다")
+    void forkStaysWithSource() {
+        ProjectResponse source = createProjectWithFile("src-" + suffix);
+        ProjectResponse fork = projectForkService.fork(memberId, source.getId());
+        String forkPath = "/" + fork.getName() + "/Main.java";
+        assertThat(shardOf(fork)).isEqualTo(shardOf(source));
+        assertThat(shardRouter.read(fork.getId(), () -> fileService.getContent(forkPath)))
+                .isEqualTo("class Main { int x; }");
+
+        int target = (shardOf(source) + 1) % 3;
+        assertThat(projectShardMover.move(source.getId(), target)).isTrue();
+
+        assertThat(countOn(shardOf(fork), forkPath)).isEqualTo(1);
+        assertThat(shardRouter.read(fork.getId(), () -> fileService.getContent(forkPath)))
+                .isEqualTo("class Main { int x; }");
+        assertThat(shardRouter.read(source.getId(),
+                () -> fileService.getContent("/" + source.getName() + "/Main.java")))
+                .isEqualTo("class Main { int x; }");
+    }
+
+    @Test
+    @DisplayName("루트 디렉토리 이름을 바꾸면 새 경로로 프로젝트를 찾는다")
+    void renameRoot() {
+        ProjectResponse project = createProjectWithFile("old-" + suffix);
+        shardRouter.write(project.getId(), () -> fileService.rename("/" + project.getName(), "new-" + suffix));
+
+        assertThat(projectAccessService.checkWritable(memberId, "/new-" + suffix + "/Main.java"))
+                .isEqualTo(project.getId());
+        assertThat(countOn(shardOf(project), "/new-" + suffix + "/Main.java")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 이름의 프로젝트는 샤드에 루트를 만들기 전에 거절하고, 홈 커밋이 실패하면 샤드의 루트를 지운다")
+    void createProjectLeavesNoOrphanRoot() {
+        String name = "dup-" + suffix;
+        createProjectWithFile(name);
+        BusinessException duplicate = assertThrows(BusinessException.class, () -> projectService.createProject(email,
+                CreateProjectRequest.builder().projectName(name).build()));
+        assertThat(duplicate.getErrorCode()).isEqualTo(ErrorCode.FILE_ALREADY_EXISTS);
+        assertThat(countOnAllShards("/" + name)).isEqualTo(1);
+
+        String rolledBack = "rb-" + suffix;
+        transactionTemplate.executeWithoutResult(status -> {
+            projectService.createProject(email, CreateProjectRequest.builder().projectName(rolledBack).build());
+            status.setRollbackOnly();
+        });
+        assertThat(countOnAllShards("/" + rolledBack)).isZero();
+    }
+
+    private ProjectResponse createProjectWithFile(String name) {
+        ProjectResponse project = projectService.createProject(email, CreateProjectRequest.builder()
+                .projectName(name)
+                .build());
+        Long projectId = projectAccessService.checkWritable(memberId, "/" + name);
+        shardRouter.write(projectId, () -> {
+            fileService.createFile("/" + name, "Main.java", "class Main {}");
+            fileService.updateContent("/" + name + "/Main.java", "class Main { int x; }");
+        });
+        return project;
+    }
+
+    private int shardOf(ProjectResponse project) {
+        return projectRepository.findById(project.getId()).map(Project::getShardId).orElseThrow();
+    }
+
+    private long countOnAllShards(String path) {
+        long count = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            count += countOn(shard, path);
+        }
+        return count;
+    }
+
+    // 샤드 DB 에 직접 조회
+    private long countOn(int shard, String path) {
+        return new JdbcTemplate(shardRoutingDataSource.getShard(shard))
+                .queryForObject("select count(*) from file_node where path = ?", Long.class, path);
+    }
+}
@@ -0,0 +1,128 @@
+package first.webide.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 요청은 한 번만 실행하고 결과를 나눠 받는다")
+    void collapsesConcurrentCalls() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Thread> followers = new ArrayList<>();
+            List<String> results = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                Thread follower = new Thread(() -> results.add(singleFlight.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return "duplicate";
+                })));
+                follower.start();
+                followers.add(follower);
+            }
+            // 뒤따른 요청들이 모두 진행 중인 실행을 기다리기 시작할 때까지 대기 (고정 sleep 은 부하에 따라 흔들림)
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (followers.stream().anyMatch(t -> t.getState() != Thread.State.WAITING)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            for (Thread follower : followers) {
+                follower.join(5000);
+            }
+            assertThat(results).hasSize(7).containsOnly("result");
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("끝난 뒤의 요청은 다시 실행되고, 실패는 그대로 전달된다")
+    void doesNotCacheAfterCompletion() {
+        assertThat(singleFlight.execute("key", () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("second");
+
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("실행이 Error 로 끝나도 기다리던 요청은 같은 Error 를 받고 풀려난다")
+    void propagatesErrorToFollowers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new OutOfMemoryError("simulated");
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            AtomicReference<Throwable> followerError = new AtomicReference<>();
+            Thread follower = new Thread(() -> {
+                try {
+                    singleFlight.execute("key", () -> "duplicate");
+                } catch (Throwable e) {
+                    followerError.set(e);
+                }
+            });
+            follower.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (follower.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+            follower.join(5000);
+            assertThat(follower.isAlive()).isFalse();
+            assertThat(followerError.get()).isInstanceOf(OutOfMemoryError.class).hasMessage("simulated");
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}